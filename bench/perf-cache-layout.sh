@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+#
+# Counts cache misses for the default and the cache-aligned IntDaryHeap layouts with Linux perf.
+#
+# Runs CacheLayoutBenchmark with the JMH perfnorm profiler, which attaches "perf stat" to each fork during
+# the measured iterations only and divides the counters by the number of operations. JVM startup, warmup
+# and setup are therefore excluded, and every row of the result belongs to one layout.
+#
+# Usage (from the repository root):
+#   mvn -B package
+#   bench/perf-cache-layout.sh [extra JMH options]
+#
+# Environment (all optional):
+#   JAR         Benchmark jar. Default: bench/target/benchmarks.jar
+#   D           Degrees. Default: 16
+#   N           Heap sizes. Default: 16000000
+#   OP          Benchmark method (extractMax or hold). Default: hold
+#   HEAP        JVM heap size. Default: 4g
+#   EVENTS      perf events. Default: cache and LLC references and misses, L1 data cache loads and misses
+#
+# perf may need "sysctl kernel.perf_event_paranoid=1" (or lower) to count user-space events.
+
+set -euo pipefail
+
+JAR=${JAR:-bench/target/benchmarks.jar}
+D=${D:-16}
+N=${N:-16000000}
+OP=${OP:-hold}
+HEAP=${HEAP:-4g}
+EVENTS=${EVENTS:-cache-references,cache-misses,L1-dcache-loads,L1-dcache-load-misses,LLC-loads,LLC-load-misses}
+
+if ! command -v perf > /dev/null; then
+    echo "perf not found; install linux-tools for the running kernel" >&2
+    exit 1
+fi
+
+java -jar "$JAR" "CacheLayoutBenchmark.$OP\$" \
+    -p d="$D" -p n="$N" -p layout=unaligned,aligned \
+    -jvmArgsAppend "-Xms$HEAP -Xmx$HEAP -XX:+UseG1GC -XX:+AlwaysPreTouch" \
+    -prof "perfnorm:events=$EVENTS" \
+    -rf json -rff "cache-layout-$OP.json" \
+    "$@"
@@ -0,0 +1,147 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+
+/**
+ * BenchmarkKeys Class
+ * <p>
+ * This class generates the inputs shared by the JMH benchmarks and the stress programs: keys following one of
+ * the supported distributions, plain random ints for picking positions and increments, shuffled distinct keys
+ * that let a stress program tell every element apart, and boxed copies of key arrays for the generic heaps. Every generator takes a seed, so that all forks and implementations of a
+ * configuration see the same input.
+ * <p>
+ * Public Methods:
+ * - static int[] keys(String distribution, int n, long seed): Generates keys for a distribution.
+ * - static int[] randomInts(int count, int bound, long seed): Generates random non-negative ints below a bound.
+ * - static int[] strided(int count, int first, int stride, long seed): Generates distinct keys in random order.
+ * - static List<Integer> boxed(int[] keys): Copies keys into a list of Integers.
+ */
+final class BenchmarkKeys {
+
+    /**
+     * Upper bound (exclusive) for generated keys, leaving headroom for key increases without overflow.
+     */
+    static final int KEY_RANGE = 1 << 30;
+
+    /**
+     * Number of distinct values used by the "duplicates" distribution.
+     */
+    private static final int DUPLICATE_VALUES = 16;
+
+    private BenchmarkKeys() {
+    }
+
+    /**
+     * Generates keys following the named distribution.
+     * <p>
+     * Supported distributions:
+     * - random: Uniform keys in [0, KEY_RANGE).
+     * - ascending: Strictly increasing keys, the worst case for sift-up.
+     * - descending: Strictly decreasing keys, already a valid max heap.
+     * - duplicates: Uniform keys drawn from only 16 distinct values.
+     *
+     * @param distribution The name of the distribution.
+     * @param n The number of keys to generate.
+     * @param seed The random seed, so that runs are reproducible.
+     *
+     * @return The generated keys.
+     *
+     * @throws IllegalArgumentException if the distribution is unknown.
+     */
+    static int[] keys(String distribution, int n, long seed) {
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] keys = new int[n];
+        long step = Math.max(1, KEY_RANGE / Math.max(1, n));
+        switch (distribution) {
+            case "random":
+                for (int i = 0; i < n; i++) {
+                    keys[i] = random.nextInt(KEY_RANGE);
+                }
+                break;
+            case "ascending":
+                for (int i = 0; i < n; i++) {
+                    keys[i] = (int) Math.min(KEY_RANGE - 1, i * step);
+                }
+                break;
+            case "descending":
+                for (int i = 0; i < n; i++) {
+                    keys[i] = (int) Math.min(KEY_RANGE - 1, (n - 1 - i) * step);
+                }
+                break;
+            case "duplicates":
+                for (int i = 0; i < n; i++) {
+                    keys[i] = random.nextInt(DUPLICATE_VALUES);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown key distribution: " + distribution);
+        }
+        return keys;
+    }
+
+    /**
+     * Generates random non-negative ints below the given bound.
+     *
+     * @param count The number of values.
+     * @param bound The exclusive upper bound.
+     * @param seed The random seed.
+     *
+     * @return The generated values.
+     */
+    static int[] randomInts(int count, int bound, long seed) {
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt(bound);
+        }
+        return values;
+    }
+
+    /**
+     * Generates the keys first, first + stride, ..., first + (count - 1) * stride in random order. Threads that
+     * use the same stride and different values of first below it get disjoint keys.
+     *
+     * @param count The number of keys.
+     * @param first The smallest key.
+     * @param stride The distance between consecutive keys.
+     * @param seed The random seed.
+     *
+     * @return The shuffled keys.
+     */
+    static int[] strided(int count, int first, int stride, long seed) {
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = first + i * stride;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        return keys;
+    }
+
+    /**
+     * Copies keys into a list of boxed Integers, for the generic heaps.
+     *
+     * @param keys The keys to copy.
+     *
+     * @return A new list holding the keys in the same order.
+     */
+    static List<Integer> boxed(int[] keys) {
+
+        List<Integer> boxed = new ArrayList<>(keys.length);
+        for (int key : keys) {
+            boxed.add(key);
+        }
+        return boxed;
+    }
+}
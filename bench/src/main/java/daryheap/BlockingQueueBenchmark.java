@@ -0,0 +1,235 @@
+package daryheap;
+
+import java.lang.reflect.Method;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * BlockingQueueBenchmark Class
+ * <p>
+ * This JMH benchmark compares DaryBlockingQueue with java.util.concurrent.PriorityBlockingQueue under a
+ * producer/consumer workload: P producers put random keys, and C consumers take keys until all of them have been
+ * consumed. Consumers block in take whenever the queue runs dry, so large consumer counts measure the cost of
+ * parking and waking threads as well as the heap itself. The score is the wall-clock time per key.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - impl: The implementation (dary, pbq). Default: both.
+ * - threads: The thread kind (platform, virtual). Default: both.
+ * - producers: The number of producers. Default: 4.
+ * - consumers: The number of consumers. Default: 1, 16, 1000.
+ * - d: The degree of the DaryBlockingQueue heap. Default: 4.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   # Virtual threads need JDK 21 or later
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar BlockingQueueBenchmark -p threads=virtual -p consumers=1000,10000
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - Each iteration is one invocation of 1M keys split among producer and consumer threads that are created and
+ * parked on a latch during setup, as in ContentionBenchmark.
+ * - Virtual threads are created through reflection (Thread.ofVirtual), so the benchmark compiles on JDK 17; on
+ * a JDK without them, the virtual configurations fail in setup and the run moves on to the next one.
+ * - Both queues use a ReentrantLock and a Condition, so neither pins virtual-thread carriers while waiting.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BlockingQueueBenchmark {
+
+    /**
+     * Total keys put per invocation, split among the producers.
+     */
+    private static final int KEYS = 1 << 20;
+
+    @Param({"dary", "pbq"})
+    public String impl;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"4"})
+    public int producers;
+
+    @Param({"1", "16", "1000"})
+    public int consumers;
+
+    @Param({"4"})
+    public int d;
+
+    private ThreadMaker maker;
+    private CountDownLatch start;
+    private Thread[] workers;
+    private int iteration;
+
+    /**
+     * Creates an unstarted thread of one kind.
+     */
+    private interface ThreadMaker {
+
+        Thread make(Runnable task);
+    }
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+
+        maker = threadMaker(threads);
+        if (maker == null) {
+            throw new IllegalStateException("Virtual threads are not available on this JDK");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration(Blackhole blackhole) {
+
+        BlockingQueue<Integer> queue = "pbq".equals(impl)
+                ? new PriorityBlockingQueue<>()
+                : new DaryBlockingQueue<>(d);
+        AtomicLong remaining = new AtomicLong(KEYS);
+        CountDownLatch start = new CountDownLatch(1);
+        this.start = start;
+        workers = new Thread[producers + consumers];
+        iteration++;
+
+        for (int p = 0; p < producers; p++) {
+            int keys = KEYS / producers + (p < KEYS % producers ? 1 : 0);
+            SplittableRandom random = new SplittableRandom(((long) iteration << 32) + p);
+            workers[p] = maker.make(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < keys; i++) {
+                    queue.add(random.nextInt(BenchmarkKeys.KEY_RANGE));
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            workers[producers + c] = maker.make(() -> {
+                awaitQuietly(start);
+                long sum = 0;
+                try {
+                    // Claim a key before taking it, so no consumer waits for a key that will never come
+                    while (remaining.getAndDecrement() > 0) {
+                        sum += queue.take();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                blackhole.consume(sum);
+            });
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+
+        // A failed invocation may leave workers parked on the latch, or consumers blocked in take
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.interrupt();
+            joinQuietly(worker);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public void produceConsume() {
+
+        start.countDown();
+        for (Thread worker : workers) {
+            joinQuietly(worker);
+        }
+    }
+
+    /**
+     * Returns a factory for unstarted threads of the given kind.
+     *
+     * @param kind "platform" or "virtual".
+     *
+     * @return The factory, or null if virtual threads are not available.
+     *
+     * @throws IllegalArgumentException if the kind is unknown.
+     */
+    private static ThreadMaker threadMaker(String kind) {
+
+        if ("platform".equals(kind)) {
+            return Thread::new;
+        }
+        if (!"virtual".equals(kind)) {
+            throw new IllegalArgumentException("Unknown thread kind: " + kind);
+        }
+
+        try {
+            // Thread.ofVirtual().unstarted(task), through the public Thread.Builder interface
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Method unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            Object builder = ofVirtual.invoke(null);
+            return task -> {
+                try {
+                    return (Thread) unstarted.invoke(builder, task);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Cannot create a virtual thread", e);
+                }
+            };
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Waits for a latch, restoring the interrupt flag if interrupted.
+     *
+     * @param latch The latch to wait for.
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for a thread to finish, restoring the interrupt flag if interrupted.
+     *
+     * @param thread The thread to wait for.
+     */
+    private static void joinQuietly(Thread thread) {
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package daryheap;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * CacheLayoutBenchmark Class
+ * <p>
+ * This JMH benchmark compares the default and the cache-aligned IntDaryHeap layouts on heaps larger than the
+ * caches, where every sift-down level costs a cache miss and a sibling group straddling two lines costs two.
+ * It measures time; run it with -prof perfnorm, or through perf-cache-layout.sh, to also count cache misses
+ * per operation.
+ * <p>
+ * Operations:
+ * - extractMax: Drains a heap of n keys, once per iteration.
+ * - hold: Replaces the maximum of a full heap with itself lowered by a random amount (replaceMax), so the heap
+ * size, and therefore its cache footprint, stays constant for the whole iteration.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - d: The power-of-two degree. Default: 4, 8, 16, 32.
+ * - n: The heap size. Default: 16000000.
+ * - layout: The layout (unaligned, aligned). Default: both.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar CacheLayoutBenchmark -p d=16 -p n=16000000,64000000 \
+ *       -jvmArgsAppend "-Xms8g -Xmx8g -XX:+UseG1GC -XX:+AlwaysPreTouch"
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - extractMax runs in single-shot mode, so its score is milliseconds per drain of n keys. hold is nanoseconds
+ * per replaceMax.
+ * - The aligned layout relies on the backing array starting on a cache line boundary, which G1 provides for
+ * humongous arrays (at least half a region; with the default region sizes, any array of a few MB or more).
+ * Add -XX:ObjectAlignmentInBytes=64 to make it hold for every array.
+ */
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-XX:+UseG1GC", "-XX:+AlwaysPreTouch"})
+@State(Scope.Thread)
+public class CacheLayoutBenchmark {
+
+    /**
+     * Number of precomputed hold decrements, a power of two so the cursor can wrap with a mask.
+     */
+    private static final int DECREMENTS = 1 << 16;
+
+    @Param({"4", "8", "16", "32"})
+    public int d;
+
+    @Param({"16000000"})
+    public int n;
+
+    @Param({"unaligned", "aligned"})
+    public String layout;
+
+    private int[] keys;
+    private int[] decrements;
+    private IntDaryHeap heap;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+
+        keys = BenchmarkKeys.keys("random", n, 42);
+        decrements = BenchmarkKeys.randomInts(DECREMENTS, 1 << 10, 43);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+
+        heap = null; // Let the previous heap be collected before allocating the next one
+        heap = new IntDaryHeap(d, n, "aligned".equals(layout));
+        heap.addAll(keys);
+        cursor = 0;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public void extractMax(Blackhole blackhole) {
+
+        IntDaryHeap heap = this.heap;
+        while (!heap.isEmpty()) {
+            blackhole.consume(heap.extractMax());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public int hold() {
+
+        int decrement = decrements[cursor++ & (DECREMENTS - 1)];
+        return heap.replaceMax(heap.peekMax() - decrement);
+    }
+
+}
@@ -0,0 +1,102 @@
+package daryheap;
+
+import java.util.BitSet;
+import java.util.OptionalInt;
+import java.util.SplittableRandom;
+
+
+/**
+ * ConcurrentIntDaryHeapStress Class
+ * <p>
+ * This program is a multi-threaded correctness check for ConcurrentIntDaryHeap. Every thread inserts its own
+ * distinct keys in a random order and follows about half of the inserts with a tryExtractMax, recording every
+ * key it extracts. Once all threads have finished, the program checks the heap properties, drains the heap
+ * single-threaded, and verifies that:
+ * - The drained keys come out in non-increasing order.
+ * - Every inserted key was extracted exactly once, either concurrently or by the drain, so no key was lost or
+ * duplicated.
+ * <p>
+ * Arguments (all optional, positional):
+ * - threads: The number of worker threads. Default: 8.
+ * - d: The degree of the heap. Default: 4.
+ * - keys: The number of keys each thread inserts. Default: 1000000.
+ * - seed: The random seed. Default: 42.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -cp bench/target/benchmarks.jar daryheap.ConcurrentIntDaryHeapStress 16 8 500000
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - Threads, failures and the exactly-once bookkeeping come from StressHarness.
+ * - Thread t inserts the keys t, t + threads, t + 2 * threads, ..., so the keys are distinct across threads.
+ * - Interleavings only vary with real parallelism; on a single core the threads mostly run one after another.
+ */
+public class ConcurrentIntDaryHeapStress {
+
+    public static void main(String[] args) throws InterruptedException {
+
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        int d = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        int keysPerThread = (args.length > 2) ? Integer.parseInt(args[2]) : 1_000_000;
+        long seed = (args.length > 3) ? Long.parseLong(args[3]) : 42;
+        int total = Math.multiplyExact(threads, keysPerThread);
+
+        ConcurrentIntDaryHeap heap = new ConcurrentIntDaryHeap(d, total);
+        int[][] extracted = new int[threads][keysPerThread];
+        int[] extractedCounts = new int[threads];
+        int[][] keys = new int[threads][];
+        for (int t = 0; t < threads; t++) {
+            keys[t] = BenchmarkKeys.strided(keysPerThread, t, threads, seed + t);
+        }
+
+        StressHarness.run(threads, thread -> {
+            SplittableRandom random = new SplittableRandom(seed - 1 - thread);
+            int count = 0;
+            for (int key : keys[thread]) {
+                heap.insert(key);
+                if (random.nextBoolean()) {
+                    OptionalInt max = heap.tryExtractMax();
+                    if (max.isPresent()) {
+                        extracted[thread][count++] = max.getAsInt();
+                    }
+                }
+            }
+            extractedCounts[thread] = count;
+        });
+
+        if (!heap.isMaxHeap()) {
+            throw StressHarness.failure("The heap properties do not hold after the workers finished.");
+        }
+
+        BitSet seen = new BitSet(total);
+        int concurrent = 0;
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < extractedCounts[t]; i++) {
+                StressHarness.markOnce(seen, extracted[t][i]);
+            }
+            concurrent += extractedCounts[t];
+        }
+        int drained = 0;
+        int previous = Integer.MAX_VALUE;
+        for (OptionalInt max = heap.tryExtractMax(); max.isPresent(); max = heap.tryExtractMax()) {
+            int key = max.getAsInt();
+            if (key > previous) {
+                throw StressHarness.failure("Drained " + key + " after " + previous + ".");
+            }
+            previous = key;
+            StressHarness.markOnce(seen, key);
+            drained++;
+        }
+        if (seen.cardinality() != total) {
+            throw StressHarness.failure("Lost " + (total - seen.cardinality()) + " of " + total + " keys.");
+        }
+
+        System.out.printf("ConcurrentIntDaryHeapStress: threads=%d d=%d keys=%d extracted concurrently=%d drained=%d: OK%n",
+                threads, d, total, concurrent, drained);
+    }
+
+}
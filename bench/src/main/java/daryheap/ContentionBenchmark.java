@@ -0,0 +1,329 @@
+package daryheap;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * ContentionBenchmark Class
+ * <p>
+ * This JMH benchmark measures how shared heaps scale with the number of threads. Every thread runs the same random
+ * mix of inserts and extractMax calls against one heap, and the score is the wall-clock time per operation over all
+ * threads, so a heap that scales shows a falling ns/op as threads are added.
+ * <p>
+ * Implementations:
+ * - concurrent: ConcurrentIntDaryHeap, with one lock per node.
+ * - locked: IntDaryHeap behind a single ReentrantLock, the usual way of sharing an unsynchronized heap.
+ * - locked-generic: DaryHeap of Integer behind a single ReentrantLock.
+ * - combining: FlatCombiningDaryHeap of Integer, the flat-combining front end for DaryHeap. Its average batch
+ * passes, combined operations and eliminated operations are reported as secondary counters, summed over the
+ * measured iterations; the average batch is combinedOperations / combiningPasses.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - impl: The implementation. Default: concurrent, locked, locked-generic, combining.
+ * - threads: The number of worker threads. Default: 1, 2, 4, 8, 16, 32, 64.
+ * - d: The degree. Default: 4.
+ * - n: The number of keys in the heap before each iteration. Default: 1000000.
+ * - insert: The percentage of operations that are inserts; the rest are extractMax. Default: 50.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar ContentionBenchmark -p threads=1,8,64 -p d=2,4,8 -p insert=80
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - The worker threads are not JMH threads, so that the thread count can be a parameter. Each iteration is one
+ * invocation of 4M operations split among the workers; the workers are started and parked on a latch during setup,
+ * so thread creation is not measured.
+ * - Thread counts above the number of cores measure behaviour under preemption rather than parallel speedup.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+
+    /**
+     * Total operations per invocation, split among the worker threads.
+     */
+    private static final int OPERATIONS = 1 << 22;
+
+    @Param({"concurrent", "locked", "locked-generic", "combining"})
+    public String impl;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    public int threads;
+
+    @Param({"4"})
+    public int d;
+
+    @Param({"1000000"})
+    public int n;
+
+    @Param({"50"})
+    public int insert;
+
+    private int[] keys;
+    private SharedHeap heap;
+    private CountDownLatch start;
+    private Thread[] workers;
+    private int iteration;
+
+    /**
+     * The combining statistics of each iteration, which JMH sums over the iterations; zero for the other
+     * implementations.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Combining {
+
+        public long combiningPasses;
+        public long combinedOperations;
+        public long eliminatedOperations;
+    }
+
+    /**
+     * SharedHeap Interface
+     * <p>
+     * The operations the worker threads perform on a shared heap.
+     */
+    private interface SharedHeap {
+
+        void insert(int key);
+
+        long poll();
+
+        /**
+         * Records implementation-specific metrics, accumulated since the heap was filled.
+         *
+         * @param counters The counters to fill in.
+         */
+        default void report(Combining counters) {
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+
+        keys = BenchmarkKeys.keys("random", n, 42);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration(Blackhole blackhole) {
+
+        heap = null; // Let the previous heap be collected before allocating the next one
+        heap = newHeap(impl, d, n + OPERATIONS, keys);
+        SharedHeap heap = this.heap;
+        start = new CountDownLatch(1);
+        workers = new Thread[threads];
+        iteration++;
+        for (int t = 0; t < threads; t++) {
+            int operations = OPERATIONS / threads + (t < OPERATIONS % threads ? 1 : 0);
+            SplittableRandom random = new SplittableRandom(((long) iteration << 32) + t);
+            CountDownLatch start = this.start;
+            workers[t] = new Thread(() -> {
+                awaitQuietly(start);
+                long sum = 0;
+                for (int i = 0; i < operations; i++) {
+                    if (random.nextInt(100) < insert) {
+                        heap.insert(random.nextInt(BenchmarkKeys.KEY_RANGE));
+                    } else {
+                        sum += heap.poll();
+                    }
+                }
+                blackhole.consume(sum);
+            });
+            workers[t].start();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+
+        // A failed invocation may leave workers parked on the latch
+        start.countDown();
+        for (Thread worker : workers) {
+            joinQuietly(worker);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void mixed(Combining counters) {
+
+        start.countDown();
+        for (Thread worker : workers) {
+            joinQuietly(worker);
+        }
+        heap.report(counters);
+    }
+
+    /**
+     * Creates a shared heap pre-filled with the given keys.
+     *
+     * @param implementation "concurrent", "locked", "locked-generic" or "combining".
+     * @param d The degree.
+     * @param capacity The largest number of keys the heap may need to hold.
+     * @param keys The initial keys.
+     *
+     * @return The shared heap.
+     *
+     * @throws IllegalArgumentException if the implementation is unknown.
+     */
+    private static SharedHeap newHeap(String implementation, int d, int capacity, int[] keys) {
+
+        switch (implementation) {
+            case "concurrent": {
+                ConcurrentIntDaryHeap heap = new ConcurrentIntDaryHeap(d, capacity);
+                for (int key : keys) {
+                    heap.insert(key);
+                }
+                return new SharedHeap() {
+                    @Override
+                    public void insert(int key) {
+                        heap.insert(key);
+                    }
+
+                    @Override
+                    public long poll() {
+                        return heap.tryExtractMax().orElse(0);
+                    }
+                };
+            }
+            case "locked": {
+                IntDaryHeap heap = new IntDaryHeap(d, capacity);
+                heap.addAll(keys);
+                ReentrantLock lock = new ReentrantLock();
+                return new SharedHeap() {
+                    @Override
+                    public void insert(int key) {
+                        lock.lock();
+                        try {
+                            heap.insert(key);
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+
+                    @Override
+                    public long poll() {
+                        lock.lock();
+                        try {
+                            return heap.isEmpty() ? 0 : heap.extractMax();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                };
+            }
+            case "locked-generic": {
+                DaryHeap<Integer> heap = new DaryHeap<>(BenchmarkKeys.boxed(keys), d);
+                ReentrantLock lock = new ReentrantLock();
+                return new SharedHeap() {
+                    @Override
+                    public void insert(int key) {
+                        lock.lock();
+                        try {
+                            heap.insert(key);
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+
+                    @Override
+                    public long poll() {
+                        lock.lock();
+                        try {
+                            return heap.isEmpty() ? 0 : heap.extractMax();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                };
+            }
+            case "combining": {
+                FlatCombiningDaryHeap<Integer> heap = new FlatCombiningDaryHeap<>(d);
+                for (int key : keys) {
+                    heap.insert(key);
+                }
+                // Leave the single-threaded pre-fill out of the statistics
+                long initialPasses = heap.getCombiningPasses();
+                long initialOperations = heap.getCombinedOperations();
+                long initialEliminated = heap.getEliminatedOperations();
+                return new SharedHeap() {
+                    @Override
+                    public void insert(int key) {
+                        heap.insert(key);
+                    }
+
+                    @Override
+                    public long poll() {
+                        return heap.tryExtractMax().orElse(0);
+                    }
+
+                    @Override
+                    public void report(Combining counters) {
+                        counters.combiningPasses = heap.getCombiningPasses() - initialPasses;
+                        counters.combinedOperations = heap.getCombinedOperations() - initialOperations;
+                        counters.eliminatedOperations = heap.getEliminatedOperations() - initialEliminated;
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    /**
+     * Waits for a latch, restoring the interrupt flag if interrupted.
+     *
+     * @param latch The latch to wait for.
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for a thread to finish, restoring the interrupt flag if interrupted.
+     *
+     * @param thread The thread to wait for.
+     */
+    private static void joinQuietly(Thread thread) {
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
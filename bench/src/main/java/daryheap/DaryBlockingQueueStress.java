@@ -0,0 +1,251 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * DaryBlockingQueueStress Class
+ * <p>
+ * This program checks DaryBlockingQueue in two phases.
+ * <p>
+ * The differential phase applies the same random sequence of operations to a DaryBlockingQueue and to a
+ * java.util.concurrent.PriorityBlockingQueue on one thread and requires identical results from offer, poll, peek,
+ * remove, contains, size, both drainTo methods, the timed poll, toArray, the iterator and its remove, and clear.
+ * Keys are drawn from a small range so that equal elements are common. The timed poll on an empty queue must also
+ * wait at least its timeout.
+ * <p>
+ * The concurrent phase has P producers put their own distinct keys while C consumers take them, half of the
+ * consumers with take and half with a timed poll. Every key must be taken exactly once.
+ * <p>
+ * Arguments (all optional, positional):
+ * - operations: The number of operations in the differential phase. Default: 1000000.
+ * - d: The degree of the queue. Default: 4.
+ * - producers / consumers: The thread counts of the concurrent phase. Default: 4 / 4.
+ * - keys: The number of keys each producer puts. Default: 250000.
+ * - seed: The random seed. Default: 42.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -cp bench/target/benchmarks.jar daryheap.DaryBlockingQueueStress 200000 8 16 16
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - The concurrent phase runs on StressHarness threads. If one of them fails, the harness interrupts the others,
+ * which ends the consumers blocked in take or a timed poll.
+ * - toArray and the iterator return elements in heap order, which differs between the two queues, so their
+ * snapshots are compared after sorting.
+ */
+public class DaryBlockingQueueStress {
+
+    /**
+     * Upper bound (exclusive) of the keys in the differential phase.
+     */
+    private static final int DIFFERENTIAL_KEYS = 64;
+
+    /**
+     * Timeout of the timed polls, in microseconds.
+     */
+    private static final long TIMEOUT_MICROS = 200;
+
+    public static void main(String[] args) throws InterruptedException {
+
+        int operations = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        int d = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        int producers = (args.length > 2) ? Integer.parseInt(args[2]) : 4;
+        int consumers = (args.length > 3) ? Integer.parseInt(args[3]) : 4;
+        int keysPerProducer = (args.length > 4) ? Integer.parseInt(args[4]) : 250_000;
+        long seed = (args.length > 5) ? Long.parseLong(args[5]) : 42;
+
+        int timedPolls = differential(operations, d, new SplittableRandom(seed));
+        concurrent(d, producers, consumers, keysPerProducer, seed);
+
+        System.out.printf("DaryBlockingQueueStress: operations=%d (timed polls on an empty queue=%d) producers=%d consumers=%d"
+                        + " keys=%d d=%d: OK%n",
+                operations, timedPolls, producers, consumers, Math.multiplyExact(producers, keysPerProducer), d);
+    }
+
+    /**
+     * Runs the differential phase.
+     *
+     * @param operations The number of operations.
+     * @param d The degree of the queue.
+     * @param random The source of randomness.
+     *
+     * @return The number of timed polls that waited on an empty queue.
+     *
+     * @throws InterruptedException if interrupted during a timed poll.
+     */
+    private static int differential(int operations, int d, SplittableRandom random) throws InterruptedException {
+
+        DaryBlockingQueue<Integer> queue = new DaryBlockingQueue<>(d);
+        PriorityBlockingQueue<Integer> expected = new PriorityBlockingQueue<>();
+        int timedPolls = 0;
+
+        for (int i = 0; i < operations; i++) {
+            int key = random.nextInt(DIFFERENTIAL_KEYS);
+            int operation = random.nextInt(100);
+            if (operation < 45) {
+                check(i, "offer", expected.offer(key), queue.offer(key));
+            } else if (operation < 60) {
+                check(i, "poll", expected.poll(), queue.poll());
+            } else if (operation < 66) {
+                check(i, "peek", expected.peek(), queue.peek());
+            } else if (operation < 72) {
+                check(i, "remove", expected.remove(key), queue.remove(key));
+            } else if (operation < 78) {
+                check(i, "contains", expected.contains(key), queue.contains(key));
+            } else if (operation < 82) {
+                check(i, "size", expected.size(), queue.size());
+            } else if (operation < 86) {
+                int maxElements = random.nextInt(8);
+                List<Integer> expectedDrained = new ArrayList<>();
+                List<Integer> drained = new ArrayList<>();
+                check(i, "drainTo(c, max)", expected.drainTo(expectedDrained, maxElements), queue.drainTo(drained, maxElements));
+                check(i, "drainTo(c, max) elements", expectedDrained, drained);
+            } else if (operation < 88) {
+                boolean empty = queue.isEmpty();
+                long start = System.nanoTime();
+                Integer head = queue.poll(TIMEOUT_MICROS, TimeUnit.MICROSECONDS);
+                long waited = System.nanoTime() - start;
+                check(i, "poll(timeout)", expected.poll(), head);
+                if (empty) {
+                    timedPolls++;
+                    if (waited < TimeUnit.MICROSECONDS.toNanos(TIMEOUT_MICROS)) {
+                        throw StressHarness.failure("poll(timeout) returned after " + waited
+                                + " ns on an empty queue, at operation " + i + ".");
+                    }
+                }
+            } else if (operation < 92) {
+                check(i, "toArray", sorted(expected.toArray(new Integer[0])), sorted(queue.toArray(new Integer[0])));
+            } else if (operation < 98) {
+                // Iterate a snapshot and remove the first element equal to key through the iterator
+                List<Integer> snapshot = new ArrayList<>();
+                boolean removed = false;
+                for (Iterator<Integer> iterator = queue.iterator(); iterator.hasNext(); ) {
+                    Integer element = iterator.next();
+                    snapshot.add(element);
+                    if (!removed && element == key) {
+                        iterator.remove();
+                        expected.remove(element);
+                        removed = true;
+                    }
+                }
+                check(i, "iterator", sorted(expected.toArray(new Integer[0])), sorted(queue.toArray(new Integer[0])));
+                check(i, "iterator snapshot", expected.size() + (removed ? 1 : 0), snapshot.size());
+            } else if (operation < 99) {
+                List<Integer> expectedDrained = new ArrayList<>();
+                List<Integer> drained = new ArrayList<>();
+                check(i, "drainTo(c)", expected.drainTo(expectedDrained), queue.drainTo(drained));
+                check(i, "drainTo(c) elements", expectedDrained, drained);
+            } else {
+                expected.clear();
+                queue.clear();
+                check(i, "clear", 0, queue.size());
+            }
+        }
+        return timedPolls;
+    }
+
+    /**
+     * Runs the concurrent phase.
+     *
+     * @param d The degree of the queue.
+     * @param producers The number of producer threads.
+     * @param consumers The number of consumer threads.
+     * @param keysPerProducer The number of keys each producer puts.
+     * @param seed The random seed.
+     *
+     * @throws InterruptedException if interrupted while joining the threads.
+     */
+    private static void concurrent(int d, int producers, int consumers, int keysPerProducer, long seed)
+            throws InterruptedException {
+
+        int total = Math.multiplyExact(producers, keysPerProducer);
+        DaryBlockingQueue<Integer> queue = new DaryBlockingQueue<>(d);
+        BitSet[] taken = new BitSet[consumers];
+        int[][] keys = new int[producers][];
+        for (int p = 0; p < producers; p++) {
+            keys[p] = BenchmarkKeys.strided(keysPerProducer, p, producers, seed + p);
+        }
+        for (int c = 0; c < consumers; c++) {
+            taken[c] = new BitSet(total);
+        }
+
+        // Workers 0 .. producers - 1 put, the rest take
+        StressHarness.run(producers + consumers, worker -> {
+            if (worker < producers) {
+                for (int key : keys[worker]) {
+                    queue.put(key);
+                }
+                return;
+            }
+            int consumer = worker - producers;
+            int count = total / consumers + (consumer < total % consumers ? 1 : 0);
+            for (int i = 0; i < count; i++) {
+                Integer key;
+                if (consumer % 2 == 0) {
+                    key = queue.take();
+                } else {
+                    do {
+                        key = queue.poll(TIMEOUT_MICROS, TimeUnit.MICROSECONDS);
+                    } while (key == null);
+                }
+                StressHarness.markOnce(taken[consumer], key);
+            }
+        });
+
+        BitSet all = new BitSet(total);
+        int count = 0;
+        for (BitSet consumerKeys : taken) {
+            if (all.intersects(consumerKeys)) {
+                throw StressHarness.failure("A key was taken by two consumers.");
+            }
+            all.or(consumerKeys);
+            count += consumerKeys.cardinality();
+        }
+        if (count != total || all.cardinality() != total || !queue.isEmpty()) {
+            throw StressHarness.failure("Took " + all.cardinality() + " distinct keys of " + total + ".");
+        }
+    }
+
+    /**
+     * Fails if the DaryBlockingQueue result differs from the PriorityBlockingQueue result.
+     *
+     * @param operation The index of the operation, for the message.
+     * @param name The name of the operation.
+     * @param expected The result of PriorityBlockingQueue.
+     * @param actual The result of DaryBlockingQueue.
+     */
+    private static void check(int operation, String name, Object expected, Object actual) {
+
+        if (!Objects.equals(expected, actual)) {
+            throw StressHarness.failure(name + " returned " + actual + " instead of " + expected
+                    + " at operation " + operation + ".");
+        }
+    }
+
+    /**
+     * Sorts a snapshot so that snapshots in different heap orders can be compared.
+     *
+     * @param elements The snapshot.
+     *
+     * @return The sorted elements as a list.
+     */
+    private static List<Integer> sorted(Integer[] elements) {
+
+        Arrays.sort(elements);
+        return Arrays.asList(elements);
+    }
+
+}
@@ -0,0 +1,222 @@
+package daryheap;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * DaryHeapBenchmark Class
+ * <p>
+ * This JMH benchmark measures every DaryHeap operation (insert, maxHeapInsert, extractMax, heapIncreaseKey,
+ * delete, buildMaxHeap, replaceMax and pushPop) on a heap of boxed Integers, across degrees, heap sizes and
+ * key distributions. IntDaryHeapBenchmark runs the same operations, with the same inputs, on IntDaryHeap.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - d: The degree of the heap. Default: 2, 4, 8, 16, 32.
+ * - n: The heap size. Default: 1000, 1000000. The large profile below adds 100000000.
+ * - distribution: The key distribution (random, ascending, descending, duplicates). Default: all four.
+ * - mode: The extract mode used by extractMax, replaceMax, extractInsert and pushPop (STANDARD, BOTTOM_UP).
+ *   Default: STANDARD.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar DaryHeapBenchmark -p d=2,4,8 -p distribution=random -prof gc
+ * }
+ * </pre>
+ * <p>
+ * Large profile (n up to 100M, which does not fit the default -Xmx4g forks):
+ * <pre>
+ * {@code
+ *   java -jar bench/target/benchmarks.jar DaryHeapBenchmark -p n=1000,1000000,100000000 \
+ *       -jvmArgsAppend "-Xms16g -Xmx16g" -rf json -rff results-large.json
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - Scores are microseconds per batch on a fresh heap, with the same batch sizes as IntDaryHeapBenchmark.
+ * - The boxed keys are shared by all invocations, so insert and buildMaxHeap measure the heap, not boxing.
+ *   The hold model and heapIncreaseKey box one new Integer per operation, as a caller would.
+ * - At n = 100M the boxed keys alone take about 2 GB and each heap adds 400 MB of references, which is why the
+ *   large profile raises the fork heap to 16 GB.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DaryHeapBenchmark {
+
+    /**
+     * The keys, positions and increments of one configuration, generated once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class Input {
+
+        @Param({"2", "4", "8", "16", "32"})
+        public int d;
+
+        @Param({"1000", "1000000"})
+        public int n;
+
+        @Param({"random", "ascending", "descending", "duplicates"})
+        public String distribution;
+
+        @Param({"STANDARD"})
+        public String mode;
+
+        List<Integer> keys;
+        int[] indices;
+        int[] increments;
+        ExtractMode extractMode;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+
+            int updates = Math.min(n, IntDaryHeapBenchmark.MAX_UPDATES);
+            keys = BenchmarkKeys.boxed(BenchmarkKeys.keys(distribution, n, 42));
+            indices = BenchmarkKeys.randomInts(updates, Integer.MAX_VALUE, 43);
+            increments = BenchmarkKeys.randomInts(updates, IntDaryHeapBenchmark.MAX_INCREMENT, 44);
+            extractMode = ExtractMode.valueOf(mode);
+        }
+    }
+
+    /**
+     * An empty heap, created before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class EmptyHeap {
+
+        DaryHeap<Integer> heap;
+
+        @Setup(Level.Invocation)
+        public void setUp(Input input) {
+
+            heap = null; // Let the previous heap be collected before allocating the next one
+            heap = new DaryHeap<>(input.d);
+            heap.setExtractMode(input.extractMode);
+        }
+    }
+
+    /**
+     * A heap built from the keys, created before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class FilledHeap {
+
+        DaryHeap<Integer> heap;
+
+        @Setup(Level.Invocation)
+        public void setUp(Input input) {
+
+            heap = null; // Let the previous heap be collected before allocating the next one
+            heap = new DaryHeap<>(input.keys, input.d);
+            heap.setExtractMode(input.extractMode);
+        }
+    }
+
+    @Benchmark
+    public void insert(Input input, EmptyHeap state, Blackhole blackhole) {
+
+        DaryHeap<Integer> heap = state.heap;
+        for (Integer key : input.keys) {
+            heap.insert(key);
+        }
+        blackhole.consume(heap.size());
+    }
+
+    @Benchmark
+    public void maxHeapInsert(Input input, EmptyHeap state, Blackhole blackhole) {
+
+        DaryHeap<Integer> heap = state.heap;
+        for (Integer key : input.keys) {
+            heap.maxHeapInsert(key);
+        }
+        blackhole.consume(heap.size());
+    }
+
+    @Benchmark
+    public void extractMax(FilledHeap state, Blackhole blackhole) {
+
+        DaryHeap<Integer> heap = state.heap;
+        while (!heap.isEmpty()) {
+            blackhole.consume(heap.extractMax());
+        }
+    }
+
+    @Benchmark
+    public void heapIncreaseKey(Input input, FilledHeap state, Blackhole blackhole) {
+
+        DaryHeap<Integer> heap = state.heap;
+        int[] indices = input.indices;
+        int[] increments = input.increments;
+        int size = heap.size();
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i] % size;
+            heap.heapIncreaseKey(index, heap.get(index) + increments[i]);
+        }
+        blackhole.consume(heap.get(0));
+    }
+
+    @Benchmark
+    public void delete(Input input, FilledHeap state, Blackhole blackhole) {
+
+        DaryHeap<Integer> heap = state.heap;
+        for (int index : input.indices) {
+            heap.delete(index % heap.size());
+        }
+        blackhole.consume(heap.size());
+    }
+
+    @Benchmark
+    public void buildMaxHeap(Input input, Blackhole blackhole) {
+
+        DaryHeap<Integer> built = new DaryHeap<>(input.keys, input.d);
+        blackhole.consume(built.size());
+    }
+
+    @Benchmark
+    public void replaceMax(Input input, FilledHeap state, Blackhole blackhole) {
+
+        DaryHeap<Integer> heap = state.heap;
+        for (int decrement : input.increments) {
+            blackhole.consume(heap.replaceMax(heap.get(0) - decrement));
+        }
+    }
+
+    @Benchmark
+    public void extractInsert(Input input, FilledHeap state, Blackhole blackhole) {
+
+        DaryHeap<Integer> heap = state.heap;
+        for (int decrement : input.increments) {
+            int max = heap.extractMax();
+            heap.insert(max - decrement);
+            blackhole.consume(max);
+        }
+    }
+
+    @Benchmark
+    public void pushPop(Input input, FilledHeap state, Blackhole blackhole) {
+
+        DaryHeap<Integer> heap = state.heap;
+        List<Integer> keys = input.keys;
+        for (int i = 0; i < input.indices.length; i++) {
+            blackhole.consume(heap.pushPop(keys.get(i)));
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package daryheap;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+
+/**
+ * DaryScheduledExecutorStress Class
+ * <p>
+ * This program checks DaryScheduledExecutor in two phases.
+ * <p>
+ * The ordering phase uses one worker thread. It schedules n timers with deadlines spread over one second, then
+ * cancels a quarter of them and moves another quarter to new deadlines with reschedule, while a gate task holds
+ * the worker. It verifies that:
+ * - cancel and reschedule succeed on every pending timer, and each cancel removes its timer from the queue at once.
+ * - Every timer that was not cancelled runs exactly once, never before its deadline, and the timers run in
+ * deadline order. Cancelled timers never run.
+ * - cancel and reschedule return false once a timer has run.
+ * <p>
+ * The concurrent phase has C client threads schedule n timers with deadlines up to two milliseconds away on a
+ * pool of W workers, and cancel or reschedule random earlier timers while the workers fire them. After shutdown
+ * and termination, every timer must have run exactly once unless its cancel returned true, in which case it must
+ * not have run at all. New tasks must then be rejected.
+ * <p>
+ * Arguments (all optional, positional):
+ * - n: The number of timers in each phase. Default: 100000.
+ * - d: The degree of the delay queue. Default: 4.
+ * - workers / clients: The thread counts of the concurrent phase. Default: 4 / 4.
+ * - seed: The random seed. Default: 42.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -cp bench/target/benchmarks.jar daryheap.DaryScheduledExecutorStress 200000 8 8 16
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - The client threads of the concurrent phase run on StressHarness.
+ * - The real deadline of a timer is not visible, so it is bracketed by System.nanoTime readings taken just before
+ * and just after each schedule or reschedule call. A timer must not run before the lower bound, and two timers
+ * count as out of order only when the lower bound of the first exceeds the upper bound of the second, so a
+ * thread preempted in the middle of a call cannot cause a false failure.
+ */
+public class DaryScheduledExecutorStress {
+
+    /**
+     * Delay of the earliest deadline in the ordering phase.
+     */
+    private static final long ORDER_OFFSET_MICROS = 500_000;
+
+    /**
+     * Spread of the deadlines in the ordering phase.
+     */
+    private static final int ORDER_SPREAD_MICROS = 1_000_000;
+
+    /**
+     * Largest delay in the concurrent phase.
+     */
+    private static final int CONCURRENT_SPREAD_MICROS = 2_000;
+
+    public static void main(String[] args) throws InterruptedException {
+
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 100_000;
+        int d = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        int workers = (args.length > 2) ? Integer.parseInt(args[2]) : 4;
+        int clients = (args.length > 3) ? Integer.parseInt(args[3]) : 4;
+        long seed = (args.length > 4) ? Long.parseLong(args[4]) : 42;
+
+        int[] ordering = ordering(n, d, new SplittableRandom(seed));
+        int cancelled = concurrent(n, d, workers, clients, seed);
+
+        System.out.printf("DaryScheduledExecutorStress: n=%d d=%d ordered=%d (cancelled=%d, rescheduled=%d)"
+                        + " workers=%d clients=%d concurrently cancelled=%d: OK%n",
+                n, d, n - ordering[0], ordering[0], ordering[1], workers, clients, cancelled);
+    }
+
+    /**
+     * Runs the ordering phase.
+     *
+     * @param n The number of timers.
+     * @param d The degree of the delay queue.
+     * @param random The source of randomness.
+     *
+     * @return The number of cancelled and of rescheduled timers.
+     *
+     * @throws InterruptedException if interrupted while waiting for the executor.
+     */
+    private static int[] ordering(int n, int d, SplittableRandom random) throws InterruptedException {
+
+        DaryScheduledExecutor executor = new DaryScheduledExecutor(1, d);
+        long[] earliest = new long[n];
+        long[] latest = new long[n];
+        long[] fired = new long[n];
+        int[] order = new int[n];
+        int[] count = new int[1];
+        AtomicIntegerArray runs = new AtomicIntegerArray(n);
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[n];
+        boolean[] cancelled = new boolean[n];
+
+        // Hold the only worker until every timer is in place, so that the run order depends only on the deadlines.
+        // Wait until the worker has taken the gating task, so that the queue holds only timers.
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        executor.execute(() -> {
+            held.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        held.await();
+
+        for (int i = 0; i < n; i++) {
+            int id = i;
+            long delay = ORDER_OFFSET_MICROS + random.nextInt(ORDER_SPREAD_MICROS);
+            earliest[i] = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(delay);
+            futures[i] = executor.schedule(() -> {
+                fired[id] = System.nanoTime();
+                order[count[0]++] = id;
+                runs.incrementAndGet(id);
+            }, delay, TimeUnit.MICROSECONDS);
+            latest[i] = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(delay);
+        }
+
+        int cancelledCount = 0;
+        int rescheduledCount = 0;
+        for (int i = 0; i < n; i++) {
+            int action = random.nextInt(4);
+            if (action == 0) {
+                if (!futures[i].cancel(false)) {
+                    throw StressHarness.failure("cancel failed on pending timer " + i + ".");
+                }
+                cancelled[i] = true;
+                cancelledCount++;
+            } else if (action == 1) {
+                long delay = ORDER_OFFSET_MICROS + random.nextInt(ORDER_SPREAD_MICROS);
+                earliest[i] = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(delay);
+                if (!executor.reschedule(futures[i], delay, TimeUnit.MICROSECONDS)) {
+                    throw StressHarness.failure("reschedule failed on pending timer " + i + ".");
+                }
+                latest[i] = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(delay);
+                rescheduledCount++;
+            }
+        }
+        if (executor.getQueueSize() != n - cancelledCount) {
+            throw StressHarness.failure("The queue holds " + executor.getQueueSize() + " timers but "
+                    + (n - cancelledCount) + " are pending.");
+        }
+        gate.countDown();
+
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            throw StressHarness.failure("The executor did not terminate.");
+        }
+
+        for (int i = 0; i < n; i++) {
+            int expected = cancelled[i] ? 0 : 1;
+            if (runs.get(i) != expected) {
+                throw StressHarness.failure("Timer " + i + " ran " + runs.get(i) + " times, expected "
+                        + expected + ".");
+            }
+            if (!cancelled[i] && fired[i] < earliest[i]) {
+                throw StressHarness.failure("Timer " + i + " ran "
+                        + (earliest[i] - fired[i]) + " ns before its deadline.");
+            }
+            if (!cancelled[i] && (futures[i].cancel(false) || executor.reschedule(futures[i], 1, TimeUnit.SECONDS))) {
+                throw StressHarness.failure("Timer " + i + " was cancelled or moved after it ran.");
+            }
+        }
+        for (int i = 1; i < count[0]; i++) {
+            if (earliest[order[i - 1]] > latest[order[i]]) {
+                throw StressHarness.failure("Timer " + order[i] + " ran after timer " + order[i - 1]
+                        + ", whose deadline is at least " + (earliest[order[i - 1]] - latest[order[i]]) + " ns later.");
+            }
+        }
+        return new int[] {cancelledCount, rescheduledCount};
+    }
+
+    /**
+     * Runs the concurrent phase.
+     *
+     * @param n The number of timers.
+     * @param d The degree of the delay queue.
+     * @param workers The number of worker threads.
+     * @param clients The number of client threads.
+     * @param seed The random seed.
+     *
+     * @return The number of successfully cancelled timers.
+     *
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    private static int concurrent(int n, int d, int workers, int clients, long seed) throws InterruptedException {
+
+        DaryScheduledExecutor executor = new DaryScheduledExecutor(workers, d);
+        AtomicIntegerArray runs = new AtomicIntegerArray(n);
+        boolean[] cancelled = new boolean[n];
+
+        try {
+            // Client c owns the timers c, c + clients, c + 2 * clients, ...
+            StressHarness.run(clients, client -> {
+                SplittableRandom random = new SplittableRandom(seed + 1 + client);
+                int owned = (n - client + clients - 1) / clients;
+                ScheduledFuture<?>[] futures = new ScheduledFuture<?>[owned];
+                for (int k = 0; k < owned; k++) {
+                    int id = client + k * clients;
+                    futures[k] = executor.schedule(() -> {
+                        runs.incrementAndGet(id);
+                    }, random.nextInt(CONCURRENT_SPREAD_MICROS), TimeUnit.MICROSECONDS);
+
+                    int victim = random.nextInt(k + 1);
+                    int action = random.nextInt(4);
+                    if (action == 0) {
+                        cancelled[client + victim * clients] |= futures[victim].cancel(false);
+                    } else if (action == 1) {
+                        executor.reschedule(futures[victim], random.nextInt(CONCURRENT_SPREAD_MICROS), TimeUnit.MICROSECONDS);
+                    }
+                }
+            });
+        } finally {
+            // Shut down even when a client failed, so that the worker threads do not keep the program alive
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            throw StressHarness.failure("The executor did not terminate.");
+        }
+
+        int cancelledCount = 0;
+        for (int i = 0; i < n; i++) {
+            int expected = cancelled[i] ? 0 : 1;
+            if (runs.get(i) != expected) {
+                throw StressHarness.failure("Timer " + i + " ran " + runs.get(i) + " times, expected "
+                        + expected + ".");
+            }
+            cancelledCount += cancelled[i] ? 1 : 0;
+        }
+
+        try {
+            executor.schedule(() -> { }, 0, TimeUnit.NANOSECONDS);
+            throw StressHarness.failure("A task was accepted after shutdown.");
+        } catch (RejectedExecutionException expected) {
+            // The executor rejects new tasks once it is shut down
+        }
+        return cancelledCount;
+    }
+
+}
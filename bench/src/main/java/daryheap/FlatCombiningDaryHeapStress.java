@@ -0,0 +1,122 @@
+package daryheap;
+
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+
+/**
+ * FlatCombiningDaryHeapStress Class
+ * <p>
+ * This program is a multi-threaded correctness check for FlatCombiningDaryHeap. Every thread inserts its own
+ * distinct keys in a random order and follows about half of the inserts with a tryExtractMax, recording every
+ * key it extracts. Once all threads have finished, the program drains the heap single-threaded and verifies that:
+ * - size() matches the keys that were inserted and not yet extracted, once the threads are idle.
+ * - The drained keys come out in non-increasing order.
+ * - Every inserted key was extracted exactly once, either concurrently or by the drain, so no key was lost or
+ * duplicated, including the keys handed directly from an insert to an extraction.
+ * - The combiner applied every request exactly once: getCombinedOperations() equals the number of insert and
+ * extraction calls.
+ * <p>
+ * Arguments (all optional, positional):
+ * - threads: The number of worker threads. Default: 8.
+ * - d: The degree of the heap. Default: 4.
+ * - keys: The number of keys each thread inserts. Default: 1000000.
+ * - slots: The number of publication slots; fewer slots than threads also exercises waiting for a slot.
+ * Default: the number of threads.
+ * - seed: The random seed. Default: 42.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -cp bench/target/benchmarks.jar daryheap.FlatCombiningDaryHeapStress 16 4 500000 4
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - The worker threads and the exactly-once check come from StressHarness.
+ * - The summary includes the combining statistics. Batches larger than one, and therefore eliminations, need
+ * threads running in parallel on several cores.
+ */
+public class FlatCombiningDaryHeapStress {
+
+    public static void main(String[] args) throws InterruptedException {
+
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        int d = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        int keysPerThread = (args.length > 2) ? Integer.parseInt(args[2]) : 1_000_000;
+        int slots = (args.length > 3) ? Integer.parseInt(args[3]) : threads;
+        long seed = (args.length > 4) ? Long.parseLong(args[4]) : 42;
+        int total = Math.multiplyExact(threads, keysPerThread);
+
+        FlatCombiningDaryHeap<Integer> heap = new FlatCombiningDaryHeap<>(d, null, slots);
+        int[][] extracted = new int[threads][keysPerThread];
+        int[] extractedCounts = new int[threads];
+        long[] requests = new long[threads];
+        int[][] keys = new int[threads][];
+        for (int t = 0; t < threads; t++) {
+            keys[t] = BenchmarkKeys.strided(keysPerThread, t, threads, seed + t);
+        }
+
+        StressHarness.run(threads, thread -> {
+            SplittableRandom random = new SplittableRandom(seed - 1 - thread);
+            int count = 0;
+            long calls = 0;
+            for (int key : keys[thread]) {
+                heap.insert(key);
+                calls++;
+                if (random.nextBoolean()) {
+                    Optional<Integer> max = heap.tryExtractMax();
+                    calls++;
+                    if (max.isPresent()) {
+                        extracted[thread][count++] = max.get();
+                    }
+                }
+            }
+            extractedCounts[thread] = count;
+            requests[thread] = calls;
+        });
+
+        BitSet seen = new BitSet(total);
+        int concurrent = 0;
+        long calls = 0;
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < extractedCounts[t]; i++) {
+                StressHarness.markOnce(seen, extracted[t][i]);
+            }
+            concurrent += extractedCounts[t];
+            calls += requests[t];
+        }
+        if (heap.size() != total - concurrent) {
+            throw StressHarness.failure("size() is " + heap.size() + " but "
+                    + (total - concurrent) + " keys remain.");
+        }
+
+        int drained = 0;
+        int previous = Integer.MAX_VALUE;
+        for (Optional<Integer> max = heap.tryExtractMax(); max.isPresent(); max = heap.tryExtractMax()) {
+            int key = max.get();
+            if (key > previous) {
+                throw StressHarness.failure("Drained " + key + " after " + previous + ".");
+            }
+            previous = key;
+            StressHarness.markOnce(seen, key);
+            drained++;
+        }
+        calls += drained + 1;
+        if (seen.cardinality() != total) {
+            throw StressHarness.failure("Lost " + (total - seen.cardinality()) + " of " + total + " keys.");
+        }
+        if (heap.getCombinedOperations() != calls) {
+            throw StressHarness.failure("The combiner applied " + heap.getCombinedOperations()
+                    + " requests for " + calls + " calls.");
+        }
+
+        System.out.printf("FlatCombiningDaryHeapStress: threads=%d slots=%d d=%d keys=%d extracted concurrently=%d drained=%d"
+                        + " passes=%d combined=%d eliminated=%d: OK%n",
+                threads, slots, d, total, concurrent, drained,
+                heap.getCombiningPasses(), heap.getCombinedOperations(), heap.getEliminatedOperations());
+    }
+
+}
@@ -0,0 +1,380 @@
+package daryheap;
+
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * HeapComparisonBenchmark Class
+ * <p>
+ * This JMH benchmark replays identical operation traces against several max-heap backends, so DaryHeap can be
+ * compared with {@code java.util.PriorityQueue} on equal terms. replay measures the average time of a whole
+ * trace, and step samples the latency of single operations for the p50/p99 percentiles.
+ * <p>
+ * Backends:
+ * - int: IntDaryHeap at the given degree.
+ * - generic: DaryHeap of Integer at the given degree.
+ * - pq: java.util.PriorityQueue of Integer with a reversed comparator (a binary max heap). It ignores d.
+ * <p>
+ * Traces:
+ * - mixed:P: Starting from n elements, a random sequence where each operation is an insert with probability
+ * P percent and an extractMax otherwise (an insert is forced whenever the heap would be empty).
+ * - hold: The classic hold model. Starting from n elements, each step extracts the maximum and inserts it back
+ * lowered by a random amount, so the size stays constant.
+ * - sort: Heapsort of n keys: n inserts into an empty heap followed by n extractions.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - backend: The backends to compare. Default: int, generic, pq.
+ * - d: The degree of the DaryHeap backends. Default: 2, 4, 8.
+ * - n: The starting size, or the number of keys to sort. Default: 1000, 100000, 1000000.
+ * - trace: The trace to replay. Default: mixed:50, mixed:75, hold, sort.
+ * - ops: The number of steps in the mixed and hold traces. Default: 1000000.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar HeapComparisonBenchmark -p n=1000000 -p d=4,8 -p trace=hold,sort -prof gc
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - replay scores are microseconds per trace on a freshly built heap. With -prof gc, gc.alloc.rate.norm is
+ *   the allocation per trace for replay and per operation for step.
+ * - step runs the trace cyclically on one heap per iteration. A hold step is split into its extractMax and its
+ *   insert, which are sampled separately. A pass of mixed:P leaves (2P - 100)% of ops extra elements behind,
+ *   so for P above 50 the heap grows through the iteration; compare backends with each other rather than
+ *   reading the percentiles as the latency at exactly n elements.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HeapComparisonBenchmark {
+
+    /**
+     * The backend and trace of one configuration. The trace is generated once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class Input {
+
+        @Param({"int", "generic", "pq"})
+        public String backend;
+
+        @Param({"2", "4", "8"})
+        public int d;
+
+        @Param({"1000", "100000", "1000000"})
+        public int n;
+
+        @Param({"mixed:50", "mixed:75", "hold", "sort"})
+        public String trace;
+
+        @Param({"1000000"})
+        public int ops;
+
+        Trace replayTrace;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+
+            replayTrace = Trace.create(trace, n, ops, 42);
+        }
+    }
+
+    /**
+     * A backend pre-filled with the trace's starting keys, created before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class FreshHeap {
+
+        Backend heap;
+
+        @Setup(Level.Invocation)
+        public void setUp(Input input) {
+
+            heap = null; // Let the previous heap be collected before allocating the next one
+            heap = Backend.create(input.backend, input.d, input.replayTrace.prefill);
+        }
+    }
+
+    /**
+     * A backend that lives for a whole iteration, and the position of the next operation in the trace.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        Trace trace;
+        Backend heap;
+        int position;
+        int pending;
+
+        @Setup(Level.Iteration)
+        public void setUp(Input input) {
+
+            heap = null;
+            trace = input.replayTrace;
+            heap = Backend.create(input.backend, input.d, trace.prefill);
+            position = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void replay(Input input, FreshHeap state, Blackhole blackhole) {
+
+        input.replayTrace.replay(state.heap, blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int step(Cursor cursor) {
+
+        return cursor.trace.step(cursor);
+    }
+
+    /**
+     * Backend Interface
+     * <p>
+     * The minimal max-heap API the traces need, implemented by each compared heap.
+     */
+    private interface Backend {
+
+        void insert(int key);
+
+        int extractMax();
+
+        boolean isEmpty();
+
+        /**
+         * Creates a backend by name, pre-filled with the given keys.
+         *
+         * @param name The backend name (int, generic or pq).
+         * @param d The degree for the DaryHeap backends.
+         * @param prefill The initial keys.
+         *
+         * @return The backend.
+         *
+         * @throws IllegalArgumentException if the name is unknown.
+         */
+        static Backend create(String name, int d, int[] prefill) {
+
+            switch (name) {
+                case "int": {
+                    IntDaryHeap heap = new IntDaryHeap(prefill, d);
+                    return new Backend() {
+
+                        @Override
+                        public void insert(int key) {
+                            heap.insert(key);
+                        }
+
+                        @Override
+                        public int extractMax() {
+                            return heap.extractMax();
+                        }
+
+                        @Override
+                        public boolean isEmpty() {
+                            return heap.isEmpty();
+                        }
+                    };
+                }
+                case "generic": {
+                    DaryHeap<Integer> heap = new DaryHeap<>(BenchmarkKeys.boxed(prefill), d);
+                    return new Backend() {
+
+                        @Override
+                        public void insert(int key) {
+                            heap.insert(key);
+                        }
+
+                        @Override
+                        public int extractMax() {
+                            return heap.extractMax();
+                        }
+
+                        @Override
+                        public boolean isEmpty() {
+                            return heap.isEmpty();
+                        }
+                    };
+                }
+                case "pq": {
+                    PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, prefill.length),
+                                                                      Collections.reverseOrder());
+                    for (int key : prefill) {
+                        heap.add(key);
+                    }
+                    return new Backend() {
+
+                        @Override
+                        public void insert(int key) {
+                            heap.add(key);
+                        }
+
+                        @Override
+                        public int extractMax() {
+                            return heap.poll();
+                        }
+
+                        @Override
+                        public boolean isEmpty() {
+                            return heap.isEmpty();
+                        }
+                    };
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown backend: " + name);
+            }
+        }
+    }
+
+    /**
+     * Trace Class
+     * <p>
+     * A pre-generated operation sequence. For mixed and sort traces, insert[i] tells whether operation i is
+     * an insert of keys[i] or an extractMax. For the hold trace, every step is an extractMax followed by an
+     * insert of the extracted key lowered by keys[i].
+     */
+    private static final class Trace {
+
+        final int[] prefill;
+        final boolean[] insert;
+        final int[] keys;
+        final boolean hold;
+
+        private Trace(int[] prefill, boolean[] insert, int[] keys, boolean hold) {
+
+            this.prefill = prefill;
+            this.insert = insert;
+            this.keys = keys;
+            this.hold = hold;
+        }
+
+        /**
+         * Generates a trace by name.
+         *
+         * @param name The trace name (mixed:P, hold or sort).
+         * @param n The starting size, or the number of keys to sort.
+         * @param operations The number of operations for mixed and hold traces.
+         * @param seed The random seed.
+         *
+         * @return The generated trace.
+         *
+         * @throws IllegalArgumentException if the name is unknown.
+         */
+        static Trace create(String name, int n, int operations, long seed) {
+
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] initial = BenchmarkKeys.keys("random", n, seed + 1);
+
+            if (name.startsWith("mixed:")) {
+                int insertPercent = Integer.parseInt(name.substring("mixed:".length()));
+                boolean[] insert = new boolean[operations];
+                int[] keys = new int[operations];
+                long size = n;
+                for (int i = 0; i < operations; i++) {
+                    insert[i] = size == 0 || random.nextInt(100) < insertPercent;
+                    keys[i] = random.nextInt(BenchmarkKeys.KEY_RANGE);
+                    size += insert[i] ? 1 : -1;
+                }
+                return new Trace(initial, insert, keys, false);
+            }
+            if ("hold".equals(name)) {
+                if (n == 0) {
+                    throw new IllegalArgumentException("The hold trace needs a non-empty starting heap");
+                }
+                int[] decrements = new int[operations];
+                for (int i = 0; i < operations; i++) {
+                    decrements[i] = random.nextInt(1 << 10);
+                }
+                return new Trace(initial, null, decrements, true);
+            }
+            if ("sort".equals(name)) {
+                boolean[] insert = new boolean[2 * n];
+                int[] keys = new int[2 * n];
+                for (int i = 0; i < n; i++) {
+                    insert[i] = true;
+                    keys[i] = initial[i];
+                }
+                return new Trace(new int[0], insert, keys, false);
+            }
+            throw new IllegalArgumentException("Unknown trace: " + name);
+        }
+
+        /**
+         * Replays the whole trace against a backend.
+         *
+         * @param heap The backend, pre-filled with the prefill keys.
+         * @param blackhole The sink for the extracted keys.
+         */
+        void replay(Backend heap, Blackhole blackhole) {
+
+            if (hold) {
+                for (int decrement : keys) {
+                    int max = heap.extractMax();
+                    heap.insert(max - decrement);
+                    blackhole.consume(max);
+                }
+                return;
+            }
+
+            for (int i = 0; i < insert.length; i++) {
+                if (insert[i]) {
+                    heap.insert(keys[i]);
+                } else {
+                    blackhole.consume(heap.extractMax());
+                }
+            }
+        }
+
+        /**
+         * Performs the operation at the cursor's position and advances it, wrapping at the end of the trace.
+         * An extraction from an empty heap becomes an insert, as when the trace was generated.
+         *
+         * @param cursor The heap and position to step.
+         *
+         * @return The extracted key, or the inserted one.
+         */
+        int step(Cursor cursor) {
+
+            Backend heap = cursor.heap;
+            int position = cursor.position;
+            int length = hold ? 2 * keys.length : insert.length;
+            cursor.position = position + 1 == length ? 0 : position + 1;
+
+            if (hold) {
+                if ((position & 1) == 0) {
+                    return cursor.pending = heap.extractMax();
+                }
+                int key = cursor.pending - keys[position >>> 1];
+                heap.insert(key);
+                return key;
+            }
+            if (insert[position] || heap.isEmpty()) {
+                heap.insert(keys[position]);
+                return keys[position];
+            }
+            return heap.extractMax();
+        }
+    }
+
+}
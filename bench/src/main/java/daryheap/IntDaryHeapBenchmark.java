@@ -0,0 +1,235 @@
+package daryheap;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * IntDaryHeapBenchmark Class
+ * <p>
+ * This JMH benchmark measures every IntDaryHeap operation (insert, maxHeapInsert, extractMax, heapIncreaseKey,
+ * delete, buildMaxHeap, replaceMax and pushPop) across degrees, heap sizes and key distributions.
+ * DaryHeapBenchmark measures the same operations on the generic DaryHeap.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - d: The degree of the heap. Default: 2, 4, 8, 16, 32.
+ * - n: The heap size. Default: 1000, 1000000. The large profile below adds 100000000.
+ * - distribution: The key distribution (random, ascending, descending, duplicates). Default: all four.
+ * - mode: The extract mode used by extractMax, replaceMax, extractInsert and pushPop (STANDARD, BOTTOM_UP).
+ *   Default: STANDARD.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar IntDaryHeapBenchmark -p d=2,4,8 -p n=1000000 -rf json -rff results.json
+ * }
+ * </pre>
+ * <p>
+ * Large profile (n up to 100M, which does not fit the default -Xmx4g forks):
+ * <pre>
+ * {@code
+ *   java -jar bench/target/benchmarks.jar IntDaryHeapBenchmark -p n=1000,1000000,100000000 \
+ *       -jvmArgsAppend "-Xms16g -Xmx16g" -rf json -rff results-large.json
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - Each invocation runs one whole batch on a fresh heap, so scores are microseconds per batch. A batch is
+ *   n operations for insert, maxHeapInsert, extractMax and buildMaxHeap, and min(n, 1M) operations for the
+ *   rest; divide by the batch size for the cost of one operation. Level.Invocation setup adds a small fixed
+ *   cost per batch, so keep n at 1000 or more.
+ * - replaceMax and extractInsert follow the hold model (the maximum is replaced by itself lowered by a random
+ *   amount); extractInsert is the unfused extractMax-then-insert baseline for replaceMax. pushPop offers the
+ *   original keys again, so about half of them short-circuit.
+ * - -jvmArgsAppend on the command line replaces the -Xms4g -Xmx4g of @Fork. At n = 100M the keys and the heap
+ *   take 800 MB and a batch runs for seconds, so each iteration measures a single invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IntDaryHeapBenchmark {
+
+    /**
+     * Maximum number of heapIncreaseKey/delete/replaceMax/pushPop operations per invocation.
+     */
+    static final int MAX_UPDATES = 1_000_000;
+
+    /**
+     * Largest increment applied by the heapIncreaseKey benchmark, and decrement applied by the hold model.
+     */
+    static final int MAX_INCREMENT = 512;
+
+    /**
+     * The keys, positions and increments of one configuration, generated once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class Input {
+
+        @Param({"2", "4", "8", "16", "32"})
+        public int d;
+
+        @Param({"1000", "1000000"})
+        public int n;
+
+        @Param({"random", "ascending", "descending", "duplicates"})
+        public String distribution;
+
+        @Param({"STANDARD"})
+        public String mode;
+
+        int[] keys;
+        int[] indices;
+        int[] increments;
+        ExtractMode extractMode;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+
+            int updates = Math.min(n, MAX_UPDATES);
+            keys = BenchmarkKeys.keys(distribution, n, 42);
+            indices = BenchmarkKeys.randomInts(updates, Integer.MAX_VALUE, 43);
+            increments = BenchmarkKeys.randomInts(updates, MAX_INCREMENT, 44);
+            extractMode = ExtractMode.valueOf(mode);
+        }
+    }
+
+    /**
+     * An empty heap pre-sized for n keys, created before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class EmptyHeap {
+
+        IntDaryHeap heap;
+
+        @Setup(Level.Invocation)
+        public void setUp(Input input) {
+
+            heap = null; // Let the previous heap be collected before allocating the next one
+            heap = new IntDaryHeap(input.d, input.n);
+            heap.setExtractMode(input.extractMode);
+        }
+    }
+
+    /**
+     * A heap built from the keys, created before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class FilledHeap {
+
+        IntDaryHeap heap;
+
+        @Setup(Level.Invocation)
+        public void setUp(Input input) {
+
+            heap = null; // Let the previous heap be collected before allocating the next one
+            heap = new IntDaryHeap(input.keys, input.d);
+            heap.setExtractMode(input.extractMode);
+        }
+    }
+
+    @Benchmark
+    public void insert(Input input, EmptyHeap state, Blackhole blackhole) {
+
+        IntDaryHeap heap = state.heap;
+        for (int key : input.keys) {
+            heap.insert(key);
+        }
+        blackhole.consume(heap.size());
+    }
+
+    @Benchmark
+    public void maxHeapInsert(Input input, EmptyHeap state, Blackhole blackhole) {
+
+        IntDaryHeap heap = state.heap;
+        for (int key : input.keys) {
+            heap.maxHeapInsert(key);
+        }
+        blackhole.consume(heap.size());
+    }
+
+    @Benchmark
+    public void extractMax(FilledHeap state, Blackhole blackhole) {
+
+        IntDaryHeap heap = state.heap;
+        while (!heap.isEmpty()) {
+            blackhole.consume(heap.extractMax());
+        }
+    }
+
+    @Benchmark
+    public void heapIncreaseKey(Input input, FilledHeap state, Blackhole blackhole) {
+
+        IntDaryHeap heap = state.heap;
+        int[] indices = input.indices;
+        int[] increments = input.increments;
+        int size = heap.size();
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i] % size;
+            heap.heapIncreaseKey(index, heap.get(index) + increments[i]);
+        }
+        blackhole.consume(heap.peekMax());
+    }
+
+    @Benchmark
+    public void delete(Input input, FilledHeap state, Blackhole blackhole) {
+
+        IntDaryHeap heap = state.heap;
+        for (int index : input.indices) {
+            heap.delete(index % heap.size());
+        }
+        blackhole.consume(heap.size());
+    }
+
+    @Benchmark
+    public void buildMaxHeap(Input input, Blackhole blackhole) {
+
+        IntDaryHeap built = new IntDaryHeap(input.keys, input.d);
+        blackhole.consume(built.size());
+    }
+
+    @Benchmark
+    public void replaceMax(Input input, FilledHeap state, Blackhole blackhole) {
+
+        IntDaryHeap heap = state.heap;
+        for (int decrement : input.increments) {
+            blackhole.consume(heap.replaceMax(heap.peekMax() - decrement));
+        }
+    }
+
+    @Benchmark
+    public void extractInsert(Input input, FilledHeap state, Blackhole blackhole) {
+
+        IntDaryHeap heap = state.heap;
+        for (int decrement : input.increments) {
+            int max = heap.extractMax();
+            heap.insert(max - decrement);
+            blackhole.consume(max);
+        }
+    }
+
+    @Benchmark
+    public void pushPop(Input input, FilledHeap state, Blackhole blackhole) {
+
+        IntDaryHeap heap = state.heap;
+        int[] keys = input.keys;
+        for (int i = 0; i < input.indices.length; i++) {
+            blackhole.consume(heap.pushPop(keys[i]));
+        }
+    }
+}
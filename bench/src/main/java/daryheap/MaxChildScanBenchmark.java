@@ -0,0 +1,131 @@
+package daryheap;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * MaxChildScanBenchmark Class
+ * <p>
+ * This JMH benchmark compares the scalar and the Vector API max-child scans (see MaxChildScan) across degrees,
+ * to find the crossover degree from which the vector scan wins. Each operation scans one child group of d keys,
+ * starting at a random position of the form d * i + 1, exactly as IntDaryHeap.findMaxChild does.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - d: The degree. Default: 2, 4, 8, 12, 16, 24, 32, 64.
+ * - n: The size of the scanned array. Default: 1000000.
+ * - scan: The scan to measure (scalar, vector). Default: both.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar MaxChildScanBenchmark -p d=4,8,16,32
+ *
+ *   # End to end: the same heap benchmark with each scan forced
+ *   java -jar bench/target/benchmarks.jar IntDaryHeapBenchmark.extractMax \
+ *       -jvmArgsAppend "--add-modules=jdk.incubator.vector -Ddaryheap.scan=scalar"
+ *   java -jar bench/target/benchmarks.jar IntDaryHeapBenchmark.extractMax \
+ *       -jvmArgsAppend "--add-modules=jdk.incubator.vector -Ddaryheap.scan=vector"
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - The forks run with --add-modules jdk.incubator.vector. If the vector scan still cannot be loaded, the
+ * vector configurations fail in setup instead of silently measuring the scalar scan.
+ * - Scores are nanoseconds per scanned child group. The crossover is the smallest d whose vector score is
+ * below its scalar score; pass it as -Ddaryheap.vectorMinDegree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class MaxChildScanBenchmark {
+
+    /**
+     * Number of child groups scanned per invocation.
+     */
+    private static final int SCANS = 1 << 16;
+
+    @Param({"2", "4", "8", "12", "16", "24", "32", "64"})
+    public int d;
+
+    @Param({"1000000"})
+    public int n;
+
+    @Param({"scalar", "vector"})
+    public String scan;
+
+    private MaxChildScan maxChildScan;
+    private int[] keys;
+    private int[] starts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        if ("vector".equals(scan) && MaxChildScan.VECTOR == null) {
+            throw new IllegalStateException("Vector API scan not available; "
+                                                    + "run with --add-modules jdk.incubator.vector");
+        }
+        maxChildScan = "vector".equals(scan) ? MaxChildScan.VECTOR : MaxChildScan.SCALAR;
+        keys = BenchmarkKeys.keys("random", n, 42);
+        starts = childGroupStarts(n, d, SCANS, 42 + d);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCANS)
+    public void maxIndex(Blackhole blackhole) {
+
+        MaxChildScan maxChildScan = this.maxChildScan;
+        int[] keys = this.keys;
+        int d = this.d;
+        for (int start : starts) {
+            blackhole.consume(maxChildScan.maxIndex(keys, start, start + d));
+        }
+    }
+
+    /**
+     * Generates random child group starts, d * i + 1, whose groups of d keys fit in an array of size n.
+     *
+     * @param n The size of the scanned array.
+     * @param d The degree.
+     * @param count The number of starts.
+     * @param seed The random seed.
+     *
+     * @return The child group starts.
+     *
+     * @throws IllegalArgumentException if the array cannot hold a single child group.
+     */
+    private static int[] childGroupStarts(int n, int d, int count, long seed) {
+
+        int parents = (n - 1) / d;
+        if (parents < 1) {
+            throw new IllegalArgumentException("Array of size " + n + " is too small for d = " + d);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] starts = new int[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = d * random.nextInt(parents) + 1;
+        }
+        return starts;
+    }
+
+}
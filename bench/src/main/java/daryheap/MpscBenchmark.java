@@ -0,0 +1,283 @@
+package daryheap;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * MpscBenchmark Class
+ * <p>
+ * This JMH benchmark measures the many-producers, one-consumer pattern: P producer threads insert random keys while
+ * the benchmark thread, the single consumer, extracts the maximum until it has taken every key. The score is the
+ * wall-clock time per key, from the start of the producers to the last extraction.
+ * <p>
+ * Implementations:
+ * - mpsc: MpscDaryHeap, producers append to a lock-free ring buffer that the consumer drains before each read.
+ * Producers that find the buffer full spin until the consumer catches up; those retries are reported as the
+ * fullRetries counter.
+ * - locked: DaryHeap of Integer behind a single ReentrantLock shared by producers and consumer.
+ * - pbq: java.util.concurrent.PriorityBlockingQueue with a reversed comparator, for reference.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - impl: The implementation. Default: mpsc, locked, pbq.
+ * - producers: The number of producer threads. Default: 1, 2, 4, 8, 16.
+ * - d: The degree of the heaps. Default: 4.
+ * - buffer: The capacity of the mpsc ring buffer; the other implementations ignore it. Default: 65536.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar MpscBenchmark -p producers=1,8,32 -p buffer=16384,262144
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - Each iteration is one invocation of 2M keys split among producer threads that are started and parked on a
+ * latch during setup, as in ContentionBenchmark.
+ * - fullRetries is summed over the measured iterations; divide it by 2M times the iteration count for the
+ * retries per key.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class MpscBenchmark {
+
+    /**
+     * Total keys inserted per invocation, split among the producers.
+     */
+    private static final int KEYS = 1 << 21;
+
+    @Param({"mpsc", "locked", "pbq"})
+    public String impl;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int producers;
+
+    @Param({"4"})
+    public int d;
+
+    @Param({"65536"})
+    public int buffer;
+
+    private SharedQueue queue;
+    private LongAdder fullRetries;
+    private CountDownLatch start;
+    private Thread[] workers;
+    private int iteration;
+
+    /**
+     * The full-buffer retries of each iteration, which JMH sums over the iterations; zero for the other
+     * implementations.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Retries {
+
+        public long fullRetries;
+    }
+
+    /**
+     * SharedQueue Interface
+     * <p>
+     * The operations of the producers and the consumer on a shared queue.
+     */
+    private interface SharedQueue {
+
+        void insert(int key);
+
+        /**
+         * Removes the maximum key.
+         *
+         * @return The key, or -1 if the queue is empty. Keys are non-negative.
+         */
+        int poll();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+
+        queue = null; // Let the previous queue be collected before allocating the next one
+        fullRetries = new LongAdder();
+        queue = newQueue(impl, d, buffer, fullRetries);
+        SharedQueue queue = this.queue;
+        start = new CountDownLatch(1);
+        workers = new Thread[producers];
+        iteration++;
+        for (int p = 0; p < producers; p++) {
+            int keys = KEYS / producers + (p < KEYS % producers ? 1 : 0);
+            SplittableRandom random = new SplittableRandom(((long) iteration << 32) + p);
+            CountDownLatch start = this.start;
+            workers[p] = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < keys; i++) {
+                    queue.insert(random.nextInt(BenchmarkKeys.KEY_RANGE));
+                }
+            });
+            workers[p].start();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+
+        // A failed invocation may leave producers parked on the latch, or spinning on a full buffer
+        start.countDown();
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                queue.poll();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public void produceConsume(Retries counters, Blackhole blackhole) {
+
+        SharedQueue queue = this.queue;
+        start.countDown();
+        for (int taken = 0; taken < KEYS; ) {
+            int key = queue.poll();
+            if (key >= 0) {
+                blackhole.consume(key);
+                taken++;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        for (Thread worker : workers) {
+            joinQuietly(worker);
+        }
+        counters.fullRetries = fullRetries.sum();
+    }
+
+    /**
+     * Creates an empty shared queue.
+     *
+     * @param implementation "mpsc", "locked" or "pbq".
+     * @param d The degree.
+     * @param bufferCapacity The ring buffer capacity, used by mpsc only.
+     * @param fullRetries Counts the offers rejected because the buffer was full.
+     *
+     * @return The shared queue.
+     *
+     * @throws IllegalArgumentException if the implementation is unknown.
+     */
+    private static SharedQueue newQueue(String implementation, int d, int bufferCapacity, LongAdder fullRetries) {
+
+        switch (implementation) {
+            case "mpsc": {
+                MpscDaryHeap<Integer> heap = new MpscDaryHeap<>(d, bufferCapacity);
+                return new SharedQueue() {
+                    @Override
+                    public void insert(int key) {
+                        while (!heap.offer(key)) {
+                            fullRetries.increment();
+                            Thread.onSpinWait();
+                        }
+                    }
+
+                    @Override
+                    public int poll() {
+                        return heap.tryExtractMax().orElse(-1);
+                    }
+                };
+            }
+            case "locked": {
+                DaryHeap<Integer> heap = new DaryHeap<>(d);
+                ReentrantLock lock = new ReentrantLock();
+                return new SharedQueue() {
+                    @Override
+                    public void insert(int key) {
+                        lock.lock();
+                        try {
+                            heap.insert(key);
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+
+                    @Override
+                    public int poll() {
+                        lock.lock();
+                        try {
+                            return heap.isEmpty() ? -1 : heap.extractMax();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                };
+            }
+            case "pbq": {
+                PriorityBlockingQueue<Integer> queue = new PriorityBlockingQueue<>(11, (a, b) -> Integer.compare(b, a));
+                return new SharedQueue() {
+                    @Override
+                    public void insert(int key) {
+                        queue.add(key);
+                    }
+
+                    @Override
+                    public int poll() {
+                        Integer key = queue.poll();
+                        return key == null ? -1 : key;
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    /**
+     * Waits for a latch, restoring the interrupt flag if interrupted.
+     *
+     * @param latch The latch to wait for.
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for a thread to finish, restoring the interrupt flag if interrupted.
+     *
+     * @param thread The thread to wait for.
+     */
+    private static void joinQuietly(Thread thread) {
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package daryheap;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * MpscDaryHeapStress Class
+ * <p>
+ * This program is a multi-producer correctness check for MpscDaryHeap. P producer threads offer their own distinct
+ * keys in a random order, retrying while the ring buffer is full, and the main thread consumes until it has
+ * received every key. The program verifies that:
+ * - Every offered key was extracted exactly once, so no key was lost or duplicated in the buffer or the drain.
+ * - Every extraction returns at least the maximum that peekMax reported just before it, since a drain between the
+ * two calls can only add elements.
+ * - Once every producer has finished, the remaining keys come out in non-increasing order.
+ * <p>
+ * Arguments (all optional, positional):
+ * - producers: The number of producer threads. Default: 4.
+ * - d: The degree of the heap. Default: 4.
+ * - buffer: The capacity of the ring buffer, rounded up to a power of two. Default: 1024.
+ * - keys: The number of keys each producer offers. Default: 1000000.
+ * - seed: The random seed. Default: 42.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -cp bench/target/benchmarks.jar daryheap.MpscDaryHeapStress 8 4 64 500000
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - The producers run on StressHarness threads; the main thread stops consuming as soon as one of them fails.
+ * - A small buffer makes producers find it full more often, which exercises the wrap-around of the ring.
+ * - Producers waiting on a full buffer and the consumer waiting on an empty one yield rather than spin, so the
+ * check also finishes quickly with more threads than cores.
+ */
+public class MpscDaryHeapStress {
+
+    public static void main(String[] args) throws InterruptedException {
+
+        int producers = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        int d = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        int bufferCapacity = (args.length > 2) ? Integer.parseInt(args[2]) : 1024;
+        int keysPerProducer = (args.length > 3) ? Integer.parseInt(args[3]) : 1_000_000;
+        long seed = (args.length > 4) ? Long.parseLong(args[4]) : 42;
+        int total = Math.multiplyExact(producers, keysPerProducer);
+
+        MpscDaryHeap<Integer> heap = new MpscDaryHeap<>(d, bufferCapacity);
+        long[] fullCounts = new long[producers];
+        AtomicInteger finished = new AtomicInteger();
+        int[][] keys = new int[producers][];
+        for (int p = 0; p < producers; p++) {
+            keys[p] = BenchmarkKeys.strided(keysPerProducer, p, producers, seed + p);
+        }
+
+        StressHarness.Workers workers = StressHarness.start(producers, producer -> {
+            try {
+                long full = 0;
+                for (int key : keys[producer]) {
+                    while (!heap.offer(key)) {
+                        full++;
+                        Thread.yield();
+                    }
+                }
+                fullCounts[producer] = full;
+            } finally {
+                finished.incrementAndGet();
+            }
+        });
+
+        BitSet seen = new BitSet(total);
+        int received = 0;
+        int ordered = 0;
+        int previous = Integer.MAX_VALUE;
+        while (received < total && !workers.failed()) {
+            // Read before extracting: once every producer has finished, every key is already in the buffer
+            boolean quiescent = finished.get() == producers;
+            if (heap.isEmpty()) {
+                if (quiescent) {
+                    break;
+                }
+                Thread.yield();
+                continue;
+            }
+            int peeked = heap.peekMax();
+            int key = heap.extractMax();
+            if (key < peeked) {
+                throw StressHarness.failure("Extracted " + key + " after peekMax returned " + peeked + ".");
+            }
+            if (quiescent) {
+                if (key > previous) {
+                    throw StressHarness.failure("Extracted " + key + " after " + previous + ".");
+                }
+                previous = key;
+                ordered++;
+            }
+            StressHarness.markOnce(seen, key);
+            received++;
+        }
+        workers.join();
+        if (received != total || !heap.isEmpty()) {
+            throw StressHarness.failure("Received " + received + " of " + total + " keys.");
+        }
+
+        long full = 0;
+        for (long count : fullCounts) {
+            full += count;
+        }
+        System.out.printf("MpscDaryHeapStress: producers=%d d=%d buffer=%d keys=%d extracted after the producers finished=%d"
+                        + " full-buffer retries=%d: OK%n",
+                producers, d, heap.bufferCapacity(), total, ordered, full);
+    }
+
+}
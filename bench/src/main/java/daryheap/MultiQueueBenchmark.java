@@ -0,0 +1,492 @@
+package daryheap;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * MultiQueueBenchmark Class
+ * <p>
+ * This JMH benchmark measures the throughput and the rank error of MultiQueue for several shard factors c, next to
+ * a single DaryHeap behind a global lock, so c can be tuned for a given thread count.
+ * <p>
+ * Benchmarks:
+ * - mixed: Measures throughput like ContentionBenchmark.
+ * - rankError: Repeats the workload with every operation timestamped, then replays the merged log against an
+ * exact order-statistics structure: the rank error of an extraction is the number of elements present at that
+ * moment that are strictly larger than the one returned (0 for a strict priority queue). Its score includes the
+ * logging and the replay, and should not be compared with mixed.
+ * <p>
+ * Implementations:
+ * - multiqueue: MultiQueue of Integer with c * threads shards.
+ * - locked: DaryHeap of Integer behind a single ReentrantLock; its rank error is the measurement noise floor.
+ * It ignores c.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - impl: The implementation. Default: multiqueue, locked.
+ * - c: The shard factor of the multiqueue. Default: 1, 2, 4, 8.
+ * - threads: The number of worker threads. Default: 1, 4, 16, 64.
+ * - d: The degree of the heaps. Default: 8.
+ * - n: The number of keys in the queue before each iteration. Default: 1000000.
+ * - insert: The percentage of operations that are inserts; the rest are extractions. Default: 50.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar MultiQueueBenchmark -p threads=32 -p c=1,2,4,8,16
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - Each iteration is one invocation of 2M operations split among worker threads that are started and parked on
+ * a latch during setup, as in ContentionBenchmark.
+ * - rankError reports the extractions and the sum of their rank errors as secondary counters, summed over the
+ * measured iterations, so the mean rank error is totalRankError / extractions. The p50, p99 and max of each
+ * iteration are printed to the benchmark output.
+ * - Inserts are stamped before they start and extractions after they finish, so an element is always logged
+ * before it can be extracted. Inserts that overlap an extraction therefore count against it even if they had not
+ * landed yet, which is why the locked baseline shows a small non-zero rank error with several threads.
+ * - With more threads than cores, a thread preempted between an extraction and its timestamp is replayed late,
+ * which inflates the tail of the rank error. Compare against the locked baseline at the same thread count.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class MultiQueueBenchmark {
+
+    /**
+     * Total operations per invocation, split among the worker threads.
+     */
+    private static final int OPERATIONS = 1 << 21;
+
+    @Param({"multiqueue", "locked"})
+    public String impl;
+
+    @Param({"1", "2", "4", "8"})
+    public int c;
+
+    @Param({"1", "4", "16", "64"})
+    public int threads;
+
+    @Param({"8"})
+    public int d;
+
+    @Param({"1000000"})
+    public int n;
+
+    @Param({"50"})
+    public int insert;
+
+    private int[] keys;
+    private SharedQueue queue;
+    private CountDownLatch start;
+    private Thread[] workers;
+    private Log log;
+    private int iteration;
+
+    /**
+     * The rank errors of each iteration of rankError, which JMH sums over the iterations.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RankErrors {
+
+        public long extractions;
+        public long totalRankError;
+    }
+
+    /**
+     * SharedQueue Interface
+     * <p>
+     * The operations the worker threads perform on a shared queue.
+     */
+    private interface SharedQueue {
+
+        void insert(int key);
+
+        /**
+         * Removes an element.
+         *
+         * @return The element, or -1 if the queue appeared empty. Keys are non-negative.
+         */
+        int poll();
+    }
+
+    /**
+     * Log Class
+     * <p>
+     * The per-thread operation logs of one rankError invocation: a timestamp, a key and the kind of every insert
+     * and successful extraction, in the order each thread performed them.
+     */
+    private static final class Log {
+
+        final long[][] times;
+        final int[][] values;
+        final boolean[][] inserts;
+        final int[] counts;
+
+        Log(int threads, int perThread) {
+
+            this.times = new long[threads][perThread];
+            this.values = new int[threads][perThread];
+            this.inserts = new boolean[threads][perThread];
+            this.counts = new int[threads];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+
+        keys = BenchmarkKeys.keys("random", n, 42);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration(Blackhole blackhole, BenchmarkParams params) {
+
+        queue = null; // Let the previous queue be collected before allocating the next one
+        log = null;
+        queue = newQueue(impl, c, threads, d, keys);
+        boolean logged = params.getBenchmark().endsWith(".rankError");
+        if (logged) {
+            log = new Log(threads, OPERATIONS / threads + 1);
+        }
+        SharedQueue queue = this.queue;
+        Log log = this.log;
+        start = new CountDownLatch(1);
+        workers = new Thread[threads];
+        iteration++;
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            int operations = OPERATIONS / threads + (t < OPERATIONS % threads ? 1 : 0);
+            SplittableRandom random = new SplittableRandom(((long) iteration << 32) + t);
+            CountDownLatch start = this.start;
+            workers[t] = new Thread(logged ? () -> {
+                awaitQuietly(start);
+                long[] times = log.times[thread];
+                int[] values = log.values[thread];
+                boolean[] inserts = log.inserts[thread];
+                int count = 0;
+                for (int i = 0; i < operations; i++) {
+                    if (random.nextInt(100) < insert) {
+                        int key = random.nextInt(BenchmarkKeys.KEY_RANGE);
+                        times[count] = System.nanoTime();
+                        queue.insert(key);
+                        values[count] = key;
+                        inserts[count++] = true;
+                    } else {
+                        int key = queue.poll();
+                        if (key >= 0) {
+                            times[count] = System.nanoTime();
+                            values[count++] = key;
+                        }
+                    }
+                }
+                log.counts[thread] = count;
+            } : () -> {
+                awaitQuietly(start);
+                long sum = 0;
+                for (int i = 0; i < operations; i++) {
+                    if (random.nextInt(100) < insert) {
+                        queue.insert(random.nextInt(BenchmarkKeys.KEY_RANGE));
+                    } else {
+                        sum += queue.poll();
+                    }
+                }
+                blackhole.consume(sum);
+            });
+            workers[t].start();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+
+        // A failed invocation may leave workers parked on the latch
+        start.countDown();
+        for (Thread worker : workers) {
+            joinQuietly(worker);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void mixed() {
+
+        start.countDown();
+        for (Thread worker : workers) {
+            joinQuietly(worker);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void rankError(RankErrors counters) {
+
+        start.countDown();
+        for (Thread worker : workers) {
+            joinQuietly(worker);
+        }
+        long[] errors = rankErrors(keys, log);
+        long total = 0;
+        for (long error : errors) {
+            total += error;
+        }
+        counters.extractions = errors.length;
+        counters.totalRankError = total;
+        System.out.printf("rank error: p50 %d, p99 %d, max %d%n",
+                          percentile(errors, 50), percentile(errors, 99), percentile(errors, 100));
+    }
+
+    /**
+     * Creates a shared queue pre-filled with the given keys.
+     *
+     * @param implementation "multiqueue" or "locked".
+     * @param c The shard factor, used by the multiqueue only.
+     * @param threads The number of threads.
+     * @param d The degree.
+     * @param keys The initial keys.
+     *
+     * @return The shared queue.
+     *
+     * @throws IllegalArgumentException if the implementation is unknown.
+     */
+    private static SharedQueue newQueue(String implementation, int c, int threads, int d, int[] keys) {
+
+        switch (implementation) {
+            case "multiqueue": {
+                MultiQueue<Integer> queue = new MultiQueue<>(c, threads, d, null);
+                for (int key : keys) {
+                    queue.insert(key);
+                }
+                return new SharedQueue() {
+                    @Override
+                    public void insert(int key) {
+                        queue.insert(key);
+                    }
+
+                    @Override
+                    public int poll() {
+                        return queue.tryExtractMax().orElse(-1);
+                    }
+                };
+            }
+            case "locked": {
+                DaryHeap<Integer> heap = new DaryHeap<>(BenchmarkKeys.boxed(keys), d);
+                ReentrantLock lock = new ReentrantLock();
+                return new SharedQueue() {
+                    @Override
+                    public void insert(int key) {
+                        lock.lock();
+                        try {
+                            heap.insert(key);
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+
+                    @Override
+                    public int poll() {
+                        lock.lock();
+                        try {
+                            return heap.isEmpty() ? -1 : heap.extractMax();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    /**
+     * Replays the merged per-thread logs against an exact order-statistics structure to compute the rank error of
+     * every extraction.
+     *
+     * @param initial The keys in the queue before the logged run.
+     * @param log The log of the logged run.
+     *
+     * @return The rank error of every successful extraction.
+     */
+    private static long[] rankErrors(int[] initial, Log log) {
+
+        int threads = log.counts.length;
+        long[][] times = log.times;
+        int[][] values = log.values;
+        boolean[][] inserts = log.inserts;
+        int[] counts = log.counts;
+
+        // Rank every key that can ever be present, for a Fenwick tree of counts indexed by key rank
+        int total = initial.length;
+        for (int count : counts) {
+            total += count;
+        }
+        int[] universe = Arrays.copyOf(initial, total);
+        int filled = initial.length;
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(values[t], 0, universe, filled, counts[t]);
+            filled += counts[t];
+        }
+        Arrays.sort(universe);
+        long[] tree = new long[total + 1];
+        long present = 0;
+        for (int key : initial) {
+            add(tree, Arrays.binarySearch(universe, key), 1);
+            present++;
+        }
+
+        // Merge the per-thread logs by timestamp; each log is already in time order
+        int[] cursors = new int[threads];
+        PriorityQueue<Integer> next = new PriorityQueue<>(
+                (a, b) -> Long.compare(times[a][cursors[a]], times[b][cursors[b]]));
+        for (int t = 0; t < threads; t++) {
+            if (counts[t] > 0) {
+                next.add(t);
+            }
+        }
+
+        long[] errors = new long[total];
+        int extractions = 0;
+        while (!next.isEmpty()) {
+            int t = next.poll();
+            int i = cursors[t];
+            int rank = Arrays.binarySearch(universe, values[t][i]);
+            if (inserts[t][i]) {
+                add(tree, rank, 1);
+                present++;
+            } else {
+                // Number of present keys strictly greater than the extracted one
+                int last = lastIndexOf(universe, rank);
+                errors[extractions++] = present - prefixSum(tree, last);
+                add(tree, rank, -1);
+                present--;
+            }
+            if (++cursors[t] < counts[t]) {
+                next.add(t);
+            }
+        }
+        return Arrays.copyOf(errors, extractions);
+    }
+
+    /**
+     * Returns the last index holding the same key as universe[index], so that equal keys are not counted as larger.
+     *
+     * @param universe The sorted keys.
+     * @param index An index of the key.
+     *
+     * @return The last index of that key.
+     */
+    private static int lastIndexOf(int[] universe, int index) {
+
+        int last = index;
+        while (last + 1 < universe.length && universe[last + 1] == universe[index]) {
+            last++;
+        }
+        return last;
+    }
+
+    /**
+     * Adds a value at a 0-based position of a Fenwick tree.
+     *
+     * @param tree The Fenwick tree, 1-based.
+     * @param index The 0-based position.
+     * @param delta The value to add.
+     */
+    private static void add(long[] tree, int index, long delta) {
+
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum of positions 0 .. index of a Fenwick tree.
+     *
+     * @param tree The Fenwick tree, 1-based.
+     * @param index The last 0-based position included.
+     *
+     * @return The prefix sum.
+     */
+    private static long prefixSum(long[] tree, int index) {
+
+        long sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns a percentile of the given samples, which are sorted in place.
+     *
+     * @param samples The samples.
+     * @param p The percentile, between 0 and 100.
+     *
+     * @return The sample at that percentile, or 0 if there are no samples.
+     */
+    private static long percentile(long[] samples, double p) {
+
+        if (samples.length == 0) {
+            return 0;
+        }
+        Arrays.sort(samples);
+        int rank = (int) Math.ceil(p / 100.0 * samples.length);
+        return samples[Math.min(samples.length - 1, Math.max(0, rank - 1))];
+    }
+
+    /**
+     * Waits for a latch, restoring the interrupt flag if interrupted.
+     *
+     * @param latch The latch to wait for.
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for a thread to finish, restoring the interrupt flag if interrupted.
+     *
+     * @param thread The thread to wait for.
+     */
+    private static void joinQuietly(Thread thread) {
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
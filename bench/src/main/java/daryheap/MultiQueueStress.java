@@ -0,0 +1,102 @@
+package daryheap;
+
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+
+/**
+ * MultiQueueStress Class
+ * <p>
+ * This program is a multi-threaded correctness check for MultiQueue. Every thread inserts its own distinct keys in
+ * a random order and follows about half of the inserts with a tryExtractMax, recording every key it extracts.
+ * Once all threads have finished, the program drains the queue single-threaded and verifies that:
+ * - size() matches the keys that were inserted and not yet extracted, once the threads are idle.
+ * - Every inserted key was extracted exactly once, either concurrently or by the drain, so no key was lost or
+ * duplicated.
+ * - tryExtractMax reported an empty queue only when it was empty: isEmpty() holds and size() is 0 afterwards.
+ * <p>
+ * Arguments (all optional, positional):
+ * - threads: The number of worker threads, also used to size the queue. Default: 8.
+ * - c: The number of shards per thread. Default: 2.
+ * - d: The degree of each shard. Default: 4.
+ * - keys: The number of keys each thread inserts. Default: 1000000.
+ * - seed: The random seed. Default: 42.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -cp bench/target/benchmarks.jar daryheap.MultiQueueStress 16 4 8 500000
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - The workload and its bookkeeping match ConcurrentIntDaryHeapStress, on the StressHarness threads.
+ * - The drain order is not checked, since MultiQueue is relaxed even when a single thread uses it. Its rank error
+ * is measured by MultiQueueBenchmark.rankError.
+ */
+public class MultiQueueStress {
+
+    public static void main(String[] args) throws InterruptedException {
+
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        int c = (args.length > 1) ? Integer.parseInt(args[1]) : 2;
+        int d = (args.length > 2) ? Integer.parseInt(args[2]) : 4;
+        int keysPerThread = (args.length > 3) ? Integer.parseInt(args[3]) : 1_000_000;
+        long seed = (args.length > 4) ? Long.parseLong(args[4]) : 42;
+        int total = Math.multiplyExact(threads, keysPerThread);
+
+        MultiQueue<Integer> queue = new MultiQueue<>(c, threads, d, null);
+        int[][] extracted = new int[threads][keysPerThread];
+        int[] extractedCounts = new int[threads];
+        int[][] keys = new int[threads][];
+        for (int t = 0; t < threads; t++) {
+            keys[t] = BenchmarkKeys.strided(keysPerThread, t, threads, seed + t);
+        }
+
+        StressHarness.run(threads, thread -> {
+            SplittableRandom random = new SplittableRandom(seed - 1 - thread);
+            int count = 0;
+            for (int key : keys[thread]) {
+                queue.insert(key);
+                if (random.nextBoolean()) {
+                    Optional<Integer> max = queue.tryExtractMax();
+                    if (max.isPresent()) {
+                        extracted[thread][count++] = max.get();
+                    }
+                }
+            }
+            extractedCounts[thread] = count;
+        });
+
+        BitSet seen = new BitSet(total);
+        int concurrent = 0;
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < extractedCounts[t]; i++) {
+                StressHarness.markOnce(seen, extracted[t][i]);
+            }
+            concurrent += extractedCounts[t];
+        }
+        if (queue.size() != total - concurrent) {
+            throw StressHarness.failure("size() is " + queue.size() + " but "
+                    + (total - concurrent) + " keys remain.");
+        }
+
+        int drained = 0;
+        for (Optional<Integer> max = queue.tryExtractMax(); max.isPresent(); max = queue.tryExtractMax()) {
+            StressHarness.markOnce(seen, max.get());
+            drained++;
+        }
+        if (seen.cardinality() != total) {
+            throw StressHarness.failure("Lost " + (total - seen.cardinality()) + " of " + total + " keys.");
+        }
+        if (!queue.isEmpty() || queue.size() != 0) {
+            throw StressHarness.failure("The queue is not empty after the drain.");
+        }
+
+        System.out.printf("MultiQueueStress: threads=%d shards=%d d=%d keys=%d extracted concurrently=%d drained=%d: OK%n",
+                threads, queue.shardCount(), d, total, concurrent, drained);
+    }
+
+}
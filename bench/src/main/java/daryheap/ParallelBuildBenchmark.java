@@ -0,0 +1,100 @@
+package daryheap;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * ParallelBuildBenchmark Class
+ * <p>
+ * This JMH benchmark compares the sequential bottom-up build of IntDaryHeap with the fork/join build, across pool
+ * sizes, task thresholds, degrees and heap sizes. Each invocation copies the keys into a new heap and builds it,
+ * so the score (ms per build) includes the same array copy for both.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - threads: The pool size of the parallel build; 0 runs the sequential build. Default: 0, 1, 2, 4, 8, 16, 32.
+ * - threshold: The task threshold of the parallel build, in elements. Default: 65536.
+ * - d: The degree of the heap. Default: 2, 4, 8.
+ * - n: The heap size. Default: 10000000, 100000000.
+ * - distribution: The key distribution, as in IntDaryHeapBenchmark. Default: random.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar ParallelBuildBenchmark -p threads=0,8,32 -p threshold=16384,65536,1048576 -p n=100000000
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - A pool size of 1 falls back to the sequential build, so it measures only the dispatch overhead.
+ * - The sequential build ignores threshold; with several thresholds it is measured once per value.
+ * - Pool sizes above the number of cores do not add parallelism; the core count is printed for reference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ParallelBuildBenchmark {
+
+    @Param({"0", "1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    @Param({"65536"})
+    public int threshold;
+
+    @Param({"2", "4", "8"})
+    public int d;
+
+    @Param({"10000000", "100000000"})
+    public int n;
+
+    @Param({"random"})
+    public String distribution;
+
+    int[] keys;
+    ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        keys = BenchmarkKeys.keys(distribution, n, 42);
+        pool = (threads > 0) ? new ForkJoinPool(threads) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void buildMaxHeap(Blackhole blackhole) {
+
+        IntDaryHeap built = (pool != null)
+                ? new IntDaryHeap(keys, d, pool, threshold)
+                : new IntDaryHeap(keys, d);
+        blackhole.consume(built);
+    }
+
+}
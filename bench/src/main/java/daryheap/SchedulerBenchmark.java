@@ -0,0 +1,226 @@
+package daryheap;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * SchedulerBenchmark Class
+ * <p>
+ * This JMH benchmark measures timer churn, the typical pattern of request timeouts: n timers are pending, and each
+ * operation cancels a random pending timer and schedules a replacement. Deadlines are minutes away, so no timer
+ * fires during a run and the score is the cost of the delay queue alone.
+ * <p>
+ * Implementations:
+ * - dary: DaryScheduledExecutor at degree d. Cancel removes the task from the heap by its handle.
+ * - jdk: java.util.concurrent.ScheduledThreadPoolExecutor with setRemoveOnCancelPolicy(true), which also removes
+ * cancelled tasks from its binary heap through a stored index. It ignores d.
+ * - jdk-lazy: ScheduledThreadPoolExecutor with its default policy, which leaves cancelled tasks in the heap until
+ * their deadline; the heap grows by one task per operation. It ignores d.
+ * <p>
+ * Benchmarks:
+ * - churn: cancel + schedule, as described above.
+ * - reschedule: move a random pending timer to a new deadline. DaryScheduledExecutor does this in place with
+ * reschedule; the JDK executors fall back to cancel + schedule.
+ * <p>
+ * Parameters (override with -p name=v1,v2):
+ * - impl: The implementation. Default: dary, jdk, jdk-lazy.
+ * - d: The degree of the dary heap. Default: 2, 4, 8.
+ * - n: The number of pending timers. Default: 100000, 1000000.
+ * - threads: The worker threads of each executor. Default: 1.
+ * <p>
+ * Example Usage:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar SchedulerBenchmark.churn -p n=500000 -p d=4,8
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - Each iteration creates a new executor and fills it with n timers during setup, so only the churn itself is
+ * timed, one operation per call.
+ * - The number of cancelled tasks still queued at the end of each iteration is printed to the benchmark output.
+ * It is zero for dary and jdk, and one per operation for jdk-lazy, whose queue therefore grows through every
+ * iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SchedulerBenchmark {
+
+    /**
+     * Shortest and longest timer delays, in seconds.
+     */
+    private static final int MIN_DELAY = 600;
+    private static final int MAX_DELAY = 1200;
+
+    /**
+     * The timer task. It never runs during a measurement.
+     */
+    private static final Runnable NOOP = () -> { };
+
+    /**
+     * An executor filled with n pending timers, created before every iteration.
+     */
+    @State(Scope.Thread)
+    public static class Timers {
+
+        @Param({"dary", "jdk", "jdk-lazy"})
+        public String impl;
+
+        @Param({"2", "4", "8"})
+        public int d;
+
+        @Param({"100000", "1000000"})
+        public int n;
+
+        @Param({"1"})
+        public int threads;
+
+        ScheduledExecutorService executor;
+        ScheduledFuture<?>[] timers;
+        SplittableRandom random;
+        private int iteration;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            executor = null; // Let the previous queue be collected before filling the next one
+            timers = null;
+            executor = newExecutor(impl, threads, d);
+            random = new SplittableRandom(42 + iteration++);
+            timers = new ScheduledFuture<?>[n];
+            for (int i = 0; i < n; i++) {
+                timers[i] = schedule(executor, random);
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDownIteration() {
+
+            System.out.printf("leftover: %d cancelled tasks in the queue%n", pending(executor) - n);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDownTrial() {
+
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void churn(Timers state) {
+
+        SplittableRandom random = state.random;
+        ScheduledFuture<?>[] timers = state.timers;
+        int victim = random.nextInt(timers.length);
+        timers[victim].cancel(false);
+        timers[victim] = schedule(state.executor, random);
+    }
+
+    @Benchmark
+    public void reschedule(Timers state) {
+
+        SplittableRandom random = state.random;
+        ScheduledFuture<?>[] timers = state.timers;
+        int victim = random.nextInt(timers.length);
+        if (state.executor instanceof DaryScheduledExecutor) {
+            ((DaryScheduledExecutor) state.executor).reschedule(timers[victim], delay(random), TimeUnit.SECONDS);
+        } else {
+            timers[victim].cancel(false);
+            timers[victim] = schedule(state.executor, random);
+        }
+    }
+
+    /**
+     * Creates an executor.
+     *
+     * @param implementation "dary", "jdk" or "jdk-lazy".
+     * @param threads The number of worker threads.
+     * @param d The degree, used by dary only.
+     *
+     * @return The executor.
+     *
+     * @throws IllegalArgumentException if the implementation is unknown.
+     */
+    private static ScheduledExecutorService newExecutor(String implementation, int threads, int d) {
+
+        switch (implementation) {
+            case "dary":
+                return new DaryScheduledExecutor(threads, d);
+            case "jdk":
+            case "jdk-lazy": {
+                ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads);
+                executor.setRemoveOnCancelPolicy("jdk".equals(implementation));
+                executor.prestartAllCoreThreads();
+                return executor;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    /**
+     * Schedules a timer with a random far-away deadline.
+     *
+     * @param executor The executor.
+     * @param random The random source.
+     *
+     * @return The timer's future.
+     */
+    private static ScheduledFuture<?> schedule(ScheduledExecutorService executor, SplittableRandom random) {
+
+        return executor.schedule(NOOP, delay(random), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Draws a random delay between MIN_DELAY and MAX_DELAY seconds.
+     *
+     * @param random The random source.
+     *
+     * @return The delay in seconds.
+     */
+    private static long delay(SplittableRandom random) {
+
+        return MIN_DELAY + random.nextInt(MAX_DELAY - MIN_DELAY);
+    }
+
+    /**
+     * Returns the number of tasks in an executor's delay queue.
+     *
+     * @param executor The executor.
+     *
+     * @return The number of pending tasks, cancelled ones included for jdk-lazy.
+     */
+    private static int pending(ScheduledExecutorService executor) {
+
+        if (executor instanceof DaryScheduledExecutor) {
+            return ((DaryScheduledExecutor) executor).getQueueSize();
+        }
+        return ((ScheduledThreadPoolExecutor) executor).getQueue().size();
+    }
+
+}
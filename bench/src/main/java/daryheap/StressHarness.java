@@ -0,0 +1,173 @@
+package daryheap;
+
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * StressHarness Class
+ * <p>
+ * This class holds the scaffolding shared by the stress programs (ConcurrentIntDaryHeapStress, MultiQueueStress,
+ * FlatCombiningDaryHeapStress, MpscDaryHeapStress, DaryBlockingQueueStress and DaryScheduledExecutorStress):
+ * starting worker threads together, capturing the first failure of any of them, recording extracted keys, and
+ * building the "[Stress Failure]" exceptions.
+ * <p>
+ * A stress program prints a one-line summary ending in "OK" and returns normally when every check passes;
+ * otherwise it throws the IllegalStateException built by failure, which ends the program with a stack trace.
+ * <p>
+ * Public Methods:
+ * - static Workers start(int count, Worker worker): Starts worker threads that all begin at the same moment.
+ * - static void run(int count, Worker worker): Starts worker threads and waits for them.
+ * - static void markOnce(BitSet seen, int key): Records an extracted key, failing if it was already extracted.
+ * - static IllegalStateException failure(String message): Builds the exception a failed check throws.
+ * <p>
+ * Notes:
+ * - When a worker throws, the harness interrupts the other workers, so that workers blocked in take, a timed
+ * poll or a latch stop instead of waiting for keys that will never come. Their InterruptedExceptions are not
+ * reported; only the first failure is.
+ */
+final class StressHarness {
+
+    private StressHarness() {
+    }
+
+    /**
+     * The body of one worker thread.
+     */
+    @FunctionalInterface
+    interface Worker {
+
+        /**
+         * Runs the worker.
+         *
+         * @param index The index of the worker, between 0 and the number of workers - 1.
+         *
+         * @throws Exception if a check fails or the worker is interrupted.
+         */
+        void run(int index) throws Exception;
+    }
+
+    /**
+     * A group of running worker threads.
+     */
+    static final class Workers {
+
+        private final Thread[] threads;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Workers(int count) {
+
+            this.threads = new Thread[count];
+        }
+
+        /**
+         * Returns whether a worker has failed so far, so that a thread consuming alongside the workers can stop.
+         *
+         * @return true once any worker has thrown.
+         */
+        boolean failed() {
+
+            return failure.get() != null;
+        }
+
+        /**
+         * Waits for every worker to finish.
+         *
+         * @throws InterruptedException if interrupted while waiting.
+         * @throws IllegalStateException if a worker failed, with the first failure as its cause.
+         */
+        void join() throws InterruptedException {
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            if (failure.get() != null) {
+                throw new IllegalStateException("[Stress Failure] A worker thread failed.", failure.get());
+            }
+        }
+
+        private void fail(Throwable e) {
+
+            if (failure.compareAndSet(null, e)) {
+                for (Thread thread : threads) {
+                    if (thread != Thread.currentThread()) {
+                        thread.interrupt();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts 'count' worker threads. Every thread waits on a shared latch, which is released once all of them
+     * are started, so that the workers overlap as much as the cores allow.
+     *
+     * @param count The number of workers.
+     * @param worker The body of each worker, called with its index.
+     *
+     * @return The running workers.
+     */
+    static Workers start(int count, Worker worker) {
+
+        Workers workers = new Workers(count);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            workers.threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    worker.run(index);
+                } catch (Throwable e) {
+                    workers.fail(e);
+                }
+            });
+        }
+        for (Thread thread : workers.threads) {
+            thread.start();
+        }
+        start.countDown();
+        return workers;
+    }
+
+    /**
+     * Starts 'count' worker threads as start does, and waits for all of them.
+     *
+     * @param count The number of workers.
+     * @param worker The body of each worker, called with its index.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws IllegalStateException if a worker failed, with the first failure as its cause.
+     */
+    static void run(int count, Worker worker) throws InterruptedException {
+
+        start(count, worker).join();
+    }
+
+    /**
+     * Records an extracted key, failing if it was already extracted.
+     *
+     * @param seen The keys extracted so far.
+     * @param key The extracted key.
+     */
+    static void markOnce(BitSet seen, int key) {
+
+        if (seen.get(key)) {
+            throw failure("Key " + key + " was extracted twice.");
+        }
+        seen.set(key);
+    }
+
+    /**
+     * Builds the exception thrown when a stress check fails.
+     *
+     * @param message What went wrong.
+     *
+     * @return An IllegalStateException whose message starts with "[Stress Failure]".
+     */
+    static IllegalStateException failure(String message) {
+
+        return new IllegalStateException("[Stress Failure] " + message);
+    }
+
+}
@@ -0,0 +1,73 @@
+package daryheap;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+
+/**
+ * StressProgramsTest Class
+ * <p>
+ * Runs every stress program at a small size, for a few degrees, so that the build checks the concurrent
+ * structures on each run. A stress program throws a "[Stress Failure]" IllegalStateException when a check fails
+ * (StressHarness), which fails the test. Full-size runs are still started from the command line.
+ * <p>
+ * Notes:
+ * - The tests live in the bench module because the stress programs and StressHarness do, and the bench module
+ * depends on the library, not the other way around.
+ * - Each test has a timeout, so that a lost wake-up or a deadlock fails the build instead of hanging it.
+ */
+@Timeout(value = 2, unit = TimeUnit.MINUTES)
+class StressProgramsTest {
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(strings = {"2", "4", "16"})
+    void concurrentIntDaryHeap(String d) throws InterruptedException {
+
+        // threads d keysPerThread seed
+        ConcurrentIntDaryHeapStress.main(new String[] {"4", d, "5000", "42"});
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(strings = {"2", "4", "16"})
+    void multiQueue(String d) throws InterruptedException {
+
+        // threads c d keysPerThread seed
+        MultiQueueStress.main(new String[] {"4", "2", d, "5000", "42"});
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(strings = {"2", "4", "16"})
+    void flatCombiningDaryHeap(String d) throws InterruptedException {
+
+        // threads d keysPerThread slots seed
+        FlatCombiningDaryHeapStress.main(new String[] {"4", d, "5000", "4", "42"});
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(strings = {"2", "4", "16"})
+    void mpscDaryHeap(String d) throws InterruptedException {
+
+        // producers d bufferCapacity keysPerProducer seed
+        MpscDaryHeapStress.main(new String[] {"4", d, "64", "5000", "42"});
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(strings = {"2", "4", "16"})
+    void daryBlockingQueue(String d) throws InterruptedException {
+
+        // operations d producers consumers keysPerProducer seed
+        DaryBlockingQueueStress.main(new String[] {"5000", d, "3", "3", "2000", "42"});
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(strings = {"2", "4", "16"})
+    void daryScheduledExecutor(String d) throws InterruptedException {
+
+        // n d workers clients seed
+        DaryScheduledExecutorStress.main(new String[] {"2000", d, "3", "3", "42"});
+    }
+
+}
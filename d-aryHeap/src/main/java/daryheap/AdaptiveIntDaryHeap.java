@@ -0,0 +1,438 @@
+package daryheap;
+
+import java.util.Arrays;
+
+
+/**
+ * AdaptiveIntDaryHeap Class
+ * <p>
+ * This class wraps an IntDaryHeap and picks its degree from the observed workload. A higher degree makes the tree
+ * shallower, which favours operations that sift up (insert, key increases), while each sift-down level has to
+ * scan more children, which favours a lower degree for extractMax. The best degree therefore depends on the
+ * insert:extract ratio and the heap size, which are usually not known when the heap is created.
+ * <p>
+ * The heap counts its sift-up and sift-down operations over an epoch. At the end of each epoch it projects the
+ * cost of the observed mix for every candidate degree and, if the best candidate beats the current degree by
+ * more than the configured margin, rebuilds the heap with that degree in O(n).
+ * <p>
+ * Constructors:
+ * - AdaptiveIntDaryHeap(int initialDegree): Adapts among degrees 2, 4, 8 and 16 with default settings.
+ * - AdaptiveIntDaryHeap(int initialDegree, int[] candidates, double margin, double levelCost, int minEpoch):
+ * Full control over the candidates and the cost model.
+ * <p>
+ * Public Methods:
+ * - void insert(int key) / void addAll(int[] keys): Insert keys.
+ * - int extractMax() / int peekMax() / int replaceMax(int key): Access the maximum.
+ * - void updateKey(int index, int newKey) / int removeAt(int index) / int get(int index): Index-based access.
+ * - int size() / boolean isEmpty() / boolean isMaxHeap(): Size and validation helpers.
+ * - int getDegree() / int getRebuildCount(): Report the current degree and the number of rebuilds so far.
+ * <p>
+ * Private Methods:
+ * - void countUp(long count) / void countDown(long count): Record operations and end the epoch when it is due.
+ * - void adapt(): Compares the projected costs and rebuilds with a better degree.
+ * - double projectedCost(int degree): Projects the cost of the observed mix for a degree.
+ * <p>
+ * Notes:
+ * - Cost model: with h = log_d(n) levels, a sift-up costs h * (1 + levelCost) and a sift-down costs
+ * h * (d + levelCost), in units of one key comparison. levelCost is the extra cost of visiting a level, mostly
+ * a cache miss on heaps larger than the caches; raise it for large heaps, lower it for small ones.
+ * - An epoch lasts at least max(minEpoch, size) operations, so the O(n) rebuild is amortized to O(1) per
+ * operation. The rebuild runs on the calling thread: the heap is not thread-safe, and copying it in the
+ * background would need the same synchronization a concurrent heap does.
+ * - Indices returned by get and accepted by updateKey and removeAt refer to the current layout and are
+ * invalidated by a rebuild, just as they are by any other structural change.
+ */
+class AdaptiveIntDaryHeap {
+
+    /**
+     * Default candidate degrees.
+     */
+    private static final int[] DEFAULT_CANDIDATES = {2, 4, 8, 16};
+
+    /**
+     * Default relative improvement the best candidate must reach before the heap is rebuilt.
+     */
+    private static final double DEFAULT_MARGIN = 0.15;
+
+    /**
+     * Default extra cost of visiting one level, in comparisons.
+     */
+    private static final double DEFAULT_LEVEL_COST = 4.0;
+
+    /**
+     * Default minimum number of operations per epoch.
+     */
+    private static final int DEFAULT_MIN_EPOCH = 4096;
+
+    /**
+     * Degrees the heap may switch between.
+     */
+    private final int[] candidates;
+
+    /**
+     * Relative improvement the best candidate must reach before the heap is rebuilt, between 0 and 1.
+     */
+    private final double margin;
+
+    /**
+     * Extra cost of visiting one level, in comparisons.
+     */
+    private final double levelCost;
+
+    /**
+     * Minimum number of operations per epoch.
+     */
+    private final int minEpoch;
+
+    /**
+     * The underlying heap; replaced on every rebuild.
+     */
+    private IntDaryHeap heap;
+
+    /**
+     * Current degree of the underlying heap.
+     */
+    private int d;
+
+    /**
+     * Sift-up operations in the current epoch.
+     */
+    private long ups;
+
+    /**
+     * Sift-down operations in the current epoch.
+     */
+    private long downs;
+
+    /**
+     * Number of rebuilds so far.
+     */
+    private int rebuilds;
+
+    /**
+     * Initializes an empty adaptive heap that switches among degrees 2, 4, 8 and 16.
+     *
+     * @param initialDegree The degree to start with, at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public AdaptiveIntDaryHeap(int initialDegree) {
+
+        this(initialDegree, DEFAULT_CANDIDATES, DEFAULT_MARGIN, DEFAULT_LEVEL_COST, DEFAULT_MIN_EPOCH);
+    }
+
+    /**
+     * Initializes an empty adaptive heap with the given candidates and cost model.
+     *
+     * @param initialDegree The degree to start with, at least 2. It need not be one of the candidates.
+     * @param candidates The degrees the heap may switch to, each at least 2.
+     * @param margin The relative cost improvement required for a rebuild, in [0, 1).
+     * @param levelCost The extra cost of visiting one level, in comparisons, non-negative.
+     * @param minEpoch The minimum number of operations between two evaluations, at least 1.
+     *
+     * @throws IllegalArgumentException if any argument is out of range.
+     * <p>
+     * Time Complexity: O(number of candidates)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Only switch for a 25% improvement, and treat each level as expensive (a large heap)
+     *   AdaptiveIntDaryHeap heap = new AdaptiveIntDaryHeap(4, new int[] {2, 3, 4, 8, 16, 32}, 0.25, 16.0, 100_000);
+     * }
+     * </pre>
+     */
+    public AdaptiveIntDaryHeap(int initialDegree, int[] candidates, double margin, double levelCost, int minEpoch) {
+
+        if (candidates == null || candidates.length == 0) {
+            throw new IllegalArgumentException("At least one candidate degree is required");
+        }
+        for (int candidate : candidates) {
+            if (candidate < 2) {
+                throw new IllegalArgumentException("Candidate degrees must be at least 2");
+            }
+        }
+        if (!(margin >= 0 && margin < 1)) {
+            throw new IllegalArgumentException("Margin must be in [0, 1)");
+        }
+        if (!(levelCost >= 0)) {
+            throw new IllegalArgumentException("Level cost cannot be negative");
+        }
+        if (minEpoch < 1) {
+            throw new IllegalArgumentException("Minimum epoch length must be at least 1");
+        }
+
+        this.heap = new IntDaryHeap(initialDegree);
+        this.d = initialDegree;
+        this.candidates = Arrays.copyOf(candidates, candidates.length);
+        this.margin = margin;
+        this.levelCost = levelCost;
+        this.minEpoch = minEpoch;
+    }
+
+    /**
+     * Inserts a key into the heap.
+     *
+     * @param key The key to be inserted.
+     * <p>
+     * Time Complexity: O(log_d(n)), plus an amortized O(1) share of rebuilds.
+     */
+    public void insert(int key) {
+
+        heap.insert(key);
+        countUp(1);
+    }
+
+    /**
+     * Inserts a batch of keys into the heap.
+     *
+     * @param keys The keys to be inserted.
+     *
+     * @throws IllegalArgumentException if the array of keys is null.
+     * <p>
+     * Time Complexity: O(min(k * log_d(n + k), n + k)), plus an amortized O(1) share of rebuilds per key.
+     */
+    public void addAll(int[] keys) {
+
+        heap.addAll(keys);
+        countUp(keys.length);
+    }
+
+    /**
+     * Removes and returns the maximum element.
+     *
+     * @return The maximum element.
+     *
+     * @throws java.util.NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n)), plus an amortized O(1) share of rebuilds.
+     */
+    public int extractMax() {
+
+        int max = heap.extractMax();
+        countDown(1);
+        return max;
+    }
+
+    /**
+     * Returns the maximum element without removing it.
+     *
+     * @return The maximum element.
+     *
+     * @throws java.util.NoSuchElementException if the heap is empty.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int peekMax() {
+
+        return heap.peekMax();
+    }
+
+    /**
+     * Replaces the maximum element with a new key and returns the old maximum.
+     *
+     * @param key The key to be inserted.
+     *
+     * @return The maximum element before the replacement.
+     *
+     * @throws java.util.NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n)), plus an amortized O(1) share of rebuilds.
+     */
+    public int replaceMax(int key) {
+
+        int max = heap.replaceMax(key);
+        countDown(1);
+        return max;
+    }
+
+    /**
+     * Replaces the key at the specified index, moving it up or down.
+     *
+     * @param index The index of the element.
+     * @param newKey The new key.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(d * log_d(n)), plus an amortized O(1) share of rebuilds.
+     */
+    public void updateKey(int index, int newKey) {
+
+        boolean up = newKey > heap.get(index);
+        heap.updateKey(index, newKey);
+        if (up) {
+            countUp(1);
+        } else {
+            countDown(1);
+        }
+    }
+
+    /**
+     * Removes the element at the specified index.
+     *
+     * @param index The index of the element.
+     *
+     * @return The removed element.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(d * log_d(n)), plus an amortized O(1) share of rebuilds.
+     */
+    public int removeAt(int index) {
+
+        int removed = heap.removeAt(index);
+        countDown(1);
+        return removed;
+    }
+
+    /**
+     * Returns the element stored at the specified index.
+     *
+     * @param index The index of the element.
+     *
+     * @return The element at the index.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int get(int index) {
+
+        return heap.get(index);
+    }
+
+    /**
+     * Returns the number of elements in the heap.
+     *
+     * @return The number of elements.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int size() {
+
+        return heap.size();
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+
+        return heap.isEmpty();
+    }
+
+    /**
+     * Checks if the heap is a valid max heap.
+     *
+     * @return true if the heap properties hold, false otherwise.
+     * <p>
+     * Time Complexity: O(n)
+     */
+    public boolean isMaxHeap() {
+
+        return heap.isMaxHeap();
+    }
+
+    /**
+     * Returns the current degree of the heap.
+     *
+     * @return The current degree.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int getDegree() {
+
+        return d;
+    }
+
+    /**
+     * Returns how many times the heap has been rebuilt with another degree.
+     *
+     * @return The number of rebuilds.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int getRebuildCount() {
+
+        return rebuilds;
+    }
+
+    /**
+     * Records sift-up operations and evaluates the degree when the epoch is over.
+     *
+     * @param count The number of operations.
+     */
+    private void countUp(long count) {
+
+        ups += count;
+        if (ups + downs >= Math.max(minEpoch, heap.size())) {
+            adapt();
+        }
+    }
+
+    /**
+     * Records sift-down operations and evaluates the degree when the epoch is over.
+     *
+     * @param count The number of operations.
+     */
+    private void countDown(long count) {
+
+        downs += count;
+        if (ups + downs >= Math.max(minEpoch, heap.size())) {
+            adapt();
+        }
+    }
+
+    /**
+     * Ends the epoch: rebuilds the heap with the cheapest candidate degree if it beats the current degree by
+     * more than the margin, then resets the counters.
+     * <p>
+     * Time Complexity: O(n) when the heap is rebuilt, O(number of candidates) otherwise.
+     * <p>
+     * Space Complexity: O(n) when the heap is rebuilt.
+     */
+    private void adapt() {
+
+        double currentCost = projectedCost(d);
+        int bestDegree = d;
+        double bestCost = currentCost;
+        for (int candidate : candidates) {
+            double cost = projectedCost(candidate);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestDegree = candidate;
+            }
+        }
+
+        if (bestDegree != d && bestCost < (1 - margin) * currentCost && heap.size() > 1) {
+            ExtractMode mode = heap.getExtractMode();
+            heap = new IntDaryHeap(heap.toArray(), bestDegree);
+            heap.setExtractMode(mode);
+            d = bestDegree;
+            rebuilds++;
+        }
+
+        ups = 0;
+        downs = 0;
+    }
+
+    /**
+     * Projects the cost of the operations observed in this epoch for a given degree.
+     *
+     * @param degree The degree.
+     *
+     * @return The projected cost, in comparisons.
+     */
+    private double projectedCost(int degree) {
+
+        double levels = Math.log(Math.max(heap.size(), 2)) / Math.log(degree);
+        return levels * (ups * (1 + levelCost) + downs * (degree + levelCost));
+    }
+
+}
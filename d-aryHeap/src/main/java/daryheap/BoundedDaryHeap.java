@@ -0,0 +1,213 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * BoundedDaryHeap Class
+ * <p>
+ * This class keeps the N largest elements of a stream, for example a leaderboard over an unbounded feed.
+ * It is built on a DaryHeap ordered by the reversed comparator, so the root always holds the smallest kept
+ * element: the threshold a new element has to beat. Memory stays O(N) however many elements are offered.
+ *
+ * @param <T> The type of elements kept. Elements are ordered by the supplied Comparator, or by their natural
+ *            ordering when no Comparator is given; "largest" refers to that ordering.
+ * <p>
+ * Constructors:
+ * - BoundedDaryHeap(int capacity, int d): Keeps the 'capacity' largest elements, by natural ordering.
+ * - BoundedDaryHeap(int capacity, int d, Comparator<? super T> comparator): Same, ordered by the given comparator.
+ * <p>
+ * Public Methods:
+ * - boolean offer(T element): Keeps the element if it is among the N largest seen so far.
+ * - T threshold(): Returns the smallest kept element, which any new element must beat once the heap is full.
+ * - List<T> toSortedList(): Returns the kept elements, largest first.
+ * - int size() / int capacity() / boolean isEmpty() / boolean isFull(): Size helpers.
+ * <p>
+ * Notes:
+ * - Once the heap is full, an element that does not beat the threshold is rejected with a single comparison,
+ * and an accepted element replaces the root with a single sift-down (DaryHeap.replaceMax).
+ * - Ties with the threshold are rejected, so among equal elements the earliest ones are kept.
+ */
+class BoundedDaryHeap<T> {
+
+    /**
+     * Maximum number of elements kept.
+     */
+    private final int capacity;
+
+    /**
+     * Ordering of the kept elements, reversed so that the smallest kept element is at the root of the heap.
+     */
+    private final Comparator<? super T> reversed;
+
+    /**
+     * The underlying heap, whose "maximum" is the smallest kept element.
+     */
+    private final DaryHeap<T> heap;
+
+    /**
+     * Initializes an empty bounded heap that keeps the largest elements by natural ordering.
+     *
+     * @param capacity The maximum number of elements kept, at least 1.
+     * @param d The degree of the underlying D-ary heap, at least 2.
+     *
+     * @throws IllegalArgumentException if the capacity is less than 1 or the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public BoundedDaryHeap(int capacity, int d) {
+
+        this(capacity, d, null);
+    }
+
+    /**
+     * Initializes an empty bounded heap that keeps the largest elements by the given comparator.
+     *
+     * @param capacity The maximum number of elements kept, at least 1.
+     * @param d The degree of the underlying D-ary heap, at least 2.
+     * @param comparator The comparator defining "largest", or null to use the elements' natural ordering.
+     *
+     * @throws IllegalArgumentException if the capacity is less than 1 or the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // The 100 highest scores of a stream
+     *   BoundedDaryHeap<Score> leaders = new BoundedDaryHeap<>(100, 4, Comparator.comparingLong(Score::points));
+     * }
+     * </pre>
+     */
+    public BoundedDaryHeap(int capacity, int d, Comparator<? super T> comparator) {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+
+        this.capacity = capacity;
+        this.reversed = Collections.reverseOrder(comparator);
+        this.heap = new DaryHeap<>(d, reversed);
+    }
+
+    /**
+     * Offers an element, keeping it only if it is among the N largest elements seen so far.
+     *
+     * @param element The element to offer.
+     *
+     * @return true if the element was kept, false if it was rejected.
+     * <p>
+     * Time Complexity: O(1) for a rejected element, O(d * log_d(N)) for a kept one.
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Algorithm:
+     * - While the heap is not full, insert the element.
+     * - Otherwise, reject the element unless it is larger than the threshold at the root.
+     * - Replace the root with the element and sift it down, evicting the previous threshold.
+     */
+    public boolean offer(T element) {
+
+        if (heap.size() < capacity) {
+            heap.insert(element);
+            return true;
+        }
+
+        // Reversed ordering: the element beats the threshold if it sorts before it
+        if (reversed.compare(element, heap.get(0)) >= 0) {
+            return false;
+        }
+
+        heap.replaceMax(element);
+        return true;
+    }
+
+    /**
+     * Returns the smallest kept element, which a new element must beat once the heap is full.
+     *
+     * @return The smallest kept element.
+     *
+     * @throws NoSuchElementException if no element is kept.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public T threshold() {
+
+        if (heap.isEmpty()) {
+            throw new NoSuchElementException("[Heap Underflow] Heap is empty.");
+        }
+        return heap.get(0);
+    }
+
+    /**
+     * Returns the kept elements, largest first, without modifying the heap.
+     *
+     * @return A new list of the kept elements in descending order.
+     * <p>
+     * Time Complexity: O(N * log(N))
+     * <p>
+     * Space Complexity: O(N)
+     */
+    public List<T> toSortedList() {
+
+        List<T> elements = new ArrayList<>(heap.size());
+        for (int i = 0; i < heap.size(); i++) {
+            elements.add(heap.get(i));
+        }
+        elements.sort(reversed);
+        return elements;
+    }
+
+    /**
+     * Returns the number of kept elements.
+     *
+     * @return The number of kept elements, at most the capacity.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int size() {
+
+        return heap.size();
+    }
+
+    /**
+     * Returns the maximum number of elements kept.
+     *
+     * @return The capacity.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int capacity() {
+
+        return capacity;
+    }
+
+    /**
+     * Checks if no element is kept.
+     *
+     * @return true if the heap is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+
+        return heap.isEmpty();
+    }
+
+    /**
+     * Checks if the heap holds its full capacity, so that new elements must beat the threshold.
+     *
+     * @return true if the heap is full, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public boolean isFull() {
+
+        return heap.size() == capacity;
+    }
+
+}
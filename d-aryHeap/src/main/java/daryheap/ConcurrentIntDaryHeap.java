@@ -0,0 +1,610 @@
+package daryheap;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * ConcurrentIntDaryHeap Class
+ * <p>
+ * This class implements a thread-safe D-ary max heap of {@code int} keys with one lock per node, following the
+ * concurrent heap of Hunt, Michael, Parthasarathy and Scott ("An efficient algorithm for concurrent priority
+ * queue heaps", 1996), generalized from binary to D-ary. It uses the same 0-based array layout as IntDaryHeap,
+ * so several inserts and extractions can sift through different parts of the tree at the same time instead of
+ * serializing on a single lock around the whole heap.
+ * <p>
+ * A short global lock protects only the size. An insert takes it to claim the next free slot, then sifts up
+ * bottom to top holding at most two node locks at a time. An extraction takes it to claim the last slot, moves
+ * that key to the root, and sifts down top to bottom. Each node carries a tag: EMPTY, AVAILABLE, or the tag of
+ * the thread whose insert is still moving that key up. An insert that finds its key moved by a concurrent
+ * extraction follows it upwards; an extraction may return or displace a key whose insert is still in progress.
+ * <p>
+ * Constructors:
+ * - ConcurrentIntDaryHeap(int d, int capacity): Initializes an empty heap with the specified degree and fixed capacity.
+ * <p>
+ * Public Methods:
+ * - void insert(int key) / boolean tryInsert(int key): Insert a key, throwing or returning false when full.
+ * - int extractMax() / OptionalInt tryExtractMax(): Remove the maximum, throwing or returning empty when empty.
+ * - OptionalInt peekMax(): Returns the current maximum without removing it.
+ * - int size() / boolean isEmpty() / int capacity() / int getDegree(): Size and configuration.
+ * - boolean isMaxHeap(): Checks the heap properties; only meaningful while no operation is in progress.
+ * <p>
+ * Private Methods:
+ * - long extract(): Removes the maximum, or returns NONE when the heap is empty.
+ * - int position(int count): Maps the count-th slot to a node, spreading consecutive slots across subtrees.
+ * - void lock(int i) / void unlock(int i): Acquire and release the lock of a node.
+ * - void swap(int i, int j): Exchanges the keys and tags of two locked nodes.
+ * - int parent(int i) / long firstChild(int i): Index arithmetic, as in IntDaryHeap.
+ * - static int threadTag(): Returns the tag that marks the calling thread's in-progress insert.
+ * <p>
+ * Notes:
+ * - Slots are filled in digit-reversed order within each level (the D-ary form of the bit-reversal in Hunt et al.),
+ * so consecutive inserts start in different subtrees and their sift-up paths diverge early. Parents are always
+ * filled before their children. The last level is filled in plain order when it is only partly covered by the
+ * capacity, so the heap needs exactly 'capacity' slots.
+ * - The capacity is fixed: growing the arrays would need every node lock at once.
+ * - Node locks are test-and-test-and-set spin locks that yield after a short spin, so threads that lose
+ * the CPU while holding a lock do not stall the others for long. Locks are always taken in increasing index
+ * order (parent before child), which rules out deadlock.
+ * - Operations are not linearizable in the strict sense: while an insert is still sifting up, a concurrent
+ * extractMax may return a smaller key than the one being inserted. Once all operations complete, the heap is a
+ * valid max heap.
+ * - Key comparisons are not counted, unlike IntDaryHeap, since a shared counter would add a contended write to
+ * every step.
+ */
+class ConcurrentIntDaryHeap {
+
+    /**
+     * Tag of a node that holds no key.
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * Tag of a node whose key is settled, i.e. not being moved up by an insert.
+     */
+    private static final int AVAILABLE = -1;
+
+    /**
+     * Index of the root node.
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * Index value that ends an insert's sift-up loop.
+     */
+    private static final int DONE = -1;
+
+    /**
+     * Result of extract when the heap is empty; outside the range of int keys.
+     */
+    private static final long NONE = Long.MIN_VALUE;
+
+    /**
+     * Number of busy-wait iterations before a waiting thread starts yielding the CPU.
+     */
+    private static final int SPIN_LIMIT = 64;
+
+    /**
+     * Degree of the D-ary heap.
+     */
+    private final int d;
+
+    /**
+     * Multiplier that, with parentShift, divides by d in parent and position without a division (DaryHeap.divisionMultiplier).
+     */
+    private final long parentMultiplier;
+
+    /**
+     * Shift that goes with parentMultiplier (DaryHeap.divisionShift).
+     */
+    private final int parentShift;
+
+    /**
+     * Maximum number of keys the heap can hold.
+     */
+    private final int capacity;
+
+    /**
+     * Keys of the nodes, in the IntDaryHeap layout. A slot is read and written only while its node lock is held.
+     */
+    private final int[] keys;
+
+    /**
+     * Tags of the nodes: EMPTY, AVAILABLE, or the threadTag of an insert in progress. Guarded like keys.
+     */
+    private final int[] tags;
+
+    /**
+     * Node locks: 0 when free, 1 when held.
+     */
+    private final AtomicIntegerArray locks;
+
+    /**
+     * Protects the size while a slot is claimed or released.
+     */
+    private final ReentrantLock sizeLock = new ReentrantLock();
+
+    /**
+     * Number of claimed slots. Written under sizeLock; volatile so that size() can read it without the lock.
+     */
+    private volatile int size;
+
+    /**
+     * Initializes an empty concurrent D-ary heap with the specified degree and capacity.
+     *
+     * @param d The degree of the D-ary heap must be at least 2.
+     * @param capacity The maximum number of keys the heap can hold, at least 1.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2 or the capacity is less than 1.
+     * <p>
+     * Time Complexity: O(capacity)
+     * <p>
+     * Space Complexity: O(capacity)
+     * - Three ints per node: key, tag and lock.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // A 4-ary heap shared by several producer and consumer threads
+     *   ConcurrentIntDaryHeap heap = new ConcurrentIntDaryHeap(4, 1 << 20);
+     * }
+     * </pre>
+     */
+    public ConcurrentIntDaryHeap(int d, int capacity) {
+
+        if (d < 2) {
+            throw new IllegalArgumentException("Degree (d) must be at least 2");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+
+        this.d = d;
+        this.parentMultiplier = DaryHeap.divisionMultiplier(d);
+        this.parentShift = DaryHeap.divisionShift(d);
+        this.capacity = capacity;
+        this.keys = new int[capacity];
+        this.tags = new int[capacity];
+        this.locks = new AtomicIntegerArray(capacity);
+    }
+
+    /**
+     * Inserts a key into the heap.
+     *
+     * @param key The key to be inserted.
+     *
+     * @throws IllegalStateException if the heap is full (heap overflow).
+     * <p>
+     * Time Complexity: O(log_d(n)) lock acquisitions, without contention.
+     */
+    public void insert(int key) {
+
+        if (!tryInsert(key)) {
+            throw new IllegalStateException("[Heap Overflow] Heap is full.");
+        }
+    }
+
+    /**
+     * Inserts a key into the heap if there is room for it.
+     * <p>
+     * The key is placed in the next free slot, then moved up one level at a time while holding the locks of
+     * the node and its parent. If a concurrent extraction has moved the key in the meantime, the insert follows
+     * it upwards until it finds it or reaches the root.
+     *
+     * @param key The key to be inserted.
+     *
+     * @return true if the key was inserted, false if the heap is full.
+     * <p>
+     * Time Complexity: O(log_d(n)) lock acquisitions, without contention.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   if (!heap.tryInsert(42)) {
+     *       // Full: apply back-pressure to the producer
+     *   }
+     * }
+     * </pre>
+     */
+    public boolean tryInsert(int key) {
+
+        int tag = threadTag();
+        int i;
+
+        sizeLock.lock();
+        try {
+            if (size == capacity) {
+                return false;
+            }
+            i = position(size);
+            size++;
+            lock(i);
+        } finally {
+            sizeLock.unlock();
+        }
+        keys[i] = key;
+        tags[i] = tag;
+        unlock(i);
+
+        int spins = 0;
+        while (i > ROOT) {
+            int p = parent(i);
+            lock(p);
+            lock(i);
+            int current = i;
+            if (tags[p] == AVAILABLE && tags[i] == tag) {
+                if (keys[i] > keys[p]) {
+                    swap(i, p);
+                    i = p;
+                } else {
+                    tags[i] = AVAILABLE;
+                    i = DONE;
+                }
+            } else if (tags[p] == EMPTY) {
+                // The key was taken by an extraction that emptied the heap above it
+                i = DONE;
+            } else if (tags[i] != tag) {
+                // An extraction moved the key up; follow it
+                i = p;
+            }
+            unlock(current);
+            unlock(p);
+
+            // Otherwise the parent is still being inserted by another thread: retry once it moves on
+            if (i == current && ++spins > SPIN_LIMIT) {
+                Thread.yield();
+            }
+        }
+
+        if (i == ROOT) {
+            lock(ROOT);
+            if (tags[ROOT] == tag) {
+                tags[ROOT] = AVAILABLE;
+            }
+            unlock(ROOT);
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns the maximum key.
+     *
+     * @return The maximum key.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n)), with d lock acquisitions per level.
+     */
+    public int extractMax() {
+
+        long max = extract();
+        if (max == NONE) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot extract maximum element.");
+        }
+        return (int) max;
+    }
+
+    /**
+     * Removes and returns the maximum key, if any.
+     * <p>
+     * Unlike checking isEmpty before extractMax, this cannot fail because another thread emptied the heap
+     * in between.
+     *
+     * @return The maximum key, or an empty OptionalInt if the heap is empty.
+     * <p>
+     * Time Complexity: O(d * log_d(n)), with d lock acquisitions per level.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   OptionalInt next = heap.tryExtractMax();
+     *   next.ifPresent(task -> run(task));
+     * }
+     * </pre>
+     */
+    public OptionalInt tryExtractMax() {
+
+        long max = extract();
+        return (max == NONE) ? OptionalInt.empty() : OptionalInt.of((int) max);
+    }
+
+    /**
+     * Returns the key at the root without removing it.
+     * <p>
+     * The result is a snapshot: the root may change as soon as the call returns. It may also be a key whose
+     * insert is still in progress.
+     *
+     * @return The key at the root, or an empty OptionalInt if the heap is empty.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public OptionalInt peekMax() {
+
+        lock(ROOT);
+        try {
+            return (tags[ROOT] == EMPTY) ? OptionalInt.empty() : OptionalInt.of(keys[ROOT]);
+        } finally {
+            unlock(ROOT);
+        }
+    }
+
+    /**
+     * Returns the number of keys in the heap, including keys whose insert is still in progress.
+     *
+     * @return The number of keys.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /**
+     * Returns the maximum number of keys the heap can hold.
+     *
+     * @return The capacity.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int capacity() {
+
+        return capacity;
+    }
+
+    /**
+     * Returns the degree of the heap.
+     *
+     * @return The degree.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int getDegree() {
+
+        return d;
+    }
+
+    /**
+     * Checks if the heap is a valid max heap: every claimed slot holds a settled key no greater than its parent's,
+     * and every other slot is empty.
+     * <p>
+     * Intended for tests and debugging. The check takes no locks, so it is only meaningful while no other thread
+     * is operating on the heap.
+     *
+     * @return true if the heap properties hold, false otherwise.
+     * <p>
+     * Time Complexity: O(capacity)
+     */
+    public boolean isMaxHeap() {
+
+        int settled = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (tags[i] == EMPTY) {
+                continue;
+            }
+            if (tags[i] != AVAILABLE) {
+                return false;
+            }
+            int p = parent(i);
+            if (p >= 0 && (tags[p] == EMPTY || keys[p] < keys[i])) {
+                return false;
+            }
+            settled++;
+        }
+        return settled == size;
+    }
+
+    /**
+     * Removes the maximum key.
+     * <p>
+     * The last slot is emptied and its key moved to the root in place of the maximum, then sifted down one level
+     * at a time. Each step locks all children of the current node, keeps the lock of the largest one, and swaps
+     * if that child is greater.
+     *
+     * @return The maximum key, or NONE if the heap is empty.
+     * <p>
+     * Time Complexity: O(d * log_d(n)), with d lock acquisitions per level.
+     */
+    private long extract() {
+
+        int bottom;
+        sizeLock.lock();
+        try {
+            if (size == 0) {
+                return NONE;
+            }
+            size--;
+            bottom = position(size);
+            lock(bottom);
+        } finally {
+            sizeLock.unlock();
+        }
+
+        int key = keys[bottom];
+        tags[bottom] = EMPTY;
+        unlock(bottom);
+        if (bottom == ROOT) {
+            return key;
+        }
+
+        lock(ROOT);
+        if (tags[ROOT] == EMPTY) {
+            // A concurrent extraction took the root in the meantime; the bottom key was the last one
+            unlock(ROOT);
+            return key;
+        }
+        int max = keys[ROOT];
+        keys[ROOT] = key;
+        tags[ROOT] = AVAILABLE;
+
+        int i = ROOT;
+        while (true) {
+            long first = firstChild(i);
+            if (first >= capacity) {
+                break;
+            }
+            int from = (int) first;
+            int to = (int) Math.min(first + d, capacity);
+
+            int child = -1;
+            for (int c = from; c < to; c++) {
+                lock(c);
+                if (tags[c] != EMPTY && (child < 0 || keys[c] > keys[child])) {
+                    child = c;
+                }
+            }
+            for (int c = from; c < to; c++) {
+                if (c != child) {
+                    unlock(c);
+                }
+            }
+
+            if (child < 0) {
+                break;
+            }
+            if (keys[child] > keys[i]) {
+                swap(i, child);
+                unlock(i);
+                i = child;
+            } else {
+                unlock(child);
+                break;
+            }
+        }
+        unlock(i);
+        return max;
+    }
+
+    /**
+     * Maps the count-th slot (0-based, in fill order) to a node index.
+     * <p>
+     * Within a level, the offset of the slot is written in base d with as many digits as the level's depth, and
+     * the digits are reversed. Consecutive slots therefore land under different children of the root.
+     *
+     * @param count The slot number, between 0 and capacity - 1.
+     *
+     * @return The node index.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    private int position(int count) {
+
+        long levelStart = 0;
+        long levelWidth = 1;
+        int depth = 0;
+        while (count - levelStart >= levelWidth) {
+            levelStart += levelWidth;
+            levelWidth *= d;
+            depth++;
+        }
+        if (levelStart + levelWidth > capacity) {
+            // The capacity cuts this level short: fill it in plain order so every slot stays below the capacity
+            return count;
+        }
+
+        int offset = (int) (count - levelStart);
+        int reversed = 0;
+        for (int level = 0; level < depth; level++) {
+            int quotient = (int) ((offset * parentMultiplier) >>> parentShift);
+            reversed = reversed * d + (offset - quotient * d);
+            offset = quotient;
+        }
+        return (int) levelStart + reversed;
+    }
+
+    /**
+     * Acquires the lock of a node, spinning briefly and then yielding while it is held by another thread.
+     *
+     * @param i The node index.
+     */
+    private void lock(int i) {
+
+        int spins = 0;
+        while (locks.get(i) != 0 || !locks.compareAndSet(i, 0, 1)) {
+            if (++spins < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Releases the lock of a node, publishing the writes made while holding it.
+     *
+     * @param i The node index.
+     */
+    private void unlock(int i) {
+
+        locks.setRelease(i, 0);
+    }
+
+    /**
+     * Exchanges the keys and tags of two nodes. Both locks must be held.
+     *
+     * @param i The first node index.
+     * @param j The second node index.
+     */
+    private void swap(int i, int j) {
+
+        int key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        int tag = tags[i];
+        tags[i] = tags[j];
+        tags[j] = tag;
+    }
+
+    /**
+     * Returns the parent index of a node.
+     *
+     * @param i The node index.
+     *
+     * @return The parent index, or -1 for the root.
+     */
+    private int parent(int i) {
+
+        if (i <= 0) {
+            return -1;
+        }
+        return (int) (((i - 1) * parentMultiplier) >>> parentShift);
+    }
+
+    /**
+     * Returns the index of the first child of a node.
+     *
+     * @param i The node index.
+     *
+     * @return The first child index, as a long so that it cannot overflow.
+     */
+    private long firstChild(int i) {
+
+        return (long) d * i + 1;
+    }
+
+    /**
+     * Returns the tag that marks keys still being inserted by the calling thread. A thread inserts one key
+     * at a time, so the tag only has to tell threads apart; it is always positive.
+     *
+     * @return The thread tag.
+     */
+    private static int threadTag() {
+
+        return (int) (Thread.currentThread().getId() % Integer.MAX_VALUE) + 1;
+    }
+
+}
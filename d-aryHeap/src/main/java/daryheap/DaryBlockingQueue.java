@@ -0,0 +1,599 @@
+package daryheap;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * DaryBlockingQueue Class
+ * <p>
+ * This class is an unbounded blocking priority queue backed by a DaryHeap, meant as a drop-in replacement for
+ * {@link java.util.concurrent.PriorityBlockingQueue}. It follows the same contract: the head is the least element
+ * according to the comparator (or natural ordering), put never blocks, and take waits until an element is available.
+ * The underlying max heap is ordered by the reversed comparator, so its root is the least element.
+ * <p>
+ * All access goes through one ReentrantLock, and waiting consumers park on a Condition. Unlike a monitor
+ * (synchronized), a ReentrantLock does not pin a virtual thread to its carrier while it waits, so thousands of
+ * virtual-thread consumers can block in take without exhausting the carrier pool.
+ *
+ * @param <T> The type of elements held. Elements are ordered by the supplied Comparator, or by their natural
+ *            ordering (they must implement Comparable) when no Comparator is given.
+ * <p>
+ * Constructors:
+ * - DaryBlockingQueue(int d): Natural ordering.
+ * - DaryBlockingQueue(int d, Comparator<? super T> comparator): Ordered by the given comparator.
+ * <p>
+ * Public Methods:
+ * - boolean offer(T e) / void put(T e) / boolean offer(T e, long timeout, TimeUnit unit): Insert; never block.
+ * - T poll() / T take() / T poll(long timeout, TimeUnit unit): Remove the head, waiting as requested.
+ * - T peek(): Returns the head without removing it.
+ * - int drainTo(Collection<? super T> c) / int drainTo(Collection<? super T> c, int maxElements): Bulk removal.
+ * - int size() / int remainingCapacity() / boolean remove(Object o) / boolean contains(Object o) / void clear().
+ * - Object[] toArray() / <E> E[] toArray(E[] a) / Iterator<T> iterator(): Snapshots in no particular order.
+ * - Comparator<? super T> comparator(): Returns the comparator, or null for natural ordering.
+ * <p>
+ * Private Methods:
+ * - T dequeue(): Removes the head; the lock must be held.
+ * - int indexOf(Object o) / void removeEq(Object o): Linear searches by equality and by identity.
+ * <p>
+ * Notes:
+ * - As in PriorityBlockingQueue, the iterator and toArray return snapshots in heap order, not priority order,
+ * and elements of equal priority are served in no particular order.
+ * - Null elements are rejected with NullPointerException, as the BlockingQueue contract requires.
+ * - The queue is unbounded: remainingCapacity is always Integer.MAX_VALUE and the timed offer never waits.
+ */
+class DaryBlockingQueue<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+
+    /**
+     * The heap, ordered by the reversed comparator so that its root is the least element.
+     */
+    private final DaryHeap<T> heap;
+
+    /**
+     * The comparator supplied by the caller, or null for natural ordering.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Guards every access to the heap.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when an element is added, waking one waiting consumer.
+     */
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * Initializes an empty blocking queue ordered by natural ordering.
+     *
+     * @param d The degree of the underlying D-ary heap, at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public DaryBlockingQueue(int d) {
+
+        this(d, null);
+    }
+
+    /**
+     * Initializes an empty blocking queue ordered by the given comparator.
+     *
+     * @param d The degree of the underlying D-ary heap, at least 2.
+     * @param comparator The comparator to order the elements, or null to use their natural ordering.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Earliest deadline first
+     *   BlockingQueue<Job> jobs = new DaryBlockingQueue<>(4, Comparator.comparingLong(Job::deadline));
+     *   Job next = jobs.take();
+     * }
+     * </pre>
+     */
+    public DaryBlockingQueue(int d, Comparator<? super T> comparator) {
+
+        this.comparator = comparator;
+        this.heap = new DaryHeap<>(d, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Inserts an element. The queue is unbounded, so this never blocks and always succeeds.
+     *
+     * @param e The element to add.
+     *
+     * @return true.
+     *
+     * @throws NullPointerException if the element is null.
+     * @throws ClassCastException if no comparator was supplied and the element is not Comparable, or it cannot be
+     * compared with the elements in the queue.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    @Override
+    public boolean offer(T e) {
+
+        if (e == null) {
+            throw new NullPointerException("Element cannot be null");
+        }
+        if (comparator == null && !(e instanceof Comparable)) {
+            throw new ClassCastException(e.getClass().getName() + " is not Comparable");
+        }
+
+        lock.lock();
+        try {
+            heap.insert(e);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Inserts an element. The queue is unbounded, so this never blocks.
+     *
+     * @param e The element to add.
+     *
+     * @throws NullPointerException if the element is null.
+     * @throws ClassCastException if the element cannot be compared with the elements in the queue.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    @Override
+    public void put(T e) {
+
+        offer(e);
+    }
+
+    /**
+     * Inserts an element. The queue is unbounded, so this never blocks and the timeout is ignored.
+     *
+     * @param e The element to add.
+     * @param timeout Ignored.
+     * @param unit Ignored.
+     *
+     * @return true.
+     *
+     * @throws NullPointerException if the element is null.
+     * @throws ClassCastException if the element cannot be compared with the elements in the queue.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    @Override
+    public boolean offer(T e, long timeout, TimeUnit unit) {
+
+        return offer(e);
+    }
+
+    /**
+     * Removes and returns the head of the queue, or null if it is empty.
+     *
+     * @return The least element, or null.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     */
+    @Override
+    public T poll() {
+
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the head of the queue, waiting until an element is available.
+     *
+     * @return The least element.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     * <p>
+     * Time Complexity: O(d * log_d(n)) once an element is available.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // A consumer; virtual threads parked here do not occupy a carrier thread
+     *   while (true) {
+     *       process(queue.take());
+     *   }
+     * }
+     * </pre>
+     */
+    @Override
+    public T take() throws InterruptedException {
+
+        lock.lockInterruptibly();
+        try {
+            T head;
+            while ((head = dequeue()) == null) {
+                notEmpty.await();
+            }
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the head of the queue, waiting up to the given time for an element to become available.
+     *
+     * @param timeout How long to wait, in units of 'unit'.
+     * @param unit The unit of the timeout.
+     *
+     * @return The least element, or null if the timeout elapsed first.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     * <p>
+     * Time Complexity: O(d * log_d(n)) once an element is available.
+     */
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            T head;
+            while ((head = dequeue()) == null && nanos > 0) {
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the head of the queue without removing it, or null if it is empty.
+     *
+     * @return The least element, or null.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    @Override
+    public T peek() {
+
+        lock.lock();
+        try {
+            return heap.isEmpty() ? null : heap.get(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     *
+     * @return The number of elements.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    @Override
+    public int size() {
+
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns Integer.MAX_VALUE, since the queue is unbounded.
+     *
+     * @return Integer.MAX_VALUE.
+     */
+    @Override
+    public int remainingCapacity() {
+
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Removes all available elements and adds them to the given collection, in priority order.
+     *
+     * @param c The collection to transfer elements into.
+     *
+     * @return The number of elements transferred.
+     *
+     * @throws NullPointerException if the collection is null.
+     * @throws IllegalArgumentException if the collection is this queue.
+     * <p>
+     * Time Complexity: O(n * d * log_d(n))
+     */
+    @Override
+    public int drainTo(Collection<? super T> c) {
+
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes at most the given number of elements and adds them to the given collection, in priority order.
+     * <p>
+     * The elements are removed under a single lock acquisition. Each element is removed only after the
+     * collection has accepted it, so if add throws, that element and all later ones remain in the queue,
+     * as in PriorityBlockingQueue.
+     *
+     * @param c The collection to transfer elements into.
+     * @param maxElements The maximum number of elements to transfer.
+     *
+     * @return The number of elements transferred.
+     *
+     * @throws NullPointerException if the collection is null.
+     * @throws IllegalArgumentException if the collection is this queue.
+     * <p>
+     * Time Complexity: O(k * d * log_d(n)) for k transferred elements.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Process work in batches of up to 64 elements
+     *   List<Job> batch = new ArrayList<>(64);
+     *   batch.add(jobs.take());
+     *   jobs.drainTo(batch, 63);
+     * }
+     * </pre>
+     */
+    @Override
+    public int drainTo(Collection<? super T> c, int maxElements) {
+
+        if (c == null) {
+            throw new NullPointerException("Collection cannot be null");
+        }
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            int count = Math.min(heap.size(), maxElements);
+            for (int i = 0; i < count; i++) {
+                // Hand the head over before removing it, so it stays queued if add throws
+                c.add(heap.get(0));
+                heap.extractMax();
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a single instance of the given element, if present.
+     *
+     * @param o The element to remove, compared with equals.
+     *
+     * @return true if an element was removed.
+     * <p>
+     * Time Complexity: O(n)
+     * - A linear search, then an O(d * log_d(n)) removal.
+     */
+    @Override
+    public boolean remove(Object o) {
+
+        lock.lock();
+        try {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            heap.removeAt(index);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the queue contains the given element.
+     *
+     * @param o The element to look for, compared with equals.
+     *
+     * @return true if the queue contains the element.
+     * <p>
+     * Time Complexity: O(n)
+     */
+    @Override
+    public boolean contains(Object o) {
+
+        lock.lock();
+        try {
+            return indexOf(o) >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all elements from the queue.
+     * <p>
+     * Time Complexity: O(n)
+     */
+    @Override
+    public void clear() {
+
+        lock.lock();
+        try {
+            heap.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the elements, in no particular order.
+     *
+     * @return A new array holding the elements.
+     * <p>
+     * Time Complexity: O(n)
+     */
+    @Override
+    public Object[] toArray() {
+
+        lock.lock();
+        try {
+            Object[] elements = new Object[heap.size()];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = heap.get(i);
+            }
+            return elements;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the elements, in no particular order, in an array of the given runtime type.
+     *
+     * @param a The array to fill if it is large enough; otherwise a new array of the same type is allocated.
+     *
+     * @return An array holding the elements; when 'a' has room to spare, the slot after the last element is set
+     * to null.
+     *
+     * @throws ArrayStoreException if the runtime type of 'a' cannot hold the elements.
+     * @throws NullPointerException if the array is null.
+     * <p>
+     * Time Complexity: O(n)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> E[] toArray(E[] a) {
+
+        Object[] elements = toArray();
+        if (a.length < elements.length) {
+            return (E[]) Arrays.copyOf(elements, elements.length, a.getClass());
+        }
+        System.arraycopy(elements, 0, a, 0, elements.length);
+        if (a.length > elements.length) {
+            a[elements.length] = null;
+        }
+        return a;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements, in no particular order.
+     * <p>
+     * The iterator never throws ConcurrentModificationException. Its remove method removes the element last
+     * returned from the queue, if it is still there.
+     *
+     * @return The iterator.
+     * <p>
+     * Time Complexity: O(n) to take the snapshot.
+     */
+    @Override
+    public Iterator<T> iterator() {
+
+        Object[] snapshot = toArray();
+        return new Iterator<T>() {
+            private int cursor;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < snapshot.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (cursor >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                last = cursor;
+                return (T) snapshot[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException("next has not been called, or remove was already called");
+                }
+                removeEq(snapshot[last]);
+                last = -1;
+            }
+        };
+    }
+
+    /**
+     * Returns the comparator used to order the elements.
+     *
+     * @return The comparator, or null if the elements use their natural ordering.
+     */
+    public Comparator<? super T> comparator() {
+
+        return comparator;
+    }
+
+    /**
+     * Removes and returns the least element. The lock must be held.
+     *
+     * @return The least element, or null if the queue is empty.
+     */
+    private T dequeue() {
+
+        return heap.isEmpty() ? null : heap.extractMax();
+    }
+
+    /**
+     * Finds an element equal to the given object. The lock must be held.
+     *
+     * @param o The object to look for.
+     *
+     * @return The heap index of an equal element, or -1.
+     */
+    private int indexOf(Object o) {
+
+        if (o != null) {
+            for (int i = 0; i < heap.size(); i++) {
+                if (o.equals(heap.get(i))) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the given instance, compared by identity, if it is still in the queue. Used by the iterator, so that
+     * removing one of several equal elements removes the one that was returned.
+     *
+     * @param o The instance to remove.
+     */
+    private void removeEq(Object o) {
+
+        lock.lock();
+        try {
+            for (int i = 0; i < heap.size(); i++) {
+                if (heap.get(i) == o) {
+                    heap.removeAt(i);
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,1650 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * DaryHeap Class
+ * <p>
+ * This class implements a D-ary max heap data structure.
+ * It supports operations such as insertion, extraction of the maximum element, increasing a key, and building a max heap.
+ * The class follows standard heap operations and is implemented using an ArrayList as the underlying data structure.
+ * The implementation assumes 0-based indexing and provides detailed comments, time, and space complexity analysis for each method.
+ *
+ * @param <T> The type of elements stored in the heap. Elements are ordered by the supplied Comparator,
+ *            or by their natural ordering (they must implement Comparable) when no Comparator is given.
+ *            Passing a reversed Comparator turns the structure into a min heap.
+ * <p>
+ * Constructors:
+ * - DaryHeap(int d): Initializes an empty D-ary max heap with the specified degree.
+ * - DaryHeap(int d, Comparator<? super T> comparator): Initializes an empty D-ary heap ordered by the given comparator.
+ * - DaryHeap(List<? extends T> elements, int d): Initializes a D-ary max heap with the given elements and degree.
+ * - DaryHeap(List<? extends T> elements, int d, Comparator<? super T> comparator): Same, ordered by the given comparator.
+ * <p>
+ * Public Methods:
+ * - void insert(T element): Inserts an element into the heap and maintains the max heap property.
+ * - void buildMaxHeap(): Builds the max heap from the given elements.
+ * - T extractMax(): Removes and returns the maximum element from the heap.
+ * - T replaceMax(T key) / T pushPop(T key): Fused extract-then-insert and insert-then-extract with one sift-down.
+ * - T get(int index): Returns the element stored at the specified index.
+ * - int size(): Returns the number of elements in the heap.
+ * - void maxHeapInsert(T key): Inserts a new element with the specified key into the D-ary heap and maintains the heap properties.
+ * - void addAll(Collection<? extends T> elements): Inserts a batch of elements, re-heapifying once when the batch is large.
+ * - T removeAt(int index) / void delete(int i): Removes the element at the specified index.
+ * - void setListener(HeapListener<? super T> listener): Registers an opt-in observer of removals.
+ * - void heapIncreaseKey(int index, T newKey): Increases the key at the specified index and maintains the max heap property.
+ * - void updateKey(int index, T newKey): Replaces the key at the specified index, moving it up or down as needed.
+ * - void updateKeys(int[] indices, List<? extends T> keys): Replaces several keys and re-heapifies once.
+ * - void setExtractMode(ExtractMode mode) / ExtractMode getExtractMode(): Selects how extractMax restores the heap.
+ * - long getComparisonCount() / void resetComparisonCount(): Reads or clears the number of element comparisons.
+ * - boolean isEmpty(): Checks if the heap is empty.
+ * - void clear(): Removes all elements from the heap.
+ * - void printHeapByDepth(): Prints the heap elements by depth level.
+ * - boolean isMaxHeap(): Checks if the heap is a valid max heap.
+ * <p>
+ * Private Methods:
+ * - int parent(int i): Returns the index of the parent of the element at index 'i'.
+ * - long firstChild(int i): Returns the index of the first child of the element at index 'i'.
+ * - T child(int i, int k): Returns the value of the k-th child of the element at index 'i'.
+ * - int compare(T a, T b): Compares two elements using the comparator or their natural ordering.
+ * - void maxHeapify(int index): Maintains the max heap property starting from the given index.
+ * - void siftDown(int index, T key): Moves a hole down from 'index' until 'key' can be placed in it.
+ * - void siftUp(int index, T key): Moves a hole up from 'index' until 'key' can be placed in it.
+ * - void siftDownBottomUp(int index, T key): Moves a hole to a leaf along the maximum children, then sifts 'key' up.
+ * - boolean shouldRebuild(int current, int batch): Decides between per-element sift-up and a full re-heapify.
+ * - int height(long n): Returns the number of levels of a heap with 'n' elements.
+ * - int findMaxChild(int index): Finds the maximum child's index of the element at the given index.
+ * <p>
+ * Utility Methods:
+ * - static long divisionMultiplier(int d) / static int divisionShift(int d): Replace a division by 'd' with a
+ * multiplication and a shift.
+ * - static void printLine(String message): Prints a message followed by a newline.
+ * - static void print(String message): Prints a message without a newline.
+ */
+class DaryHeap<T> {
+
+    /**
+     * Degree of the D-ary heap. It determines the maximum number of children each element can have.
+     */
+    private final int d; // Degree of the heap
+
+    /**
+     * Reciprocal of the degree, scaled by 2^parentShift and rounded up. Set once by the constructor.
+     * <p>
+     * parent(i) multiplies by this value and shifts right instead of dividing by 'd', so the sift-up loops contain
+     * no division and no branch on the degree. For a power-of-two degree the multiplier is 2^31 and the product
+     * followed by the shift is exactly (i - 1) >>> log2(d).
+     */
+    private final long parentMultiplier;
+
+    /**
+     * Right shift applied after multiplying by parentMultiplier: 31 + ceil(log2(d)).
+     */
+    private final int parentShift;
+
+    /**
+     * List representing the D-ary heap's underlying data structure.
+     */
+    private final List<T> heap;
+
+    /**
+     * Comparator used to order the elements, or null to use the elements' natural ordering.
+     * <p>
+     * All comparisons go through {@link #compare(Object, Object)}, which keeps the natural ordering on a direct
+     * compareTo call instead of wrapping it in a Comparator. This removes one level of indirection, but it does not
+     * make the comparison monomorphic: the JIT profiles each call site once for all heaps in the process, so the
+     * compareTo and compare calls in compare see every element type and comparator used anywhere, and become
+     * bimorphic or megamorphic as soon as a program uses more than one or two of them.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Strategy used by extractMax to restore the heap properties after removing the root.
+     */
+    private ExtractMode extractMode = ExtractMode.STANDARD;
+
+    /**
+     * Number of element comparisons performed since construction or the last reset.
+     */
+    private long comparisons;
+
+    /**
+     * Optional observer notified of removals, or null when no diagnostics are wanted.
+     */
+    private HeapListener<? super T> listener;
+
+    /**
+     * Initializes a D-ary heap with the specified degree.
+     * <p>
+     * This constructor creates a D-ary heap using an ArrayList as the underlying data structure.
+     * The degree determines the maximum number of children each element can have.
+     *
+     * @param d The degree of the D-ary heap must be at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     * - The time complexity of this constructor is constant as it involves basic assignments.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant since it only creates an ArrayList and stores an integer.
+     * <p>
+     * Algorithm:
+     * - Check if the given degree is at least 2; otherwise, throw an IllegalArgumentException.
+     * - Initialize an empty ArrayList to represent the D-ary heap.
+     * - Assign the specified degree to the 'd' instance variable.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Creating a D-ary heap with degree 3
+     *   DaryHeap heap = new DaryHeap(3);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - Ensure that the degree provided is at least 2 to create a valid D-ary heap.
+     */
+    public DaryHeap(int d) {
+
+        this(d, null);
+    }
+
+    /**
+     * Initializes a D-ary heap with the specified degree, ordered by the given comparator.
+     * <p>
+     * The element considered "maximum" is the greatest one according to the comparator, so passing
+     * a reversed comparator (for example {@code Comparator.reverseOrder()}) yields a min heap.
+     *
+     * @param d The degree of the D-ary heap must be at least 2.
+     * @param comparator The comparator used to order the elements, or null to use their natural ordering.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Creating a 4-ary min heap of jobs ordered by deadline
+     *   DaryHeap<Job> heap = new DaryHeap<>(4, Comparator.comparingLong(Job::deadline).reversed());
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - Without a comparator the elements must implement Comparable, otherwise a ClassCastException is thrown
+     * on the first comparison.
+     */
+    public DaryHeap(int d, Comparator<? super T> comparator) {
+
+        if (d < 2) {
+            throw new IllegalArgumentException("Degree (d) must be at least 2");
+        }
+
+        this.heap = new ArrayList<>();
+        this.d = d;
+        this.parentMultiplier = divisionMultiplier(d);
+        this.parentShift = divisionShift(d);
+        this.comparator = comparator;
+    }
+
+    /**
+     * Initializes a D-ary heap with the specified degree and populates it with the given elements.
+     * <p>
+     * This constructor creates a D-ary heap using an ArrayList as the underlying data structure.
+     * It copies the list of elements into the heap in one shot and then builds the max heap bottom-up.
+     *
+     * @param elements List of elements to be inserted into the heap.
+     * @param d The degree of the D-ary heap must be at least 2.
+     *
+     * @throws IllegalArgumentException if the list of elements is null or if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(n)
+     * - Copying the elements is linear, and the bottom-up (Floyd) build of the max heap is linear as well.
+     * <p>
+     * Space Complexity: O(n)
+     * - The space complexity is linear, as it depends on the number of elements in the input list.
+     * <p>
+     * Algorithm:
+     * - Initialize the D-ary heap using the constructor with degree 'd'.
+     * - Check if the list of elements is null; if so, throw an IllegalArgumentException.
+     * - Copy all elements into the underlying list with a single bulk add.
+     * - Build the max heap to ensure the heap properties are maintained.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Creating a D-ary heap with degree 3 and inserting elements
+     *   List<Integer> elements = Arrays.asList(5, 3, 8, 2, 7);
+     *   DaryHeap heap = new DaryHeap(elements, 3);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - Ensure that the list of elements is not null, and the degree provided is at least 2.
+     */
+    public DaryHeap(List<? extends T> elements, int d) {
+
+        this(elements, d, null);
+    }
+
+    /**
+     * Initializes a D-ary heap with the specified degree and comparator and populates it with the given elements.
+     *
+     * @param elements List of elements to be inserted into the heap.
+     * @param d The degree of the D-ary heap must be at least 2.
+     * @param comparator The comparator used to order the elements, or null to use their natural ordering.
+     *
+     * @throws IllegalArgumentException if the list of elements is null or if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(n)
+     * <p>
+     * Space Complexity: O(n)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Creating a binary min heap from a list of elements
+     *   DaryHeap<Integer> heap = new DaryHeap<>(Arrays.asList(5, 3, 8), 2, Comparator.reverseOrder());
+     * }
+     * </pre>
+     */
+    public DaryHeap(List<? extends T> elements, int d, Comparator<? super T> comparator) {
+
+        this(d, comparator);
+
+        if (elements == null) {
+            throw new IllegalArgumentException("List of elements cannot be null");
+        }
+
+        heap.addAll(elements);
+        buildMaxHeap();
+    }
+
+    /**
+     * Inserts a new element into the D-ary heap and maintains the heap properties.
+     * <p>
+     * This method adds a new element to the end of the heap and then sifts it up
+     * to ensure that the heap properties are maintained.
+     *
+     * @param element The element to be inserted into the heap.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * - The time complexity depends on the degree (d) and the height of the tree, which is log_d(n).
+     * - The method involves adding the element to the end of the heap and sifting it up.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it only involves adding one element to the heap.
+     * <p>
+     * Algorithm:
+     * - Add a slot for the new element at the end of the heap.
+     * - Sift the new element up from that slot until its parent is not smaller.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Inserting an element into the D-ary heap
+     *   heap.insert(10);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The method assumes that the heap properties are already satisfied before the insertion.
+     */
+    public void insert(T element) {
+
+        // Add the new element to the end of the heap
+        heap.add(element);
+
+        // Maintain the max-heap property by sifting the new element up from the last slot
+        siftUp(heap.size() - 1, element);
+    }
+
+    /**
+     * Inserts a new element with the specified key into the D-ary heap and maintains the heap properties.
+     * <p>
+     * This method inserts a new element with the specified key into the D-ary heap. It adds a placeholder
+     * for the new element at the end of the heap and then uses the 'heapIncreaseKey' method to set the key
+     * and maintain the heap properties.
+     *
+     * @param key The key of the new element to be inserted.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * - The time complexity depends on the arity (d) and the height of the tree, which is log_d(n).
+     * - The method involves adding a placeholder and then calling 'heapIncreaseKey'.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic variable assignments.
+     * <p>
+     * Algorithm:
+     * - Add the key placeholder for the new element at the end of the heap.
+     * - Use 'heapIncreaseKey' to set the key of the new element and maintain the heap properties.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Inserting a new element with key 42 into the D-ary heap
+     *   heap.maxHeapInsert(42);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - This method assumes that the heap properties are satisfied before the insertion.
+     * - The 'heapIncreaseKey' method is responsible for maintaining the heap properties.
+     */
+    public void maxHeapInsert(T key) {
+        // Add a placeholder for the new element
+        heap.add(key);
+        heapIncreaseKey(heap.size() - 1, key);
+    }
+
+    /**
+     * Inserts a batch of elements into the D-ary heap and maintains the heap properties.
+     * <p>
+     * Small batches are inserted one by one with a sift-up each. When the batch is large relative to the heap,
+     * it is cheaper to append all elements at once and rebuild the whole heap bottom-up.
+     *
+     * @param elements The elements to be inserted into the heap.
+     *
+     * @throws IllegalArgumentException if the collection of elements is null.
+     * <p>
+     * Time Complexity: O(min(k * log_d(n + k), n + k))
+     * - k is the batch size and n the current heap size; the cheaper of the two strategies is chosen.
+     * <p>
+     * Space Complexity: O(k)
+     * - The underlying list grows by the size of the batch.
+     * <p>
+     * Algorithm:
+     * - Ask shouldRebuild whether k sift-ups cost more than a linear rebuild of n + k elements.
+     * - If so, bulk-append the batch and call buildMaxHeap; otherwise insert each element.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Adding a batch of elements to the D-ary heap
+     *   heap.addAll(Arrays.asList(4, 9, 1));
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The method assumes that the heap properties are satisfied before the insertion.
+     */
+    public void addAll(Collection<? extends T> elements) {
+
+        if (elements == null) {
+            throw new IllegalArgumentException("Collection of elements cannot be null");
+        }
+
+        if (shouldRebuild(heap.size(), elements.size())) {
+            heap.addAll(elements);
+            buildMaxHeap();
+        } else {
+            for (T element : elements) {
+                insert(element);
+            }
+        }
+    }
+
+    /**
+     * Builds a max heap from the elements in the D-ary heap.
+     * <p>
+     * This method iterates through the elements of the heap and applies the maxHeapify operation
+     * to each non-leaf node, starting from the last non-leaf node and moving towards the root.
+     * <p>
+     * Time Complexity: O(n)
+     * - The time complexity is linear, as the method iterates through each non-leaf node once,
+     * and maxHeapify has a time complexity of O(log_d(n)).
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic variable assignments.
+     * <p>
+     * Algorithm:
+     * - Start from the last non-leaf node (the parent of the last element) and move towards the root.
+     * - Apply maxHeapify to each non-leaf node to maintain the max heap properties.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Building a max heap from the existing elements in the D-ary heap
+     *   heap.buildMaxHeap();
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - This method should be called after inserting elements to ensure the heap properties are satisfied.
+     */
+    public void buildMaxHeap() {
+
+        // Start from the last non-leaf node and perform maxHeapify operation for each node in reverse order
+        for (int i = parent(heap.size() - 1); i >= 0; i--) {
+            maxHeapify(i);
+        }
+    }
+
+    /**
+     * Returns the index of the parent node for a given index in the D-ary heap.
+     * <p>
+     * This method calculates and returns the index of the parent node for a given index 'i'
+     * in the D-ary heap, based on the specified degree 'd'.
+     *
+     * @param i The index for which the parent index is to be calculated.
+     *
+     * @return The index of the parent node.
+     * <p>
+     * Time Complexity: O(1)
+     * - The time complexity is constant as it only involves basic arithmetic operations.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic variable assignments.
+     * <p>
+     * Algorithm:
+     * - If the given index is the root (or less), return -1 (indicating no parent).
+     * - Otherwise, return (i - 1) / d, computed as ((i - 1) * parentMultiplier) >>> parentShift.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Getting the parent index for a given index
+     *   int parentIndex = parent(5);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The method returns -1 if the given index is 0 or less.
+     * - One multiplication and one shift, whatever the degree; see divisionMultiplier for why they are exact.
+     */
+    private int parent(int i) {
+
+        if (i <= 0) {
+            return -1;
+        }
+        return (int) (((i - 1) * parentMultiplier) >>> parentShift);
+    }
+
+    /**
+     * Returns the index of the first child for a given index in the D-ary heap.
+     * <p>
+     * The children of the element at index 'i' occupy the indices firstChild(i) .. firstChild(i) + d - 1.
+     *
+     * @param i The index for which the first child index is to be calculated.
+     *
+     * @return The index of the first child, as a long so that it cannot overflow for large heaps.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Algorithm:
+     * - Return d * i + 1, computed in long arithmetic.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Getting the index of the first child of the element at index 3
+     *   long first = firstChild(3);
+     * }
+     * </pre>
+     */
+    private long firstChild(int i) {
+
+        return (long) d * i + 1;
+    }
+
+    /**
+     * Returns the index of the k-th child for a given index in the D-ary heap.
+     * <p>
+     * This method calculates and returns the index of the k-th child for a given index 'i'
+     * in the D-ary heap, based on the specified degree 'd'.
+     *
+     * @param i The index for which the child index is to be calculated.
+     * @param k The position of the child (1-based) within the set of children.
+     *
+     * @return The index of the k-th child node.
+     *
+     * @throws NoSuchElementException if the calculated child index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(1)
+     * - The time complexity is constant as it only involves basic arithmetic operations.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic variable assignments.
+     * <p>
+     * Algorithm:
+     * - Calculate the index of the k-th child using the specified degree 'd'.
+     * - Check if the calculated child index is within bounds of the heap size.
+     * - If valid, return the value at the calculated child index.
+     * - If out of bounds, throw a NoSuchElementException with a descriptive message.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Getting the index of the 2nd child for a given index
+     *   int childIndex = child(3, 2);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The method uses 0-based indexing for the position of the child.
+     * - The formula for the k-th child of node at index i is: d * i + k.
+     * - Throws an exception if the calculated child index is out of bounds.
+     */
+    private T child(int i, int k) {
+
+        long childIndex = firstChild(i) + k - 1;
+
+        if (childIndex >= heap.size()) {
+            throw new NoSuchElementException("[Overflow]: Index " + childIndex +
+                                                     " out of bounds for length " + heap.size() + ".");
+        }
+        return heap.get((int) childIndex);
+    }
+
+    /**
+     * Extracts and returns the maximum element from the D-ary heap.
+     * <p>
+     * This method removes and returns the maximum element (root) from the D-ary heap,
+     * then reorganizes the heap to maintain the max heap properties.
+     *
+     * @return The maximum element in the heap.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * - The time complexity depends on the degree (d) and the height of the tree, which is log_d(n).
+     * - The method involves removing the root, placing the last element at the root, and performing maxHeapify.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic variable assignments.
+     * <p>
+     * Algorithm:
+     * - Check if the heap is empty; if so, throw a NoSuchElementException.
+     * - Remove the maximum element (root) from the heap.
+     * - If the heap is not empty, refill the root with the last element according to the extract mode:
+     * sift it down from the root (STANDARD), or walk the hole to a leaf and sift it up from there (BOTTOM_UP).
+     * - Return the extracted maximum element.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Extracting the maximum element from the D-ary heap
+     *   T maxElement = heap.extractMax();
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The method assumes that the heap properties are satisfied before the extraction.
+     */
+    public T extractMax() throws NoSuchElementException {
+
+        // Check if the heap is empty
+        if (isEmpty()) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot extract maximum element.");
+        }
+
+        // Retrieve the maximum element from the root of the max-heap
+        T max = heap.get(0);
+
+        // Remove the last element from the heap
+        T lastElement = heap.remove(heap.size() - 1);
+
+        // If the heap is not empty, refill the vacated root with the last element
+        if (!isEmpty()) {
+            if (extractMode == ExtractMode.BOTTOM_UP) {
+                siftDownBottomUp(0, lastElement);
+            } else {
+                siftDown(0, lastElement);
+            }
+        }
+
+        // Return the extracted maximum element
+        return max;
+    }
+
+    /**
+     * Replaces the maximum element with a new key and returns the old maximum (pop, then push).
+     * <p>
+     * This fuses extractMax followed by insert into a single sift-down: the new key is placed into the hole
+     * left at the root, so the last element is never moved and no sift-up is needed.
+     *
+     * @param key The key to be inserted.
+     *
+     * @return The maximum element before the replacement.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Advancing the winning run of a k-way merge
+     *   T next = heap.replaceMax(nextFromSameRun);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The key is sifted down according to the extract mode, like the last element in extractMax.
+     * - The returned element may be smaller than the inserted key; use pushPop to always get the larger one.
+     */
+    public T replaceMax(T key) {
+
+        if (isEmpty()) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot replace maximum element.");
+        }
+
+        T max = heap.get(0);
+        if (extractMode == ExtractMode.BOTTOM_UP) {
+            siftDownBottomUp(0, key);
+        } else {
+            siftDown(0, key);
+        }
+        return max;
+    }
+
+    /**
+     * Inserts a key and then removes and returns the maximum element (push, then pop).
+     * <p>
+     * When the key is not smaller than the current maximum, it would be extracted again immediately,
+     * so it is returned without touching the heap. Otherwise the root is replaced by the key with a single sift-down.
+     *
+     * @param key The key to be inserted.
+     *
+     * @return The larger of the key and the maximum element before the call.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * - O(1) when the key is not smaller than the maximum, or the heap is empty.
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Streaming bottom-k: a max heap holding the k smallest keys seen so far
+     *   heap.pushPop(candidate);
+     * }
+     * </pre>
+     */
+    public T pushPop(T key) {
+
+        if (isEmpty() || compare(key, heap.get(0)) >= 0) {
+            return key;
+        }
+        return replaceMax(key);
+    }
+
+
+    /**
+     * Returns the element stored at the specified index of the D-ary heap.
+     * <p>
+     * This is mainly useful together with heapIncreaseKey and delete, which address elements by index.
+     *
+     * @param index The index of the element.
+     *
+     * @return The element at the specified index.
+     *
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Raising the element at index 2 by one
+     *   heap.heapIncreaseKey(2, heap.get(2) + 1);
+     * }
+     * </pre>
+     */
+    public T get(int index) {
+
+        if (index < 0 || index >= heap.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                        " size " + heap.size());
+        }
+        return heap.get(index);
+    }
+
+    /**
+     * Returns the number of elements in the D-ary heap.
+     *
+     * @return The number of elements in the heap.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public int size() {
+
+        return heap.size();
+    }
+
+    /**
+     * Increases the key of a specified element in the D-ary heap and maintains the max heap properties.
+     * <p>
+     * This method increases the key of the element at the specified index in the D-ary heap to the new key,
+     * then adjusts the heap to maintain the max heap properties.
+     *
+     * @param index The index of the element whose key needs to be increased.
+     * @param newKey The new key to set for the specified element.
+     *
+     * @throws NullPointerException if the heap is null.
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * @throws IllegalArgumentException if the new key is smaller than the current key.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * - The time complexity depends on the degree (d) and the height of the tree, which is log_d(n).
+     * - The method involves moving a hole up past smaller parents, then writing the new key once.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic variable assignments.
+     * <p>
+     * Algorithm:
+     * - Check if the heap is null, and throw a NullPointerException if true.
+     * - Check if the specified index is out of bounds, and throw an IndexOutOfBoundsException if true.
+     * - Check if the new key is smaller than the current key, and throw an IllegalArgumentException if true.
+     * - Sift the new key up from the specified index, shifting each smaller parent down one level.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Increasing the key of an element in the D-ary heap
+     *   heap.heapIncreaseKey(2, 15);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The method assumes that the heap properties are satisfied before the key increase.
+     */
+    public void heapIncreaseKey(int index, T newKey) {
+
+        // Check for null heap
+        if (heap == null) {
+            throw new NullPointerException("Heap is null.");
+        }
+
+        // Check if the index is within bounds
+        if (index < 0 || index >= heap.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                        " size " + heap.size());
+        }
+
+        // Check if the new key is greater than or equal to the current key
+        if (compare(newKey, heap.get(index)) < 0) {
+            throw new IllegalArgumentException("New key is smaller than the current key");
+        }
+
+        // Move the new key up the heap until the max-heap property is restored
+        siftUp(index, newKey);
+    }
+
+    /**
+     * Replaces the key of a specified element in the D-ary heap and maintains the max heap properties.
+     * <p>
+     * Unlike heapIncreaseKey, the new key may be smaller than the current key, so lowering a priority
+     * no longer needs a delete followed by an insert. The element is moved up or down in a single pass,
+     * depending on how it compares with its parent.
+     *
+     * @param index The index of the element whose key needs to be replaced.
+     * @param newKey The new key to set for the specified element.
+     *
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * - O(log_d(n)) when the key moves up, since only the parent is compared on each level.
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Algorithm:
+     * - Check if the specified index is out of bounds, and throw an IndexOutOfBoundsException if true.
+     * - If the new key is larger than the parent's key, sift it up from the specified index.
+     * - Otherwise, sift it down from the specified index.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Lowering the priority of the element at index 2
+     *   heap.updateKey(2, 3);
+     * }
+     * </pre>
+     */
+    public void updateKey(int index, T newKey) {
+
+        if (index < 0 || index >= heap.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                        " size " + heap.size());
+        }
+
+        // A key larger than its parent can only move up; any other key can only move down
+        if (index > 0 && compare(heap.get(parent(index)), newKey) < 0) {
+            siftUp(index, newKey);
+        } else {
+            siftDown(index, newKey);
+        }
+    }
+
+    /**
+     * Replaces the keys of several elements at once and restores the max heap properties a single time.
+     * <p>
+     * All indices refer to positions before the update. Every new key is written first, and the heap is then
+     * repaired in one pass: either by a full bottom-up rebuild when the batch is large relative to the heap,
+     * or by re-heapifying only the changed positions and their ancestors, deepest first.
+     *
+     * @param indices The indices of the elements whose keys need to be replaced.
+     * @param keys The new keys, where keys.get(j) replaces the key at indices[j].
+     *
+     * @throws IllegalArgumentException if either argument is null or they differ in length.
+     * @throws IndexOutOfBoundsException if any index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(min(k * d * log_d(n)^2, n))
+     * - k is the batch size; the cheaper of the two repairs is chosen.
+     * <p>
+     * Space Complexity: O(k * log_d(n))
+     * - For the list of positions to re-heapify; nothing is allocated when the heap is rebuilt.
+     * <p>
+     * Notes:
+     * - If an index appears more than once, the last key given for it wins.
+     * - The heap is left unchanged if any index is out of bounds.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.updateKeys(new int[] {0, 5}, Arrays.asList(1, 40));
+     * }
+     * </pre>
+     */
+    public void updateKeys(int[] indices, List<? extends T> keys) {
+
+        if (indices == null || keys == null) {
+            throw new IllegalArgumentException("Indices and keys cannot be null");
+        }
+        if (indices.length != keys.size()) {
+            throw new IllegalArgumentException("Indices and keys must have the same length");
+        }
+        for (int index : indices) {
+            if (index < 0 || index >= heap.size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                            " size " + heap.size());
+            }
+        }
+
+        // Write every new key first, so that all indices refer to the positions before the update
+        for (int j = 0; j < indices.length; j++) {
+            heap.set(indices[j], keys.get(j));
+        }
+
+        int batch = indices.length;
+        if (batch == 0) {
+            return;
+        }
+        if (shouldRebuild(heap.size() - batch, batch)) {
+            buildMaxHeap();
+            return;
+        }
+
+        // Only changed positions and their ancestors can violate the heap properties. Re-heapifying them
+        // deepest first, like a bottom-up build restricted to those positions, repairs the whole heap.
+        int[] dirty = new int[batch * height(heap.size())];
+        int count = 0;
+        for (int index : indices) {
+            for (int i = index; i >= 0; i = parent(i)) {
+                dirty[count++] = i;
+            }
+        }
+        Arrays.sort(dirty, 0, count);
+
+        int previous = -1;
+        for (int j = count - 1; j >= 0; j--) {
+            if (dirty[j] != previous) {
+                previous = dirty[j];
+                maxHeapify(previous);
+            }
+        }
+    }
+
+    /**
+     * Compares two elements of the D-ary heap.
+     * <p>
+     * This method uses the heap's comparator when one was supplied, and the elements' natural ordering otherwise.
+     *
+     * @param a The first element to be compared.
+     * @param b The second element to be compared.
+     *
+     * @return A negative integer, zero, or a positive integer as 'a' is less than, equal to, or greater than 'b'.
+     *
+     * @throws ClassCastException if no comparator was supplied and the elements are not Comparable.
+     * <p>
+     * Time Complexity: O(1)
+     * - Assuming the comparison itself runs in constant time.
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Notes:
+     * - The method is private and small, so the JIT inlines it into the sift loops. Whether the comparison it makes
+     * is inlined as well depends on the types the shared call site has seen (see the comparator field).
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(T a, T b) {
+
+        comparisons++;
+        return (comparator == null) ? ((Comparable<? super T>) a).compareTo(b) : comparator.compare(a, b);
+    }
+
+    /**
+     * Selects how extractMax restores the heap properties after removing the root.
+     *
+     * @param mode The extraction strategy to use from now on.
+     *
+     * @throws IllegalArgumentException if the mode is null.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Switching a binary heap to bottom-up extraction
+     *   heap.setExtractMode(ExtractMode.BOTTOM_UP);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The mode only affects extractMax; both strategies produce a valid heap, so it can be changed at any time.
+     */
+    public void setExtractMode(ExtractMode mode) {
+
+        if (mode == null) {
+            throw new IllegalArgumentException("Extract mode cannot be null");
+        }
+        this.extractMode = mode;
+    }
+
+    /**
+     * Returns the strategy used by extractMax.
+     *
+     * @return The current extraction strategy.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public ExtractMode getExtractMode() {
+
+        return extractMode;
+    }
+
+    /**
+     * Returns the number of element comparisons performed by the heap.
+     * <p>
+     * Every comparison made through the heap's comparator or natural ordering is counted, which allows
+     * comparing extraction modes and degrees on a real workload.
+     *
+     * @return The number of comparisons since construction or the last reset.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.resetComparisonCount();
+     *   heap.extractMax();
+     *   long used = heap.getComparisonCount();
+     * }
+     * </pre>
+     */
+    public long getComparisonCount() {
+
+        return comparisons;
+    }
+
+    /**
+     * Resets the comparison counter to zero.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public void resetComparisonCount() {
+
+        comparisons = 0;
+    }
+
+    /**
+     * Checks if the D-ary heap is empty.
+     * <p>
+     * This method returns true if the D-ary heap is empty, i.e., it contains no elements.
+     *
+     * @return true if the heap is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     * - The time complexity is constant as it involves checking the size of the heap.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic operations.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Checking if the D-ary heap is empty
+     *   boolean isEmpty = heap.isEmpty();
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - Use this method to determine if the heap contains any elements.
+     */
+    public boolean isEmpty() {
+
+        return heap.isEmpty();
+    }
+
+    /**
+     * Removes all elements from the D-ary heap.
+     * <p>
+     * The removal listener, if any, is not notified: clearing is not a sequence of individual removals.
+     * <p>
+     * Time Complexity: O(n)
+     * - Every slot of the backing list is cleared so the elements can be garbage collected.
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Discarding all pending elements
+     *   heap.clear();
+     * }
+     * </pre>
+     */
+    public void clear() {
+
+        heap.clear();
+    }
+
+    /**
+     * Prints the D-ary heap elements organized by depth.
+     * <p>
+     * This method prints the elements of the D-ary heap, organized by depth and separated by levels.
+     * <p>
+     * Time Complexity: O(n)
+     * - The time complexity is linear as the method iterates through each element in the heap.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic variable assignments.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Printing the D-ary heap elements by depth
+     *   heap.printHeapByDepth();
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The output shows elements organized by depth with levels separated by tabs.
+     */
+    public void printHeapByDepth() {
+
+        int depth = 0;
+        int levelSize = 1;
+
+        print("d-ary Heap (d = " + this.d + "): ");
+        for (int i = 0; i < heap.size(); i++) {
+
+            if (i == levelSize) {
+                print("\t"); // Move to the next level
+                depth++;
+                levelSize += Math.pow(d, depth);
+            }
+
+            print(heap.get(i) + " ");
+        }
+
+        printLine(""); // Print a newline at the end
+    }
+
+    /**
+     * Checks if the D-ary heap satisfies the max heap properties.
+     * <p>
+     * This method iterates through the elements of the D-ary heap and checks that no element is greater than its parent.
+     *
+     * @return true if the heap is a max heap, false otherwise.
+     * <p>
+     * Time Complexity: O(n)
+     * - The time complexity is linear as the method iterates through each element in the heap.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic variable assignments.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Checking if the D-ary heap is a max heap
+     *   boolean isMaxHeap = heap.isMaxHeap();
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - This method assumes that the heap is represented with 0-based indexing.
+     * - Returns true if the heap satisfies the max heap properties.
+     */
+    public boolean isMaxHeap() {
+
+        for (int i = 1; i < heap.size(); i++) {
+            if (compare(heap.get(parent(i)), heap.get(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maintains the max heap properties by fixing violations starting from the specified index.
+     * <p>
+     * This method sifts the element at the given index down until none of its children is greater than it.
+     *
+     * @param index The index of the element to start max heapify from.
+     * <p>
+     * General Idea:
+     * - A D-ary heap is a variation of the binary heap where each node has up to 'd' children.
+     * - The heap is implemented using an ArrayList as the underlying data structure.
+     * - The D-ary heap supports operations like insertion, extraction of the maximum element,
+     * increasing a key, and building a max heap from a list of elements.
+     * - The class includes methods for maintaining the max heap properties, such as maxHeapify and heapIncreaseKey.
+     * - It also provides utility methods like printHeapByDepth to visualize the heap's structure.
+     * - The implementation assumes 0-based indexing and follows standard heap operations.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * - The time complexity depends on the degree (d) and the height of the tree, which is log_d(n).
+     * - Every level scans up to d children to find the maximum one.
+     * <p>
+     * Space Complexity: O(1)
+     * - The sift is iterative, so deep heaps cannot overflow the stack.
+     * <p>
+     * Algorithm:
+     * - Delegate to siftDown with the element currently stored at the specified index.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Maintaining max heap properties starting from index 2
+     *   maxHeapify(2);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - This method assumes that the heap is represented with 0-based indexing.
+     * - Called during heap building and deletion to maintain max heap properties.
+     */
+    private void maxHeapify(int index) {
+
+        siftDown(index, heap.get(index));
+    }
+
+    /**
+     * Sifts a key down the D-ary heap, starting from a hole at the specified index.
+     * <p>
+     * Instead of swapping the key with its largest child on every level, this method treats 'index' as a hole:
+     * each larger child is moved up into the hole with a single write, and the key itself is written once,
+     * into the final position of the hole.
+     *
+     * @param index The index of the hole to start from.
+     * @param key The key to be placed into the heap.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * - The hole descends at most the height of the tree, scanning up to d children per level.
+     * <p>
+     * Space Complexity: O(1)
+     * - The method is iterative and keeps the moving key in a local variable.
+     * <p>
+     * Algorithm:
+     * - Find the maximum child of the hole.
+     * - While that child is greater than the key, move it up into the hole and continue from the child's index.
+     * - Write the key into the final position of the hole.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Placing the last element at the root after removing the maximum
+     *   siftDown(0, lastElement);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - Compared to swap-based sifting this performs one write per level instead of two writes and three reads.
+     */
+    private void siftDown(int index, T key) {
+
+        while (true) {
+            int maxChild = findMaxChild(index);
+            if (maxChild == -1) {
+                break;
+            }
+
+            T maxChildValue = heap.get(maxChild);
+            if (compare(maxChildValue, key) <= 0) {
+                break;
+            }
+
+            // Move the larger child up into the hole and descend
+            heap.set(index, maxChildValue);
+            index = maxChild;
+        }
+
+        heap.set(index, key);
+    }
+
+    /**
+     * Sifts a key up the D-ary heap, starting from a hole at the specified index.
+     * <p>
+     * Each parent smaller than the key is moved down into the hole with a single write, and the key itself
+     * is written once, into the final position of the hole.
+     *
+     * @param index The index of the hole to start from.
+     * @param key The key to be placed into the heap.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * - The hole climbs at most the height of the tree, with one comparison per level.
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Algorithm:
+     * - While the hole is not the root and its parent is smaller than the key, move the parent down into the hole.
+     * - Write the key into the final position of the hole.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Placing a newly appended element
+     *   siftUp(heap.size() - 1, element);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The parent index is computed once per level.
+     */
+    private void siftUp(int index, T key) {
+
+        while (index > 0) {
+            int parentIndex = parent(index);
+            T parentValue = heap.get(parentIndex);
+            if (compare(parentValue, key) >= 0) {
+                break;
+            }
+
+            // Move the smaller parent down into the hole and climb
+            heap.set(index, parentValue);
+            index = parentIndex;
+        }
+
+        heap.set(index, key);
+    }
+
+    /**
+     * Sifts a key into the D-ary heap bottom-up (Floyd / Wegener), starting from a hole at the specified index.
+     * <p>
+     * The hole is first moved all the way down to a leaf, always promoting the maximum child, without comparing
+     * the children against the key. The key is then sifted up from that leaf. Since the key usually comes from
+     * the bottom of the heap, the sift-up rarely climbs more than a level.
+     *
+     * @param index The index of the hole to start from.
+     * @param key The key to be placed into the heap.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * - The descent performs d - 1 comparisons per level instead of d; the climb is usually O(1).
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Algorithm:
+     * - While the hole has children, move the maximum child up into the hole and descend.
+     * - Sift the key up from the leaf reached by the hole.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Refilling the root after removing the maximum
+     *   siftDownBottomUp(0, lastElement);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The climb never passes 'index', because every element on the path above the leaf is at least as
+     * large as the elements that were below it.
+     */
+    private void siftDownBottomUp(int index, T key) {
+
+        int start = index;
+        while (true) {
+            int maxChild = findMaxChild(index);
+            if (maxChild == -1) {
+                break;
+            }
+
+            // Promote the maximum child unconditionally and descend
+            heap.set(index, heap.get(maxChild));
+            index = maxChild;
+        }
+
+        // Sift the key back up from the leaf, never past the starting hole
+        while (index > start) {
+            int parentIndex = parent(index);
+            T parentValue = heap.get(parentIndex);
+            if (compare(parentValue, key) >= 0) {
+                break;
+            }
+
+            heap.set(index, parentValue);
+            index = parentIndex;
+        }
+
+        heap.set(index, key);
+    }
+
+    /**
+     * Decides whether a batch should be merged into the heap by a full rebuild instead of per-element sift-ups.
+     *
+     * @param current The number of elements currently in the heap.
+     * @param batch The number of elements about to be added or changed.
+     *
+     * @return true if rebuilding the whole heap is expected to be cheaper, false otherwise.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * - The height of the resulting heap is computed level by level.
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Algorithm:
+     * - Compute the height h of a heap holding current + batch elements.
+     * - Rebuild when batch * h, the worst-case cost of the sift-ups, reaches current + batch, the cost of a rebuild.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   boolean rebuild = shouldRebuild(heap.size(), elements.size());
+     * }
+     * </pre>
+     */
+    private boolean shouldRebuild(int current, int batch) {
+
+        long total = (long) current + batch;
+        if (batch <= 0) {
+            return false;
+        }
+
+        return (long) batch * height(total) >= total;
+    }
+
+    /**
+     * Returns the number of levels of a D-ary heap with the specified number of elements.
+     *
+     * @param n The number of elements.
+     *
+     * @return The number of levels, which is 0 for an empty heap.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    private int height(long n) {
+
+        int height = 0;
+        long capacity = 0;
+        long levelSize = 1;
+        while (capacity < n) {
+            capacity += levelSize;
+            levelSize *= d;
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * Finds the index of the maximum child for a given element in the D-ary heap.
+     * <p>
+     * This method calculates the range of child indices based on the specified degree 'd',
+     * then iterates through the children to find and return the index of the maximum child.
+     *
+     * @param index The index of the element for which the maximum child index is to be found.
+     *
+     * @return The index of the maximum child, or -1 if no valid child is found.
+     * <p>
+     * Time Complexity: O(d)
+     * - The time complexity is linear with respect to the degree 'd' as the method iterates through the children.
+     * <p>
+     * Space Complexity: O(1)
+     * - The space complexity is constant as it involves only basic variable assignments.
+     * <p>
+     * Algorithm:
+     * - Calculate the range of child indices based on the specified degree 'd'.
+     * - Iterate through the children within the calculated range and find the index of the maximum child.
+     * - Return the index of the maximum child or -1 if no valid child is found.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Finding the index of the maximum child for the element at index 3
+     *   int maxChildIndex = findMaxChild(3);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - This method assumes that the heap is represented with 0-based indexing.
+     * - Used by maxHeapify to find the maximum child during the heapify operation.
+     */
+    private int findMaxChild(int index) {
+
+        long firstChild = firstChild(index);
+        if (firstChild >= heap.size()) {
+            return -1;
+        }
+
+        int startChild = (int) firstChild;
+        int endChild = (int) Math.min(firstChild + d - 1, heap.size() - 1);
+        int maxChildIndex = startChild;
+        T maxChildValue = heap.get(startChild);
+
+        for (int i = startChild + 1; i <= endChild; i++) {
+            T candidate = heap.get(i);
+            if (compare(candidate, maxChildValue) > 0) {
+                maxChildValue = candidate;
+                maxChildIndex = i;
+            }
+        }
+
+        return maxChildIndex;
+    }
+
+    /**
+     * Returns the multiplier that, with divisionShift(d), replaces a division of a non-negative int by 'd'.
+     * <p>
+     * For 0 <= n < 2^31, n / d == (n * divisionMultiplier(d)) >>> divisionShift(d). The heaps compute both values
+     * once at construction and use them for every parent index, so a sift loop never divides.
+     *
+     * @param d The divisor, at least 2.
+     *
+     * @return ceil(2^divisionShift(d) / d).
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Notes:
+     * - With s = 31 + ceil(log2(d)) and m = ceil(2^s / d), m * d exceeds 2^s by less than d <= 2^ceil(log2(d)),
+     * which is the condition under which the rounded-up reciprocal gives the exact quotient of every 31-bit
+     * dividend (Granlund and Montgomery, "Division by Invariant Integers using Multiplication", 1994).
+     * - d > 2^(ceil(log2(d)) - 1), so m is at most 2^32 and n * m stays below 2^63 without overflowing a long.
+     * - For d = 2^k the multiplier is exactly 2^31 and the result equals n >>> k.
+     */
+    static long divisionMultiplier(int d) {
+
+        int s = divisionShift(d);
+        return ((1L << s) + d - 1) / d;
+    }
+
+    /**
+     * Returns the right shift that goes with divisionMultiplier(d).
+     *
+     * @param d The divisor, at least 2.
+     *
+     * @return 31 + ceil(log2(d)).
+     */
+    static int divisionShift(int d) {
+
+        return 31 + (32 - Integer.numberOfLeadingZeros(d - 1));
+    }
+
+    /**
+     * Utility Methods for Printing in the D-ary Heap Class
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Using the print and println methods within the D-ary Heap class
+     *   print("Hello ");
+     *   printLine("World!");
+     * }
+     * </pre>
+     */
+    private static void printLine(String message) {
+
+        System.out.println(message);
+    }
+
+    /**
+     * Utility Methods for Printing in the D-ary Heap Class
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Using the print and println methods within the D-ary Heap class
+     *   print("Hello ");
+     *   printLine("World!");
+     * }
+     * </pre>
+     */
+    private static void print(String message) {
+
+        System.out.print(message);
+    }
+
+
+    /**
+     * Removes the element at the specified index in the D-ary heap and maintains the heap properties.
+     * <p>
+     * The last element is moved into the vacated slot and then sifted up or down, depending on whether it is
+     * larger than its new parent. The method performs no I/O and allocates nothing; a registered HeapListener,
+     * if any, is notified after the heap has been restored.
+     *
+     * @param index The index of the element to be removed.
+     *
+     * @return The removed element.
+     *
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Algorithm:
+     * - Check if the specified index is out of bounds; if so, throw an IndexOutOfBoundsException.
+     * - Remove the last element. If it was the element at the specified index, the heap is already valid.
+     * - Otherwise, if the last element is larger than the parent of the vacated slot, sift it up from there;
+     * if not, sift it down.
+     * - Notify the listener, if one is registered.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Removing the element at index 2 from the D-ary heap
+     *   Integer removed = heap.removeAt(2);
+     * }
+     * </pre>
+     */
+    public T removeAt(int index) {
+
+        if (index < 0 || index >= heap.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                        " size " + heap.size());
+        }
+
+        T removed = heap.get(index);
+
+        // Drop the last element; it refills the vacated slot unless it was the removed element itself
+        T lastElement = heap.remove(heap.size() - 1);
+        if (index < heap.size()) {
+            // The moved element may be larger than its new parent, so sift it up; otherwise sift it down
+            if (index > 0 && compare(heap.get(parent(index)), lastElement) < 0) {
+                siftUp(index, lastElement);
+            } else {
+                siftDown(index, lastElement);
+            }
+        }
+
+        if (listener != null) {
+            listener.onRemove(index, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Deletes the element at the specified index in the D-ary heap and maintains the heap properties.
+     * <p>
+     * Equivalent to removeAt, without returning the removed element.
+     *
+     * @param i The index of the element to be deleted.
+     *
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Deleting the element at index 2 from the D-ary heap
+     *   heap.delete(2);
+     * }
+     * </pre>
+     */
+    public void delete(int i) {
+
+        removeAt(i);
+    }
+
+    /**
+     * Registers a listener that is notified of removals, replacing any previous listener.
+     *
+     * @param listener The listener, or null to remove the current one.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.setListener((index, removed) -> System.out.println("Removed " + removed + " at " + index));
+     * }
+     * </pre>
+     */
+    public void setListener(HeapListener<? super T> listener) {
+
+        this.listener = listener;
+    }
+
+}
@@ -0,0 +1,187 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+
+public class DaryHeapTest {
+
+    /**
+     * Main method to interact with and demonstrate the D-ary Heap implementation.
+     * <p>
+     * This method creates a D-ary Heap based on user input.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Running the main program to interact with the D-ary Heap
+     *   main(args);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The program continuously prompts the user for actions until manually exited.
+     * - Ensure to provide valid inputs according to the specified actions.
+     */
+    public static void main(String[] args) {
+
+        Scanner scanner = new Scanner(System.in);
+
+        // Ask for the requested d value
+        System.out.print("Enter the degree of the d-ary heap (must be at least 2): ");
+        int d = scanner.nextInt();
+
+        // Create a D-ary Heap
+        DaryHeap<Integer> daryHeap = reportDeletions(new DaryHeap<>(d));
+
+        while (true) {
+            // Ask the user for the action
+            printLine("\nChoose an action:");
+            printLine("1. Insert element");
+            printLine("2. Extract maximum element");
+            printLine("3. Build Max-Heap");
+            printLine("4. Increase Key");
+            printLine("5. Delete Key");
+            printLine("6. Print Heap by Depth");
+            printLine("7. Exit");
+
+            int choice = scanner.nextInt();
+
+            switch (choice) {
+                case 1:
+                    print("Enter the element to insert: ");
+                    int element = scanner.nextInt();
+                    daryHeap.maxHeapInsert(element);
+                    break;
+                case 2:
+                    try {
+                        printLine("Extracted max element: " + daryHeap.extractMax());
+                    } catch (Exception e) {
+                        printLine(e.getMessage());
+                    }
+                    break;
+                case 3:
+                    daryHeap = reportDeletions(buildNewHeap(scanner, d));
+                    break;
+                case 4:
+                    System.out.print("Enter the index of the element to increase key: ");
+                    int index = scanner.nextInt();
+                    System.out.print("Enter the new key value: ");
+                    int newKey = scanner.nextInt();
+                    daryHeap.heapIncreaseKey(index, newKey);
+                    break;
+                case 5:
+                    print("Enter the key you want to delete: ");
+                    int delKey = scanner.nextInt();
+                    daryHeap.delete(delKey);
+                    break;
+                case 6:
+                    daryHeap.printHeapByDepth();
+                    break;
+                case 7:
+                    printLine("Exiting program. Bye!");
+                    System.exit(0);
+                    return;
+                default:
+                    printLine("Invalid choice. Please try again.");
+            }
+        }
+    }
+
+    /**
+     * Builds a new D-ary heap using user input.
+     * <p>
+     * This method prompts the user to enter the number of elements and the elements themselves,
+     * then constructs and returns a new D-ary heap using the provided degree 'd'.
+     *
+     * @param scanner Scanner object to read user input.
+     * @param d The degree of the D-ary heap (must be at least 2).
+     *
+     * @return A new D-ary heap constructed from user input.
+     *
+     * @throws IllegalArgumentException if the number of elements is negative or the list of elements is empty.
+     * <p>
+     * Time Complexity: O(numElements)
+     * - The time complexity is linear as it depends on the number of elements entered by the user.
+     * <p>
+     * Space Complexity: O(numElements)
+     * - The space complexity is linear as it depends on the number of elements entered by the user.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Building a new D-ary heap using user input
+     *   DaryHeap<Integer> newHeap = buildNewHeap(scanner, 3);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The method assumes a valid degree 'd' is provided.
+     * - The user is prompted to enter the number of elements and each element individually.
+     */
+    private static DaryHeap<Integer> buildNewHeap(Scanner scanner, int d) {
+        // Ask for new values to build a new heap
+        print("Enter the number of elements for the new heap: ");
+        int numElements = scanner.nextInt();
+
+        if (numElements < 0) {
+            throw new IllegalArgumentException("Number of elements must be non-negative");
+        }
+
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < numElements; i++) {
+            print("Enter element " + (i + 1) + ": ");
+            elements.add(scanner.nextInt());
+        }
+
+        if (elements.isEmpty()) {
+            throw new IllegalArgumentException("List of elements cannot be empty");
+        }
+
+        return new DaryHeap<>(elements, d);
+    }
+
+    /**
+     * Registers a listener that prints the heap after every deletion made from the menu.
+     * <p>
+     * DaryHeap itself never prints on removal; the interactive program opts in to this output here.
+     *
+     * @param heap The heap to observe.
+     *
+     * @return The same heap, for chaining.
+     */
+    private static DaryHeap<Integer> reportDeletions(DaryHeap<Integer> heap) {
+
+        heap.setListener((index, removed) -> {
+            printLine("\nThe updated heap after removing the node at index '" + index + "' is: ");
+            heap.printHeapByDepth();
+            printLine("");
+        });
+        return heap;
+    }
+
+    /**
+     * Prints a line to the standard output.
+     * <p>
+     * This method prints the specified message followed by a newline to the standard output.
+     *
+     * @param message The message to be printed.
+     */
+    private static void printLine(String message) {
+
+        System.out.println(message);
+    }
+
+    /**
+     * Prints a message to the standard output without a newline.
+     *
+     * @param message The message to be printed.
+     */
+    private static void print(String message) {
+
+        System.out.print(message);
+    }
+
+}
+
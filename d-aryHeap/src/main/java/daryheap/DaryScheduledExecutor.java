@@ -0,0 +1,827 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * DaryScheduledExecutor Class
+ * <p>
+ * This class is a ScheduledExecutorService whose delay queue is an IndexedDaryHeap of tasks keyed on their
+ * System.nanoTime deadlines, with the earliest deadline at the root. Every queued task remembers its heap handle,
+ * so cancelling a pending timer removes it from the heap in O(d * log_d(n)) instead of leaving it behind until its
+ * deadline, and a pending timer can be moved to a new deadline in place with reschedule. With hundreds of
+ * thousands of pending timers, a 4-ary or 8-ary heap is about half as deep as the binary heap of the JDK's
+ * ScheduledThreadPoolExecutor.
+ * <p>
+ * A fixed pool of worker threads shares the heap under one ReentrantLock. As in java.util.concurrent.DelayQueue,
+ * one worker (the leader) waits for the deadline at the root, and the others wait until they are signalled, so a
+ * new earliest deadline wakes a single thread.
+ * <p>
+ * Constructors:
+ * - DaryScheduledExecutor(int threads, int d): Worker threads from Executors.defaultThreadFactory().
+ * - DaryScheduledExecutor(int threads, int d, ThreadFactory threadFactory): Worker threads from the given factory.
+ * <p>
+ * Public Methods:
+ * - schedule(Runnable / Callable, long delay, TimeUnit unit): Runs a task once after a delay.
+ * - scheduleAtFixedRate / scheduleWithFixedDelay: Runs a task periodically.
+ * - execute / submit: Runs a task as soon as a worker is free.
+ * - boolean reschedule(ScheduledFuture<?> future, long delay, TimeUnit unit): Moves a pending task to a new deadline.
+ * - int getQueueSize() / int getDegree(): Number of pending tasks and the degree of the heap.
+ * - shutdown / shutdownNow / isShutdown / isTerminated / awaitTermination: Lifecycle, as in ExecutorService.
+ * <p>
+ * Private Methods:
+ * - void enqueue(ScheduledTask<?> task): Queues a new task, or rejects it after shutdown.
+ * - void requeue(ScheduledTask<?> task): Queues the next run of a periodic task.
+ * - void dequeue(ScheduledTask<?> task): Removes a cancelled task from the heap by its handle.
+ * - ScheduledTask<?> take(): Waits for the next due task; the worker loop calls it.
+ * - long triggerTime(long delay, TimeUnit unit): Converts a delay into a nanoTime deadline.
+ * <p>
+ * Notes:
+ * - Tasks with equal deadlines run in the order they were scheduled.
+ * - After shutdown, delayed one-shot tasks still run at their deadlines and periodic tasks are cancelled,
+ * matching the default policies of ScheduledThreadPoolExecutor. shutdownNow returns the pending tasks.
+ * - A task that throws is not run again, even if periodic; the exception is reported by its future.
+ * - Delays are capped at Long.MAX_VALUE / 2 nanoseconds (about 146 years), so deadlines can be compared by
+ * subtraction without overflow.
+ */
+class DaryScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+    /**
+     * Handle stored in tasks that are not in the heap.
+     */
+    private static final int NOT_QUEUED = -1;
+
+    /**
+     * The largest delay, in nanoseconds.
+     */
+    private static final long MAX_DELAY = Long.MAX_VALUE >> 1;
+
+    /**
+     * Run states, in the order they are reached.
+     */
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+    private static final int TERMINATED = 3;
+
+    /**
+     * The delay queue, ordered so that the earliest deadline is the maximum. Guarded by lock.
+     */
+    private final IndexedDaryHeap<ScheduledTask<?>> queue;
+
+    /**
+     * Degree of the heap.
+     */
+    private final int d;
+
+    /**
+     * Guards the heap, the run state and the worker bookkeeping.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when a new earliest task is queued, when the leader steps down, and on shutdown.
+     */
+    private final Condition available = lock.newCondition();
+
+    /**
+     * Signalled when the last worker exits.
+     */
+    private final Condition terminated = lock.newCondition();
+
+    /**
+     * The worker threads.
+     */
+    private final Thread[] workers;
+
+    /**
+     * The worker waiting for the deadline at the root, or null. Guarded by lock.
+     */
+    private Thread leader;
+
+    /**
+     * Sequence number of the next queued task, breaking ties between equal deadlines. Guarded by lock.
+     */
+    private long sequencer;
+
+    /**
+     * Number of workers that have not exited. Guarded by lock.
+     */
+    private int liveWorkers;
+
+    /**
+     * RUNNING, SHUTDOWN, STOP or TERMINATED. Written under lock, read without it.
+     */
+    private volatile int state = RUNNING;
+
+    /**
+     * ScheduledTask Class
+     * <p>
+     * A FutureTask with a deadline and its handle in the delay queue.
+     *
+     * @param <V> The result type of the task.
+     */
+    private final class ScheduledTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        /**
+         * Deadline in System.nanoTime units. Written under lock, read by getDelay without it.
+         */
+        private volatile long time;
+
+        /**
+         * 0 for one-shot tasks, a positive period for fixed-rate tasks, a negated delay for fixed-delay tasks.
+         */
+        private final long period;
+
+        /**
+         * Tie-breaker between equal deadlines. Guarded by lock.
+         */
+        private long sequence;
+
+        /**
+         * Handle in the delay queue, or NOT_QUEUED. Guarded by lock.
+         */
+        private int handle = NOT_QUEUED;
+
+        ScheduledTask(Runnable command, V result, long time, long period) {
+
+            super(command, result);
+            this.time = time;
+            this.period = period;
+        }
+
+        ScheduledTask(Callable<V> callable, long time) {
+
+            super(callable);
+            this.time = time;
+            this.period = 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+
+            if (other == this) {
+                return 0;
+            }
+            if (other instanceof ScheduledTask) {
+                ScheduledTask<?> task = (ScheduledTask<?>) other;
+                long difference = time - task.time;
+                if (difference != 0) {
+                    return difference < 0 ? -1 : 1;
+                }
+                return Long.compare(sequence, task.sequence);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean isPeriodic() {
+
+            return period != 0;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                dequeue(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public void run() {
+
+            if (!isPeriodic()) {
+                super.run();
+            } else if (super.runAndReset()) {
+                time = (period > 0) ? time + period : triggerTime(-period, TimeUnit.NANOSECONDS);
+                requeue(this);
+            }
+        }
+
+        /**
+         * Returns the executor that created this task.
+         */
+        DaryScheduledExecutor owner() {
+
+            return DaryScheduledExecutor.this;
+        }
+    }
+
+    /**
+     * Initializes an executor with the given number of workers, created by Executors.defaultThreadFactory().
+     *
+     * @param threads The number of worker threads, at least 1.
+     * @param d The degree of the delay queue heap, at least 2.
+     *
+     * @throws IllegalArgumentException if the thread count is less than 1 or the degree is less than 2.
+     * <p>
+     * Time Complexity: O(threads)
+     */
+    public DaryScheduledExecutor(int threads, int d) {
+
+        this(threads, d, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Initializes an executor and starts its workers.
+     *
+     * @param threads The number of worker threads, at least 1.
+     * @param d The degree of the delay queue heap, at least 2.
+     * @param threadFactory The factory for the worker threads.
+     *
+     * @throws IllegalArgumentException if the thread count is less than 1 or the degree is less than 2.
+     * @throws NullPointerException if the thread factory is null.
+     * <p>
+     * Time Complexity: O(threads)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Request timeouts: most are cancelled long before they fire
+     *   ScheduledExecutorService timers = new DaryScheduledExecutor(2, 8);
+     *   ScheduledFuture<?> timeout = timers.schedule(request::expire, 30, TimeUnit.SECONDS);
+     *   ...
+     *   timeout.cancel(false); // Leaves the heap at once
+     * }
+     * </pre>
+     */
+    public DaryScheduledExecutor(int threads, int d, ThreadFactory threadFactory) {
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        if (threadFactory == null) {
+            throw new NullPointerException();
+        }
+
+        this.d = d;
+        this.queue = new IndexedDaryHeap<>(d, (a, b) -> b.compareTo(a));
+        this.workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = threadFactory.newThread(this::work);
+        }
+
+        liveWorkers = threads;
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Runs a task once after the given delay.
+     *
+     * @param command The task to run.
+     * @param delay The delay; zero or negative delays run the task as soon as possible.
+     * @param unit The unit of the delay.
+     *
+     * @return A future that completes with null after the task has run, and removes the task when cancelled.
+     *
+     * @throws NullPointerException if the task or the unit is null.
+     * @throws RejectedExecutionException if the executor has been shut down.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+
+        if (command == null || unit == null) {
+            throw new NullPointerException();
+        }
+
+        ScheduledTask<Void> task = new ScheduledTask<>(command, null, triggerTime(delay, unit), 0);
+        enqueue(task);
+        return task;
+    }
+
+    /**
+     * Runs a value-returning task once after the given delay.
+     *
+     * @param callable The task to run.
+     * @param delay The delay; zero or negative delays run the task as soon as possible.
+     * @param unit The unit of the delay.
+     *
+     * @return A future that completes with the task's result.
+     *
+     * @throws NullPointerException if the task or the unit is null.
+     * @throws RejectedExecutionException if the executor has been shut down.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+
+        if (callable == null || unit == null) {
+            throw new NullPointerException();
+        }
+
+        ScheduledTask<V> task = new ScheduledTask<>(callable, triggerTime(delay, unit));
+        enqueue(task);
+        return task;
+    }
+
+    /**
+     * Runs a task periodically, at initialDelay, initialDelay + period, initialDelay + 2 * period, and so on.
+     * A run that starts late does not shift the later deadlines, and runs never overlap.
+     *
+     * @param command The task to run.
+     * @param initialDelay The delay before the first run.
+     * @param period The time between the starts of consecutive runs.
+     * @param unit The unit of the delay and the period.
+     *
+     * @return A future that completes only when the task is cancelled or throws.
+     *
+     * @throws NullPointerException if the task or the unit is null.
+     * @throws IllegalArgumentException if the period is not positive.
+     * @throws RejectedExecutionException if the executor has been shut down.
+     * <p>
+     * Time Complexity: O(log_d(n)) per run.
+     */
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+
+        if (command == null || unit == null) {
+            throw new NullPointerException();
+        }
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+
+        ScheduledTask<Void> task = new ScheduledTask<>(
+                command, null, triggerTime(initialDelay, unit), Math.min(unit.toNanos(period), MAX_DELAY));
+        enqueue(task);
+        return task;
+    }
+
+    /**
+     * Runs a task periodically, waiting the given delay between the end of one run and the start of the next.
+     *
+     * @param command The task to run.
+     * @param initialDelay The delay before the first run.
+     * @param delay The time between the end of a run and the start of the next.
+     * @param unit The unit of the delays.
+     *
+     * @return A future that completes only when the task is cancelled or throws.
+     *
+     * @throws NullPointerException if the task or the unit is null.
+     * @throws IllegalArgumentException if the delay is not positive.
+     * @throws RejectedExecutionException if the executor has been shut down.
+     * <p>
+     * Time Complexity: O(log_d(n)) per run.
+     */
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+
+        if (command == null || unit == null) {
+            throw new NullPointerException();
+        }
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Delay must be positive");
+        }
+
+        ScheduledTask<Void> task = new ScheduledTask<>(
+                command, null, triggerTime(initialDelay, unit), -Math.min(unit.toNanos(delay), MAX_DELAY));
+        enqueue(task);
+        return task;
+    }
+
+    /**
+     * Runs a task as soon as a worker is free, after the tasks that are already due.
+     *
+     * @param command The task to run.
+     *
+     * @throws NullPointerException if the task is null.
+     * @throws RejectedExecutionException if the executor has been shut down.
+     */
+    @Override
+    public void execute(Runnable command) {
+
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+
+        return schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public <V> Future<V> submit(Runnable task, V result) {
+
+        return schedule(Executors.callable(task, result), 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public <V> Future<V> submit(Callable<V> task) {
+
+        return schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Moves a pending task to a new deadline, earlier or later, without removing it from the heap.
+     * For a periodic task, this moves only its next run.
+     *
+     * @param future A future returned by this executor's schedule methods.
+     * @param delay The new delay, measured from now.
+     * @param unit The unit of the delay.
+     *
+     * @return true if the task was moved, false if it is not pending (it is running, done or cancelled) or was
+     * not created by this executor.
+     *
+     * @throws NullPointerException if the unit is null.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Idle timeout: push the deadline back on every request instead of cancel + schedule
+     *   executor.reschedule(idleTimeout, 60, TimeUnit.SECONDS);
+     * }
+     * </pre>
+     */
+    public boolean reschedule(ScheduledFuture<?> future, long delay, TimeUnit unit) {
+
+        if (unit == null) {
+            throw new NullPointerException();
+        }
+        if (!(future instanceof ScheduledTask)
+                || ((ScheduledTask<?>) future).owner() != this) {
+            return false;
+        }
+
+        ScheduledTask<?> task = (ScheduledTask<?>) future;
+        long time = triggerTime(delay, unit);
+        lock.lock();
+        try {
+            if (task.handle == NOT_QUEUED) {
+                return false;
+            }
+
+            // The task is reordered in place; new sequence number keeps ties in scheduling order
+            task.time = time;
+            task.sequence = sequencer++;
+            queue.updateKey(task.handle, task);
+            if (queue.peekMaxHandle() == task.handle) {
+                leader = null;
+                available.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of pending tasks, including tasks that are due but not yet taken by a worker.
+     *
+     * @return The number of tasks in the delay queue.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int getQueueSize() {
+
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the degree of the delay queue heap.
+     *
+     * @return The degree.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int getDegree() {
+
+        return d;
+    }
+
+    /**
+     * Stops accepting tasks. Pending one-shot tasks still run at their deadlines; periodic tasks are cancelled.
+     * <p>
+     * Time Complexity: O(n * d * log_d(n)), to take the periodic tasks out of the heap.
+     */
+    @Override
+    public void shutdown() {
+
+        List<ScheduledTask<?>> periodic = new ArrayList<>();
+        lock.lock();
+        try {
+            if (state != RUNNING) {
+                return;
+            }
+            state = SHUTDOWN;
+
+            List<ScheduledTask<?>> pending = drainQueue();
+            for (ScheduledTask<?> task : pending) {
+                if (task.isPeriodic()) {
+                    periodic.add(task);
+                } else {
+                    task.handle = queue.insert(task);
+                }
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        for (ScheduledTask<?> task : periodic) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Stops accepting tasks, removes every pending task and interrupts the workers.
+     *
+     * @return The tasks that were pending, in deadline order.
+     * <p>
+     * Time Complexity: O(n * d * log_d(n))
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+
+        List<Runnable> pending;
+        lock.lock();
+        try {
+            if (state < STOP) {
+                state = STOP;
+            }
+            pending = new ArrayList<>(drainQueue());
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+
+        return state != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+
+        return state == TERMINATED;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (state != TERMINATED) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = terminated.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a new task.
+     *
+     * @param task The task.
+     *
+     * @throws RejectedExecutionException if the executor has been shut down.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    private void enqueue(ScheduledTask<?> task) {
+
+        lock.lock();
+        try {
+            if (state != RUNNING) {
+                throw new RejectedExecutionException("[Executor Shutdown] Executor no longer accepts tasks.");
+            }
+            insert(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues the next run of a periodic task, unless the task has been cancelled or the executor shut down.
+     *
+     * @param task The periodic task, with its deadline already advanced.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    private void requeue(ScheduledTask<?> task) {
+
+        boolean queued = false;
+        lock.lock();
+        try {
+            // A cancel that lands after this check finds the task queued and removes it again
+            if (state == RUNNING && !task.isCancelled()) {
+                insert(task);
+                queued = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!queued) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Removes a task from the heap by its handle, if it is still queued.
+     *
+     * @param task The task.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     */
+    private void dequeue(ScheduledTask<?> task) {
+
+        lock.lock();
+        try {
+            if (task.handle != NOT_QUEUED) {
+                queue.remove(task.handle);
+                task.handle = NOT_QUEUED;
+                if (state != RUNNING && queue.isEmpty()) {
+                    // Idle workers of a shut down executor may now exit
+                    available.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts a task into the heap and wakes a worker if it became the earliest. The lock must be held.
+     *
+     * @param task The task.
+     */
+    private void insert(ScheduledTask<?> task) {
+
+        task.sequence = sequencer++;
+        task.handle = queue.insert(task);
+        if (queue.peekMaxHandle() == task.handle) {
+            // The leader is waiting for a later deadline
+            leader = null;
+            available.signal();
+        }
+    }
+
+    /**
+     * Removes every task from the heap, earliest first. The lock must be held.
+     *
+     * @return The removed tasks.
+     */
+    private List<ScheduledTask<?>> drainQueue() {
+
+        List<ScheduledTask<?>> tasks = new ArrayList<>(queue.size());
+        while (!queue.isEmpty()) {
+            ScheduledTask<?> task = queue.extractMax();
+            task.handle = NOT_QUEUED;
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * The worker loop: runs due tasks until take returns null, then records the exit.
+     */
+    private void work() {
+
+        try {
+            ScheduledTask<?> task;
+            while ((task = take()) != null) {
+                if (state < STOP) {
+                    // Clear an interrupt left over from cancel(true) on the previous task
+                    Thread.interrupted();
+                }
+                task.run();
+            }
+        } finally {
+            lock.lock();
+            try {
+                if (--liveWorkers == 0) {
+                    state = TERMINATED;
+                    terminated.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Waits until the task at the root is due, then removes and returns it.
+     *
+     * @return The due task, or null if the worker should exit: after shutdownNow, or after shutdown once the
+     * heap is empty.
+     * <p>
+     * Time Complexity: O(d * log_d(n)), plus the wait.
+     * <p>
+     * Algorithm:
+     * - If no task is due, the first idle worker becomes the leader and waits until the root's deadline;
+     * the others wait without a timeout.
+     * - A worker that leaves with the leader position open signals the next one, so exactly one worker watches
+     * the root at any time.
+     */
+    private ScheduledTask<?> take() {
+
+        lock.lock();
+        try {
+            while (true) {
+                try {
+                    if (state >= STOP) {
+                        return null;
+                    }
+                    if (queue.isEmpty()) {
+                        if (state == SHUTDOWN) {
+                            return null;
+                        }
+                        available.await();
+                        continue;
+                    }
+
+                    ScheduledTask<?> first = queue.peekMax();
+                    long delay = first.time - System.nanoTime();
+                    if (delay <= 0) {
+                        queue.extractMax();
+                        first.handle = NOT_QUEUED;
+                        return first;
+                    }
+
+                    if (leader != null) {
+                        available.await();
+                    } else {
+                        Thread current = Thread.currentThread();
+                        leader = current;
+                        try {
+                            available.awaitNanos(delay);
+                        } finally {
+                            if (leader == current) {
+                                leader = null;
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // shutdownNow, or a stray interrupt; the run state is checked again
+                }
+            }
+        } finally {
+            if (leader == null && (!queue.isEmpty() || state != RUNNING)) {
+                available.signal();
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Converts a delay into a System.nanoTime deadline.
+     *
+     * @param delay The delay; negative delays count as zero.
+     * @param unit The unit of the delay.
+     *
+     * @return The deadline.
+     */
+    private long triggerTime(long delay, TimeUnit unit) {
+
+        return System.nanoTime() + Math.min(unit.toNanos(Math.max(delay, 0)), MAX_DELAY);
+    }
+
+}
@@ -0,0 +1,30 @@
+package daryheap;
+
+/**
+ * ExtractMode Enum
+ * <p>
+ * Selects how a D-ary heap restores the heap properties after its maximum element has been removed.
+ * <p>
+ * Constants:
+ * - STANDARD: The last element is placed at the root and sifted down, comparing it against the maximum child
+ * on every level (d comparisons per level).
+ * - BOTTOM_UP: The hole left at the root is first moved down along the path of maximum children to a leaf
+ * (d - 1 comparisons per level), and the last element is then sifted up from that leaf. Because the last
+ * element usually belongs near the bottom, the sift-up typically stops after one or two comparisons.
+ * <p>
+ * Notes:
+ * - BOTTOM_UP saves up to one comparison per level, which matters most for small degrees and for expensive
+ * comparators. Use the heap's comparison counter to measure the effect on a given workload.
+ */
+enum ExtractMode {
+
+    /**
+     * Sift the last element down from the root (Williams).
+     */
+    STANDARD,
+
+    /**
+     * Walk the maximum-child path to a leaf, then sift the last element up (Floyd / Wegener).
+     */
+    BOTTOM_UP
+}
@@ -0,0 +1,464 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * FlatCombiningDaryHeap Class
+ * <p>
+ * This class makes a DaryHeap thread-safe with flat combining (Hendler, Incze, Shavit and Tzafrir, "Flat Combining
+ * and the Synchronization-Parallelism Tradeoff", 2010). Instead of every thread taking a lock around every
+ * operation, a thread publishes its request in a slot and waits on that slot. Whichever thread acquires the
+ * combiner lock applies all published requests to the heap in one pass and hands back the results, so the lock
+ * and the heap stay in one core's cache for the whole batch, and waiting threads spin only on their own slot.
+ * <p>
+ * Seeing a whole batch at once lets the combiner do less work than the operations one by one:
+ * - An extraction is paired with a pending insert whose element is not smaller than the heap's maximum;
+ * the element is handed over directly and never enters the heap.
+ * - The remaining inserts are added with DaryHeap.addAll, which re-heapifies once when the batch is large.
+ *
+ * @param <T> The type of elements stored. Elements are ordered by the supplied Comparator, or by their natural
+ *            ordering (they must implement Comparable) when no Comparator is given.
+ * <p>
+ * Constructors:
+ * - FlatCombiningDaryHeap(int d): Natural ordering, two slots per available processor.
+ * - FlatCombiningDaryHeap(int d, Comparator<? super T> comparator, int slots): Full control.
+ * <p>
+ * Public Methods:
+ * - void insert(T element): Inserts an element.
+ * - T extractMax() / Optional<T> tryExtractMax(): Remove the maximum element.
+ * - int size() / boolean isEmpty(): Size as of the last combining pass.
+ * - long getCombiningPasses() / long getCombinedOperations() / long getEliminatedOperations(): Statistics.
+ * <p>
+ * Private Methods:
+ * - Slot<T> submit(int operation, T element): Publishes a request and waits until it has been applied.
+ * - void combine(): Applies every published request to the heap.
+ * - int compare(T a, T b): Compares two elements using the comparator or their natural ordering.
+ * <p>
+ * Notes:
+ * - Operations are linearizable: within a pass, the combiner orders all inserts before all extractions, and
+ * every extraction returns the larger of the heap's maximum and the largest unpaired insert.
+ * - A thread claims the first free slot starting from one derived from its id, so no registration is needed
+ * and threads may come and go; with more concurrent threads than slots, the extra threads wait for a slot.
+ * - Null elements are not allowed, since a null result marks an extraction from an empty heap.
+ */
+class FlatCombiningDaryHeap<T> {
+
+    /**
+     * Slot state: free for any thread to claim.
+     */
+    private static final int FREE = 0;
+
+    /**
+     * Slot state: claimed by a thread that is still writing its request.
+     */
+    private static final int CLAIMED = 1;
+
+    /**
+     * Slot state: the request is published and waits for a combiner.
+     */
+    private static final int PENDING = 2;
+
+    /**
+     * Slot state: the request has been applied and the result can be read.
+     */
+    private static final int DONE = 3;
+
+    /**
+     * Request type: insert the slot's element.
+     */
+    private static final int INSERT = 0;
+
+    /**
+     * Request type: extract the maximum into the slot's result.
+     */
+    private static final int EXTRACT = 1;
+
+    /**
+     * Number of busy-wait iterations before a waiting thread starts yielding the CPU.
+     */
+    private static final int SPIN_LIMIT = 256;
+
+    /**
+     * Slot Class
+     * <p>
+     * One publication record. The state is the only field accessed by two threads at once; the request is written
+     * before it becomes PENDING and the result before it becomes DONE, so the volatile state publishes both.
+     */
+    private static final class Slot<T> {
+
+        volatile int state = FREE;
+        int operation;
+        T element;
+        T result;
+    }
+
+    /**
+     * Compare-and-set access to a slot's state, used to claim a free slot.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<Slot> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Slot.class, "state");
+
+    /**
+     * The publication records.
+     */
+    private final Slot<T>[] slots;
+
+    /**
+     * The underlying heap. Only the combiner accesses it.
+     */
+    private final DaryHeap<T> heap;
+
+    /**
+     * Comparator used to order the elements, or null to use their natural ordering.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Insert requests collected by the combiner; reused across passes so that combining does not allocate.
+     */
+    private final List<Slot<T>> pendingInserts = new ArrayList<>();
+
+    /**
+     * Extraction requests collected by the combiner; reused across passes.
+     */
+    private final List<Slot<T>> pendingExtracts = new ArrayList<>();
+
+    /**
+     * Orders insert requests by element, largest first; created once so that sorting a pass does not allocate it.
+     */
+    private final Comparator<Slot<T>> largestElementFirst = (a, b) -> compare(b.element, a.element);
+
+    /**
+     * Elements of the inserts left unpaired, passed to addAll; reused across passes.
+     */
+    private final List<T> unpaired = new ArrayList<>();
+
+    /**
+     * Held by the thread acting as the combiner.
+     */
+    private final ReentrantLock combinerLock = new ReentrantLock();
+
+    /**
+     * Number of elements in the heap after the last combining pass.
+     */
+    private volatile int size;
+
+    /**
+     * Number of combining passes that applied at least one request. Written by the combiner only.
+     */
+    private volatile long passes;
+
+    /**
+     * Number of requests applied by combiners. Written by the combiner only.
+     */
+    private volatile long combined;
+
+    /**
+     * Number of extractions served directly from a pending insert. Written by the combiner only.
+     */
+    private volatile long eliminated;
+
+    /**
+     * Initializes an empty flat-combining heap ordered by natural ordering, with two slots per available processor.
+     *
+     * @param d The degree of the underlying D-ary heap, at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(P)
+     */
+    public FlatCombiningDaryHeap(int d) {
+
+        this(d, null, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initializes an empty flat-combining heap.
+     *
+     * @param d The degree of the underlying D-ary heap, at least 2.
+     * @param comparator The comparator to order the elements, or null to use their natural ordering.
+     * @param slots The number of publication slots, at least 1. Use at least the number of threads that operate on
+     * the heap at the same time.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2 or the number of slots is less than 1.
+     * <p>
+     * Time Complexity: O(slots)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   FlatCombiningDaryHeap<Job> jobs = new FlatCombiningDaryHeap<>(4, Comparator.comparingInt(Job::priority), 64);
+     * }
+     * </pre>
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public FlatCombiningDaryHeap(int d, Comparator<? super T> comparator, int slots) {
+
+        if (slots < 1) {
+            throw new IllegalArgumentException("Number of slots must be at least 1");
+        }
+
+        this.heap = new DaryHeap<>(d, comparator);
+        this.comparator = comparator;
+        this.slots = (Slot<T>[]) new Slot[slots];
+        for (int i = 0; i < slots; i++) {
+            this.slots[i] = new Slot<>();
+        }
+    }
+
+    /**
+     * Inserts an element into the heap.
+     *
+     * @param element The element to be inserted.
+     *
+     * @throws IllegalArgumentException if the element is null.
+     * <p>
+     * Time Complexity: O(log_d(n)) amortized over a combining pass, plus the wait for the combiner.
+     */
+    public void insert(T element) {
+
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        Slot<T> slot = submit(INSERT, element);
+        slot.state = FREE;
+    }
+
+    /**
+     * Removes and returns the maximum element.
+     *
+     * @return The maximum element.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n)), or O(1) when paired with a concurrent insert, plus the wait for the combiner.
+     */
+    public T extractMax() {
+
+        T max = tryExtractMax().orElse(null);
+        if (max == null) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot extract maximum element.");
+        }
+        return max;
+    }
+
+    /**
+     * Removes and returns the maximum element, if any.
+     *
+     * @return The maximum element, or an empty Optional if the heap was empty when the request was applied.
+     * <p>
+     * Time Complexity: O(d * log_d(n)), or O(1) when paired with a concurrent insert, plus the wait for the combiner.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   jobs.tryExtractMax().ifPresent(Job::run);
+     * }
+     * </pre>
+     */
+    public Optional<T> tryExtractMax() {
+
+        Slot<T> slot = submit(EXTRACT, null);
+        T result = slot.result;
+        slot.result = null;
+        slot.state = FREE;
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Returns the number of elements in the heap after the last combining pass.
+     *
+     * @return The number of elements.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Checks if the heap was empty after the last combining pass.
+     *
+     * @return true if the heap is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of combining passes so far.
+     *
+     * @return The number of passes.
+     */
+    public long getCombiningPasses() {
+
+        return passes;
+    }
+
+    /**
+     * Returns the number of requests applied by combiners so far; divided by getCombiningPasses, this is the
+     * average batch size.
+     *
+     * @return The number of requests.
+     */
+    public long getCombinedOperations() {
+
+        return combined;
+    }
+
+    /**
+     * Returns the number of extractions served directly from a pending insert, without touching the heap.
+     *
+     * @return The number of paired extractions.
+     */
+    public long getEliminatedOperations() {
+
+        return eliminated;
+    }
+
+    /**
+     * Publishes a request and waits until a combiner, possibly the calling thread, has applied it.
+     * <p>
+     * The caller must read the result, if any, and then set the slot back to FREE.
+     *
+     * @param operation INSERT or EXTRACT.
+     * @param element The element to insert, or null.
+     *
+     * @return The slot, in the DONE state.
+     */
+    private Slot<T> submit(int operation, T element) {
+
+        // Claim a slot, starting from one derived from the thread id
+        int index = (int) (Thread.currentThread().getId() % slots.length);
+        int spins = 0;
+        Slot<T> slot;
+        while (true) {
+            slot = slots[index];
+            if (slot.state == FREE && STATE.compareAndSet(slot, FREE, CLAIMED)) {
+                break;
+            }
+            index = (index + 1 == slots.length) ? 0 : index + 1;
+            if (++spins > SPIN_LIMIT) {
+                Thread.yield();
+            }
+        }
+        slot.operation = operation;
+        slot.element = element;
+        slot.state = PENDING;
+
+        // Wait on the slot, becoming the combiner whenever the role is free
+        spins = 0;
+        while (slot.state != DONE) {
+            if (!combinerLock.isLocked() && combinerLock.tryLock()) {
+                try {
+                    combine();
+                } finally {
+                    combinerLock.unlock();
+                }
+            } else if (++spins < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Applies every published request to the heap. The combiner lock must be held.
+     * <p>
+     * Algorithm:
+     * - Collect the PENDING slots, splitting them into inserts and extractions.
+     * - Sort the inserts, largest first.
+     * - Serve each extraction with the larger of the heap's maximum and the largest unserved insert; an insert used
+     * this way never enters the heap.
+     * - Add the remaining inserts with a single addAll, then mark every collected slot DONE.
+     * <p>
+     * Time Complexity: O(b log b + e * d * log_d(n) + min(i * log_d(n), n)) for a batch of b requests, e of them
+     * extractions and i unpaired inserts.
+     */
+    private void combine() {
+
+        List<Slot<T>> inserts = pendingInserts;
+        List<Slot<T>> extracts = pendingExtracts;
+        inserts.clear();
+        extracts.clear();
+        for (Slot<T> slot : slots) {
+            if (slot.state == PENDING) {
+                if (slot.operation == INSERT) {
+                    inserts.add(slot);
+                } else {
+                    extracts.add(slot);
+                }
+            }
+        }
+        if (inserts.isEmpty() && extracts.isEmpty()) {
+            return;
+        }
+
+        int paired = 0;
+        if (!extracts.isEmpty() && !inserts.isEmpty()) {
+            inserts.sort(largestElementFirst);
+        }
+        for (Slot<T> extract : extracts) {
+            boolean fromInsert = paired < inserts.size()
+                    && (heap.isEmpty() || compare(inserts.get(paired).element, heap.get(0)) >= 0);
+            if (fromInsert) {
+                extract.result = inserts.get(paired++).element;
+            } else {
+                extract.result = heap.isEmpty() ? null : heap.extractMax();
+            }
+        }
+
+        if (paired < inserts.size()) {
+            List<T> remaining = unpaired;
+            for (int i = paired; i < inserts.size(); i++) {
+                remaining.add(inserts.get(i).element);
+            }
+            heap.addAll(remaining);
+            remaining.clear();
+        }
+
+        size = heap.size();
+        passes++;
+        combined += inserts.size() + extracts.size();
+        eliminated += paired;
+
+        for (Slot<T> slot : inserts) {
+            slot.element = null;
+            slot.state = DONE;
+        }
+        for (Slot<T> slot : extracts) {
+            slot.state = DONE;
+        }
+    }
+
+    /**
+     * Compares two elements using the comparator if present, otherwise their natural ordering.
+     *
+     * @param a The first element.
+     * @param b The second element.
+     *
+     * @return A negative integer, zero, or a positive integer as 'a' is less than, equal to, or greater than 'b'.
+     *
+     * @throws ClassCastException if no comparator was supplied and the elements are not mutually Comparable.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(T a, T b) {
+
+        return (comparator == null) ? ((Comparable<? super T>) a).compareTo(b) : comparator.compare(a, b);
+    }
+
+}
@@ -0,0 +1,30 @@
+package daryheap;
+
+/**
+ * HeapListener Interface
+ * <p>
+ * An opt-in observer for structural changes of a DaryHeap. The heap operations themselves never print or
+ * build strings; callers that want diagnostics (such as the interactive DaryHeapTest menu) register a listener
+ * with {@code DaryHeap.setListener} and do their reporting there.
+ *
+ * @param <T> The type of elements stored in the observed heap.
+ * <p>
+ * Methods:
+ * - void onRemove(int index, T element): Called after the element at 'index' has been removed and the heap
+ * properties have been restored.
+ * <p>
+ * Notes:
+ * - Listeners run synchronously on the calling thread, so their cost is added to every removal.
+ * - A heap without a listener pays only a null check.
+ */
+@FunctionalInterface
+interface HeapListener<T> {
+
+    /**
+     * Called after an element has been removed from the heap.
+     *
+     * @param index The index the element was removed from.
+     * @param element The removed element.
+     */
+    void onRemove(int index, T element);
+}
@@ -0,0 +1,694 @@
+package daryheap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+
+/**
+ * IndexedDaryHeap Class
+ * <p>
+ * This class implements a D-ary max heap whose elements are addressed by stable handles instead of array indices.
+ * Every insert returns an int handle that keeps referring to the same element while it moves through the heap,
+ * so keys can be increased, decreased or removed in O(log_d(n)) without searching for the element first.
+ * This is the structure needed by Dijkstra-style algorithms and timer wheels, where priorities of queued items
+ * change while they are queued.
+ * <p>
+ * The heap stores handles in an {@code int[]} laid out exactly like DaryHeap (0-based, children of i at
+ * d * i + 1 .. d * i + d). A second array maps each handle back to its current heap position; the sift loops
+ * update it with every move.
+ *
+ * @param <T> The type of keys stored in the heap. Keys are ordered by the supplied Comparator,
+ *            or by their natural ordering when no Comparator is given. A reversed Comparator yields a min heap.
+ * <p>
+ * Constructors:
+ * - IndexedDaryHeap(int d): Initializes an empty indexed D-ary max heap with the specified degree.
+ * - IndexedDaryHeap(int d, Comparator<? super T> comparator): Same, ordered by the given comparator.
+ * <p>
+ * Public Methods:
+ * - int insert(T key): Inserts a key and returns its handle.
+ * - T peekMax() / int peekMaxHandle(): Returns the maximum key or its handle without removing it.
+ * - T extractMax() / int extractMaxHandle(): Removes the maximum element and returns its key or handle.
+ * - T get(int handle): Returns the key of a queued element.
+ * - void increaseKey(int handle, T newKey): Raises the key of a queued element.
+ * - void decreaseKey(int handle, T newKey): Lowers the key of a queued element.
+ * - void updateKey(int handle, T newKey): Replaces the key of a queued element in either direction.
+ * - T remove(int handle): Removes a queued element.
+ * - boolean contains(int handle): Checks whether a handle refers to a queued element.
+ * - int size() / boolean isEmpty() / boolean isMaxHeap(): Size and validation helpers.
+ * <p>
+ * Private Methods:
+ * - void siftUp(int index, int handle) / void siftDown(int index, int handle): Hole-based sifts that keep the
+ * position map up to date.
+ * - int parent(int i) / long firstChild(int i) / int findMaxChild(int index): Index arithmetic as in DaryHeap.
+ * - int compare(T a, T b): Compares two keys using the comparator or their natural ordering.
+ * - int checkHandle(int handle): Returns the heap position of a queued handle or throws.
+ * <p>
+ * Notes:
+ * - A handle stays valid until its element is extracted or removed. Released handles are recycled by later
+ * inserts, so callers must stop using a handle once its element has left the heap.
+ */
+class IndexedDaryHeap<T> {
+
+    /**
+     * Default capacity of the backing arrays when none is specified.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Position stored for handles that are not currently in the heap.
+     */
+    private static final int NOT_QUEUED = -1;
+
+    /**
+     * Degree of the D-ary heap. It determines the maximum number of children each element can have.
+     */
+    private final int d; // Degree of the heap
+
+    /**
+     * Multiplier that, with parentShift, divides by d in parent without a division (DaryHeap.divisionMultiplier).
+     */
+    private final long parentMultiplier;
+
+    /**
+     * Shift that goes with parentMultiplier (DaryHeap.divisionShift).
+     */
+    private final int parentShift;
+
+    /**
+     * Comparator used to order the keys, or null to use the keys' natural ordering.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The heap itself: heap[i] is the handle of the element at heap position i.
+     */
+    private int[] heap;
+
+    /**
+     * Position map: position[h] is the heap position of handle h, or NOT_QUEUED.
+     */
+    private int[] position;
+
+    /**
+     * Keys by handle: keys[h] is the key of handle h while it is queued.
+     */
+    private Object[] keys;
+
+    /**
+     * Stack of released handles available for reuse.
+     */
+    private int[] freeHandles;
+
+    /**
+     * Number of handles on the free stack.
+     */
+    private int freeCount;
+
+    /**
+     * Number of handles ever created; handles are numbered 0 .. handleCount - 1.
+     */
+    private int handleCount;
+
+    /**
+     * Number of elements currently stored in the heap.
+     */
+    private int size;
+
+    /**
+     * Initializes an empty indexed D-ary max heap with the specified degree.
+     *
+     * @param d The degree of the D-ary heap must be at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public IndexedDaryHeap(int d) {
+
+        this(d, null);
+    }
+
+    /**
+     * Initializes an empty indexed D-ary heap with the specified degree, ordered by the given comparator.
+     *
+     * @param d The degree of the D-ary heap must be at least 2.
+     * @param comparator The comparator used to order the keys, or null to use their natural ordering.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // A 4-ary min heap of tentative distances for Dijkstra
+     *   IndexedDaryHeap<Long> queue = new IndexedDaryHeap<>(4, Comparator.reverseOrder());
+     *   int handle = queue.insert(10L);
+     *   queue.increaseKey(handle, 3L); // "increase" towards the root, i.e. a shorter distance
+     * }
+     * </pre>
+     */
+    public IndexedDaryHeap(int d, Comparator<? super T> comparator) {
+
+        if (d < 2) {
+            throw new IllegalArgumentException("Degree (d) must be at least 2");
+        }
+
+        this.d = d;
+        this.parentMultiplier = DaryHeap.divisionMultiplier(d);
+        this.parentShift = DaryHeap.divisionShift(d);
+        this.comparator = comparator;
+        this.heap = new int[DEFAULT_CAPACITY];
+        this.position = new int[DEFAULT_CAPACITY];
+        this.keys = new Object[DEFAULT_CAPACITY];
+        this.freeHandles = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Inserts a key into the heap and returns a handle that refers to it until it is removed.
+     *
+     * @param key The key to be inserted.
+     *
+     * @return The handle of the new element.
+     *
+     * @throws IllegalArgumentException if the key is null.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * - Amortized; the backing arrays occasionally grow.
+     * <p>
+     * Algorithm:
+     * - Take a released handle from the free stack, or create a new one.
+     * - Store the key under the handle and sift the handle up from the first free heap position.
+     */
+    public int insert(T key) {
+
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            if (handleCount == keys.length) {
+                grow();
+            }
+            handle = handleCount++;
+        }
+
+        keys[handle] = key;
+        siftUp(size++, handle);
+        return handle;
+    }
+
+    /**
+     * Returns the maximum key without removing it.
+     *
+     * @return The maximum key in the heap.
+     *
+     * @throws NoSuchElementException if the heap is empty.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public T peekMax() {
+
+        return key(peekMaxHandle());
+    }
+
+    /**
+     * Returns the handle of the maximum element without removing it.
+     *
+     * @return The handle of the maximum element.
+     *
+     * @throws NoSuchElementException if the heap is empty.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public int peekMaxHandle() {
+
+        if (size == 0) {
+            throw new NoSuchElementException("[Heap Underflow] Heap is empty.");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes the maximum element and returns its key.
+     *
+     * @return The maximum key in the heap.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public T extractMax() {
+
+        if (size == 0) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot extract maximum element.");
+        }
+        return remove(heap[0]);
+    }
+
+    /**
+     * Removes the maximum element and returns its handle.
+     * <p>
+     * The returned handle is released by this call; it identifies which element was removed
+     * but must not be used to access the heap afterwards.
+     *
+     * @return The handle of the removed maximum element.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public int extractMaxHandle() {
+
+        if (size == 0) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot extract maximum element.");
+        }
+        int handle = heap[0];
+        remove(handle);
+        return handle;
+    }
+
+    /**
+     * Returns the key of a queued element.
+     *
+     * @param handle The handle of the element.
+     *
+     * @return The key of the element.
+     *
+     * @throws NoSuchElementException if the handle does not refer to a queued element.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public T get(int handle) {
+
+        checkHandle(handle);
+        return key(handle);
+    }
+
+    /**
+     * Raises the key of a queued element and moves it towards the root as needed.
+     *
+     * @param handle The handle of the element.
+     * @param newKey The new key, which must not be smaller than the current key.
+     *
+     * @throws NoSuchElementException if the handle does not refer to a queued element.
+     * @throws IllegalArgumentException if the new key is null or smaller than the current key.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public void increaseKey(int handle, T newKey) {
+
+        int index = checkHandle(handle);
+        if (newKey == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (compare(newKey, key(handle)) < 0) {
+            throw new IllegalArgumentException("New key is smaller than the current key");
+        }
+
+        keys[handle] = newKey;
+        siftUp(index, handle);
+    }
+
+    /**
+     * Lowers the key of a queued element and moves it towards the leaves as needed.
+     *
+     * @param handle The handle of the element.
+     * @param newKey The new key, which must not be greater than the current key.
+     *
+     * @throws NoSuchElementException if the handle does not refer to a queued element.
+     * @throws IllegalArgumentException if the new key is null or greater than the current key.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public void decreaseKey(int handle, T newKey) {
+
+        int index = checkHandle(handle);
+        if (newKey == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (compare(newKey, key(handle)) > 0) {
+            throw new IllegalArgumentException("New key is greater than the current key");
+        }
+
+        keys[handle] = newKey;
+        siftDown(index, handle);
+    }
+
+    /**
+     * Replaces the key of a queued element in either direction and restores the heap property with a single sift.
+     * Unlike increaseKey and decreaseKey, the new key is not compared with the old one, so the caller may also
+     * pass the same key object after changing its ordering fields.
+     *
+     * @param handle The handle of the element.
+     * @param newKey The new key.
+     *
+     * @throws NoSuchElementException if the handle does not refer to a queued element.
+     * @throws IllegalArgumentException if the new key is null.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Postpone a timer whose deadline is part of the key
+     *   timer.deadline += delay;
+     *   timers.updateKey(timer.handle, timer);
+     * }
+     * </pre>
+     */
+    public void updateKey(int handle, T newKey) {
+
+        int index = checkHandle(handle);
+        if (newKey == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        keys[handle] = newKey;
+        if (index > 0 && compare(key(heap[parent(index)]), newKey) < 0) {
+            siftUp(index, handle);
+        } else {
+            siftDown(index, handle);
+        }
+    }
+
+    /**
+     * Removes a queued element from the heap and releases its handle.
+     *
+     * @param handle The handle of the element.
+     *
+     * @return The key of the removed element.
+     *
+     * @throws NoSuchElementException if the handle does not refer to a queued element.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Algorithm:
+     * - Take the last handle of the heap out of the array.
+     * - Unless it is the removed handle itself, place it into the vacated position and sift it up or down,
+     * depending on whether it is larger than its new parent.
+     * - Clear the key, mark the handle as not queued and push it onto the free stack.
+     */
+    public T remove(int handle) {
+
+        int index = checkHandle(handle);
+        T removed = key(handle);
+
+        int last = heap[--size];
+        if (index != size) {
+            if (index > 0 && compare(key(heap[parent(index)]), key(last)) < 0) {
+                siftUp(index, last);
+            } else {
+                siftDown(index, last);
+            }
+        }
+
+        keys[handle] = null;
+        position[handle] = NOT_QUEUED;
+        freeHandles[freeCount++] = handle;
+        return removed;
+    }
+
+    /**
+     * Checks whether a handle refers to an element that is currently in the heap.
+     *
+     * @param handle The handle to check.
+     *
+     * @return true if the handle is queued, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public boolean contains(int handle) {
+
+        return handle >= 0 && handle < handleCount && position[handle] != NOT_QUEUED;
+    }
+
+    /**
+     * Returns the number of elements in the heap.
+     *
+     * @return The number of elements in the heap.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /**
+     * Checks if the heap satisfies the max heap properties and the position map is consistent.
+     *
+     * @return true if every key is not greater than its parent's and every position entry matches the heap.
+     * <p>
+     * Time Complexity: O(n)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public boolean isMaxHeap() {
+
+        for (int i = 0; i < size; i++) {
+            if (position[heap[i]] != i) {
+                return false;
+            }
+            if (i > 0 && compare(key(heap[parent(i)]), key(heap[i])) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sifts a handle up the heap, starting from a hole at the specified position.
+     * <p>
+     * Each parent with a smaller key is moved down into the hole, and its position entry is updated.
+     *
+     * @param index The heap position of the hole to start from.
+     * @param handle The handle to be placed into the heap.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    private void siftUp(int index, int handle) {
+
+        T key = key(handle);
+        while (index > 0) {
+            int parentIndex = parent(index);
+            int parentHandle = heap[parentIndex];
+            if (compare(key(parentHandle), key) >= 0) {
+                break;
+            }
+
+            // Move the smaller parent down into the hole and climb
+            heap[index] = parentHandle;
+            position[parentHandle] = index;
+            index = parentIndex;
+        }
+
+        heap[index] = handle;
+        position[handle] = index;
+    }
+
+    /**
+     * Sifts a handle down the heap, starting from a hole at the specified position.
+     * <p>
+     * Each larger child is moved up into the hole, and its position entry is updated.
+     *
+     * @param index The heap position of the hole to start from.
+     * @param handle The handle to be placed into the heap.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    private void siftDown(int index, int handle) {
+
+        T key = key(handle);
+        while (true) {
+            int maxChild = findMaxChild(index);
+            if (maxChild == -1) {
+                break;
+            }
+
+            int childHandle = heap[maxChild];
+            if (compare(key(childHandle), key) <= 0) {
+                break;
+            }
+
+            // Move the larger child up into the hole and descend
+            heap[index] = childHandle;
+            position[childHandle] = index;
+            index = maxChild;
+        }
+
+        heap[index] = handle;
+        position[handle] = index;
+    }
+
+    /**
+     * Returns the index of the parent node for a given heap position, or -1 for the root.
+     *
+     * @param i The heap position.
+     *
+     * @return The parent position.
+     */
+    private int parent(int i) {
+
+        if (i <= 0) {
+            return -1;
+        }
+        return (int) (((i - 1) * parentMultiplier) >>> parentShift);
+    }
+
+    /**
+     * Returns the index of the first child for a given heap position.
+     *
+     * @param i The heap position.
+     *
+     * @return The first child position, as a long so that it cannot overflow.
+     */
+    private long firstChild(int i) {
+
+        return (long) d * i + 1;
+    }
+
+    /**
+     * Finds the heap position of the child with the maximum key.
+     *
+     * @param index The heap position whose children are scanned.
+     *
+     * @return The position of the maximum child, or -1 if the position is a leaf.
+     * <p>
+     * Time Complexity: O(d)
+     */
+    private int findMaxChild(int index) {
+
+        long firstChild = firstChild(index);
+        if (firstChild >= size) {
+            return -1;
+        }
+
+        int startChild = (int) firstChild;
+        int endChild = (int) Math.min(firstChild + d - 1, size - 1);
+        int maxChildIndex = startChild;
+        T maxChildKey = key(heap[startChild]);
+
+        for (int i = startChild + 1; i <= endChild; i++) {
+            T candidate = key(heap[i]);
+            if (compare(candidate, maxChildKey) > 0) {
+                maxChildKey = candidate;
+                maxChildIndex = i;
+            }
+        }
+
+        return maxChildIndex;
+    }
+
+    /**
+     * Compares two keys using the comparator, or their natural ordering when none was supplied.
+     *
+     * @param a The first key.
+     * @param b The second key.
+     *
+     * @return A negative integer, zero, or a positive integer as 'a' is less than, equal to, or greater than 'b'.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(T a, T b) {
+
+        return (comparator == null) ? ((Comparable<? super T>) a).compareTo(b) : comparator.compare(a, b);
+    }
+
+    /**
+     * Returns the key stored under a handle.
+     *
+     * @param handle The handle.
+     *
+     * @return The key.
+     */
+    @SuppressWarnings("unchecked")
+    private T key(int handle) {
+
+        return (T) keys[handle];
+    }
+
+    /**
+     * Returns the heap position of a queued handle.
+     *
+     * @param handle The handle to check.
+     *
+     * @return The heap position of the handle.
+     *
+     * @throws NoSuchElementException if the handle does not refer to a queued element.
+     */
+    private int checkHandle(int handle) {
+
+        if (!contains(handle)) {
+            throw new NoSuchElementException("Handle " + handle + " is not in the heap");
+        }
+        return position[handle];
+    }
+
+    /**
+     * Grows all per-handle and per-position arrays by 50%.
+     *
+     * @throws OutOfMemoryError if the heap cannot grow any further.
+     * <p>
+     * Time Complexity: O(n)
+     */
+    private void grow() {
+
+        int oldCapacity = keys.length;
+        if (oldCapacity == Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Required heap capacity exceeds the maximum array size");
+        }
+        int newCapacity = (int) Math.min((long) oldCapacity + (oldCapacity >> 1) + 1, Integer.MAX_VALUE - 8);
+
+        heap = Arrays.copyOf(heap, newCapacity);
+        position = Arrays.copyOf(position, newCapacity);
+        keys = Arrays.copyOf(keys, newCapacity);
+        freeHandles = Arrays.copyOf(freeHandles, newCapacity);
+    }
+
+}
@@ -0,0 +1,1741 @@
+package daryheap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * IntDaryHeap Class
+ * <p>
+ * This class implements a D-ary max heap specialized for primitive {@code int} keys.
+ * It supports the same operations as {@link DaryHeap} (insertion, extraction of the maximum element,
+ * increasing a key, deletion and building a max heap), but stores the keys in a growable {@code int[]}
+ * instead of a {@code List<Integer>}, so no boxing or pointer chasing happens on the hot path.
+ * The implementation assumes 0-based indexing.
+ * <p>
+ * Constructors:
+ * - IntDaryHeap(int d): Initializes an empty D-ary max heap with the specified degree.
+ * - IntDaryHeap(int d, int initialCapacity): Initializes an empty D-ary max heap with a pre-sized backing array.
+ * - IntDaryHeap(int d, int initialCapacity, boolean cacheAligned): Same, optionally with the cache-aligned layout.
+ * - IntDaryHeap(int[] elements, int d): Initializes a D-ary max heap with the given elements in linear time.
+ * - IntDaryHeap(int[] elements, int d, ForkJoinPool pool, int threshold): Same, built in parallel.
+ * <p>
+ * Public Methods:
+ * - void insert(int element): Inserts an element into the heap and maintains the max heap property.
+ * - void maxHeapInsert(int key): Inserts a new element with the specified key and maintains the heap properties.
+ * - void addAll(int[] keys): Inserts a batch of keys, re-heapifying once when the batch is large.
+ * - void buildMaxHeap(): Builds the max heap from the stored elements.
+ * - void buildMaxHeapParallel() / void buildMaxHeapParallel(ForkJoinPool pool, int threshold): Same, on a
+ * fork/join pool.
+ * - int extractMax(): Removes and returns the maximum element from the heap.
+ * - int replaceMax(int key) / int pushPop(int key): Fused extract-then-insert and insert-then-extract.
+ * - int extractTopK(int k, int[] out) / int peekTopK(int k, int[] out): Drain or copy the k largest elements.
+ * - int peekMax(): Returns the maximum element without removing it.
+ * - int get(int index): Returns the element stored at the specified index.
+ * - void heapIncreaseKey(int index, int newKey): Increases the key at the specified index.
+ * - void updateKey(int index, int newKey): Replaces the key at the specified index, moving it up or down.
+ * - void updateKeys(int[] indices, int[] keys): Replaces several keys and re-heapifies once.
+ * - int removeAt(int index) / void delete(int i): Removes the element at the specified index.
+ * - int size(): Returns the number of elements in the heap.
+ * - void setExtractMode(ExtractMode mode) / ExtractMode getExtractMode(): Selects how extractMax restores the heap.
+ * - long getComparisonCount() / void resetComparisonCount(): Reads or clears the number of key comparisons.
+ * - boolean isEmpty(): Checks if the heap is empty.
+ * - void printHeapByDepth(): Prints the heap elements by depth level.
+ * - boolean isMaxHeap(): Checks if the heap is a valid max heap.
+ * - int[] toArray(): Returns a copy of the elements in heap order.
+ * - boolean isCacheAligned(): Checks if the heap uses the cache-aligned layout.
+ * <p>
+ * Private Methods:
+ * - int parent(int i): Returns the index of the parent of the element at index 'i'.
+ * - long firstChild(int i): Returns the index of the first child of the element at index 'i'.
+ * - void maxHeapify(int index): Maintains the max heap property starting from the given index.
+ * - void siftDown(int index, int key): Moves a hole down from 'index' until 'key' can be placed in it.
+ * - void siftUp(int index, int key): Moves a hole up from 'index' until 'key' can be placed in it.
+ * - void siftDownBottomUp(int index, int key): Moves a hole to a leaf along the maximum children, then sifts 'key' up.
+ * - int findMaxChild(int index): Finds the maximum child's index of the element at the given index.
+ * - int checkTopK(int k, int[] out): Validates the arguments of extractTopK and peekTopK.
+ * - int pushFrontier(...) / int popFrontier(...): Maintain the auxiliary frontier heap used by peekTopK.
+ * - boolean shouldRebuild(int current, int batch): Decides between per-element sift-up and a full re-heapify.
+ * - int height(long n): Returns the number of levels of a heap with 'n' elements.
+ * - void heapifySubtree(int root, int lastInternal): Builds the subtree below 'root' bottom-up.
+ * - void heapifyRange(int lo, int hi): Applies maxHeapify to the indices 'hi' down to 'lo'.
+ * - void ensureCapacity(int minCapacity): Grows the backing array when needed.
+ * - static int alignedBase(int d): Computes the root offset that puts every sibling group on a cache line boundary.
+ * - static int arrayHeaderInts(): Returns the size of the int[] object header, in ints.
+ */
+class IntDaryHeap {
+
+    /**
+     * Default capacity of the backing array when none is specified.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Largest array size the backing store is allowed to grow to.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Degree of the D-ary heap. It determines the maximum number of children each element can have.
+     */
+    private final int d; // Degree of the heap
+
+    /**
+     * Multiplier of the parent computation, DaryHeap.divisionMultiplier(d).
+     * <p>
+     * With parentShift it turns (i - 1) / d into a multiplication and a shift that are the same code for every
+     * degree, which keeps division out of siftUp and heapIncreaseKey without branching on d per level.
+     */
+    private final long parentMultiplier;
+
+    /**
+     * Shift of the parent computation, DaryHeap.divisionShift(d).
+     */
+    private final int parentShift;
+
+    /**
+     * Vectorized scan used by findMaxChild, or null to use the inlined scalar loop.
+     * <p>
+     * Selected once per heap by MaxChildScan.forDegree, so narrow heaps keep the scalar loop and pay no
+     * interface call.
+     */
+    private final MaxChildScan childScan;
+
+    /**
+     * Physical index of the root in the backing array; the element at logical index i is stored at heap[base + i].
+     * <p>
+     * Zero for the default layout. In the cache-aligned layout, the root is shifted so that every group of
+     * siblings starts on a cache line boundary (see alignedBase).
+     */
+    private final int base;
+
+    /**
+     * Whether the cache-aligned layout was requested; the aligned offset itself may happen to be zero.
+     */
+    private final boolean cacheAligned;
+
+    /**
+     * Array representing the D-ary heap's underlying data structure. Only the slots base .. base + size - 1
+     * are in use.
+     */
+    private int[] heap;
+
+    /**
+     * Number of elements currently stored in the heap.
+     */
+    private int size;
+
+    /**
+     * Strategy used by extractMax to restore the heap properties after removing the root.
+     */
+    private ExtractMode extractMode = ExtractMode.STANDARD;
+
+    /**
+     * Number of key comparisons performed while sifting since construction or the last reset.
+     */
+    private long comparisons;
+
+    /**
+     * Smallest heap, and smallest task, that buildMaxHeapParallel() splits across threads.
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * HeapifyTask Class
+     * <p>
+     * A fork/join task of the parallel build. It covers a range of nodes on one level and either builds the
+     * whole subtree below each node (the first phase) or applies maxHeapify to each node only (the phases near
+     * the root). Ranges larger than the grain are split in halves; the nodes of one level root disjoint
+     * subtrees, so the halves never touch the same slots.
+     */
+    private final class HeapifyTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final int grain;
+        private final int lastInternal;
+        private final boolean wholeSubtrees;
+
+        HeapifyTask(int lo, int hi, int grain, int lastInternal, boolean wholeSubtrees) {
+
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.lastInternal = lastInternal;
+            this.wholeSubtrees = wholeSubtrees;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (hi - lo + 1 > grain) {
+                int middle = (lo + hi) >>> 1;
+                invokeAll(new HeapifyTask(lo, middle, grain, lastInternal, wholeSubtrees),
+                          new HeapifyTask(middle + 1, hi, grain, lastInternal, wholeSubtrees));
+                return;
+            }
+
+            if (wholeSubtrees) {
+                for (int root = hi; root >= lo; root--) {
+                    heapifySubtree(root, lastInternal);
+                }
+            } else {
+                heapifyRange(lo, hi);
+            }
+        }
+    }
+
+    /**
+     * Initializes an empty D-ary heap with the specified degree.
+     *
+     * @param d The degree of the D-ary heap must be at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * - A backing array of default capacity is allocated.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Creating an int D-ary heap with degree 4
+     *   IntDaryHeap heap = new IntDaryHeap(4);
+     * }
+     * </pre>
+     */
+    public IntDaryHeap(int d) {
+
+        this(d, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty D-ary heap with the specified degree and initial capacity.
+     * <p>
+     * Pre-sizing the backing array avoids repeated growth when the final number of elements is known.
+     *
+     * @param d The degree of the D-ary heap must be at least 2.
+     * @param initialCapacity The initial length of the backing array, must be non-negative.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2 or the capacity is negative.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(initialCapacity)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Creating a 4-ary heap that holds one million keys without resizing
+     *   IntDaryHeap heap = new IntDaryHeap(4, 1_000_000);
+     * }
+     * </pre>
+     */
+    public IntDaryHeap(int d, int initialCapacity) {
+
+        this(d, initialCapacity, false);
+    }
+
+    /**
+     * Initializes an empty D-ary heap with the specified degree and initial capacity, optionally with
+     * a cache-aligned layout.
+     * <p>
+     * With 0-based indexing, the children of node i live at d * i + 1 .. d * i + d, so for d = 16 almost every
+     * sibling group straddles two 64-byte cache lines. The cache-aligned layout stores the root at a small
+     * physical offset instead of at index 0, chosen so that every sibling group starts on a cache line boundary
+     * (or on a multiple of d ints when d is smaller than a line). A findMaxChild scan then touches exactly one
+     * line for d up to 16, and exactly d / 16 lines beyond that.
+     *
+     * @param d The degree of the D-ary heap must be at least 2, and a power of two for the cache-aligned layout.
+     * @param initialCapacity The initial number of elements the backing array can hold, must be non-negative.
+     * @param cacheAligned true to use the cache-aligned layout, false for the default layout.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2, the capacity is negative, or the cache-aligned
+     * layout is requested for a degree that is not a power of two.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(initialCapacity)
+     * - The aligned layout wastes fewer than 16 slots in front of the root.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   IntDaryHeap heap = new IntDaryHeap(16, 50_000_000, true);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - Java offers no control over where an array is placed, so the layout assumes the array object itself
+     * starts on a cache line boundary. That holds for large arrays under G1, which become humongous objects
+     * allocated at the start of a heap region, and for every array with -XX:ObjectAlignmentInBytes=64.
+     * For small arrays under other settings the offset is harmless but may not align anything.
+     * - The offset accounts for the int[] object header, read from sun.misc.Unsafe.ARRAY_INT_BASE_OFFSET
+     * (16 bytes with compressed class pointers), and the line size from the "daryheap.cacheLineBytes" system
+     * property (default 64; use 128 on Apple silicon).
+     */
+    public IntDaryHeap(int d, int initialCapacity, boolean cacheAligned) {
+
+        if (d < 2) {
+            throw new IllegalArgumentException("Degree (d) must be at least 2");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+        if (cacheAligned && (d & (d - 1)) != 0) {
+            throw new IllegalArgumentException("The cache-aligned layout requires a power-of-two degree");
+        }
+
+        this.d = d;
+        this.parentMultiplier = DaryHeap.divisionMultiplier(d);
+        this.parentShift = DaryHeap.divisionShift(d);
+        this.childScan = MaxChildScan.forDegree(d);
+        this.cacheAligned = cacheAligned;
+        this.base = cacheAligned ? alignedBase(d) : 0;
+        if ((long) base + initialCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required heap capacity exceeds the maximum array size");
+        }
+        this.heap = new int[base + initialCapacity];
+    }
+
+    /**
+     * Initializes a D-ary heap with the specified degree and populates it with the given elements.
+     * <p>
+     * The elements are copied into the backing array in one shot and the max heap is then built bottom-up.
+     *
+     * @param elements Array of elements to be inserted into the heap. The array is copied, not retained.
+     * @param d The degree of the D-ary heap must be at least 2.
+     *
+     * @throws IllegalArgumentException if the array of elements is null or if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(n)
+     * - A single array copy followed by a bottom-up (Floyd) build of the max heap.
+     * <p>
+     * Space Complexity: O(n)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   IntDaryHeap heap = new IntDaryHeap(new int[] {5, 3, 8, 2, 7}, 4);
+     * }
+     * </pre>
+     */
+    public IntDaryHeap(int[] elements, int d) {
+
+        this(d, 0);
+
+        if (elements == null) {
+            throw new IllegalArgumentException("Array of elements cannot be null");
+        }
+
+        this.heap = new int[base + Math.max(elements.length, DEFAULT_CAPACITY)];
+        System.arraycopy(elements, 0, heap, base, elements.length);
+        this.size = elements.length;
+        buildMaxHeap();
+    }
+
+    /**
+     * Initializes a D-ary heap with the specified degree and populates it with the given elements, building the
+     * max heap on a fork/join pool.
+     *
+     * @param elements Array of elements to be inserted into the heap. The array is copied, not retained.
+     * @param d The degree of the D-ary heap must be at least 2.
+     * @param pool The pool that runs the build.
+     * @param threshold The smallest number of elements worth splitting across threads (see buildMaxHeapParallel).
+     *
+     * @throws IllegalArgumentException if the array of elements or the pool is null, the degree is less than 2,
+     * or the threshold is less than 1.
+     * <p>
+     * Time Complexity: O(n / p + log_d(n)^2 * d) on p threads.
+     * <p>
+     * Space Complexity: O(n)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   IntDaryHeap heap = new IntDaryHeap(keys, 4, ForkJoinPool.commonPool(), 1 << 16);
+     * }
+     * </pre>
+     */
+    public IntDaryHeap(int[] elements, int d, ForkJoinPool pool, int threshold) {
+
+        this(d, 0);
+
+        if (elements == null) {
+            throw new IllegalArgumentException("Array of elements cannot be null");
+        }
+
+        this.heap = new int[base + Math.max(elements.length, DEFAULT_CAPACITY)];
+        System.arraycopy(elements, 0, heap, base, elements.length);
+        this.size = elements.length;
+        buildMaxHeapParallel(pool, threshold);
+    }
+
+    /**
+     * Inserts a new element into the D-ary heap and maintains the heap properties.
+     * <p>
+     * This method adds the new element to the end of the heap and moves it up until its parent is not smaller.
+     *
+     * @param element The element to be inserted into the heap.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * - The element climbs at most the height of the tree, which is log_d(n).
+     * <p>
+     * Space Complexity: O(1)
+     * - Amortized; the backing array occasionally grows.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.insert(10);
+     * }
+     * </pre>
+     */
+    public void insert(int element) {
+
+        ensureCapacity(size + 1);
+
+        // Move the new element up from the first free slot until the max-heap property is restored
+        siftUp(size++, element);
+    }
+
+    /**
+     * Inserts a new element with the specified key into the D-ary heap and maintains the heap properties.
+     * <p>
+     * This method adds a placeholder for the new element at the end of the heap and then uses
+     * 'heapIncreaseKey' to set the key and maintain the heap properties.
+     *
+     * @param key The key of the new element to be inserted.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * - Amortized; the backing array occasionally grows.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.maxHeapInsert(42);
+     * }
+     * </pre>
+     */
+    public void maxHeapInsert(int key) {
+
+        // Add a placeholder for the new element
+        ensureCapacity(size + 1);
+        heap[base + size++] = key;
+        heapIncreaseKey(size - 1, key);
+    }
+
+    /**
+     * Inserts a batch of keys into the D-ary heap and maintains the heap properties.
+     * <p>
+     * Small batches are inserted one by one with a sift-up each. When the batch is large relative to the heap,
+     * the keys are copied in with a single array copy and the whole heap is rebuilt bottom-up.
+     *
+     * @param keys The keys to be inserted into the heap.
+     *
+     * @throws IllegalArgumentException if the array of keys is null.
+     * <p>
+     * Time Complexity: O(min(k * log_d(n + k), n + k))
+     * - k is the batch size and n the current heap size; the cheaper of the two strategies is chosen.
+     * <p>
+     * Space Complexity: O(k)
+     * - The backing array grows at most once for the whole batch.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.addAll(new int[] {4, 9, 1});
+     * }
+     * </pre>
+     */
+    public void addAll(int[] keys) {
+
+        if (keys == null) {
+            throw new IllegalArgumentException("Array of keys cannot be null");
+        }
+
+        ensureCapacity(size + keys.length);
+
+        if (shouldRebuild(size, keys.length)) {
+            System.arraycopy(keys, 0, heap, base + size, keys.length);
+            size += keys.length;
+            buildMaxHeap();
+        } else {
+            for (int key : keys) {
+                siftUp(size++, key);
+            }
+        }
+    }
+
+    /**
+     * Builds a max heap from the elements in the D-ary heap.
+     * <p>
+     * This method applies maxHeapify to each non-leaf node, starting from the last non-leaf node
+     * and moving towards the root.
+     * <p>
+     * Time Complexity: O(n)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.buildMaxHeap();
+     * }
+     * </pre>
+     */
+    public void buildMaxHeap() {
+
+        // Start from the last non-leaf node and perform maxHeapify operation for each node in reverse order
+        for (int i = parent(size - 1); i >= 0; i--) {
+            maxHeapify(i);
+        }
+    }
+
+    /**
+     * Builds a max heap from the elements in the D-ary heap on the common fork/join pool, splitting work down to
+     * DEFAULT_PARALLEL_THRESHOLD elements.
+     * <p>
+     * Time Complexity: O(n / p + log_d(n)^2 * d) on p threads.
+     * <p>
+     * Space Complexity: O(p + log_d(n)) for the tasks.
+     */
+    public void buildMaxHeapParallel() {
+
+        buildMaxHeapParallel(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Builds a max heap from the elements in the D-ary heap on a fork/join pool.
+     * <p>
+     * The result is a valid max heap, but not necessarily the same arrangement buildMaxHeap would produce.
+     *
+     * @param pool The pool that runs the build.
+     * @param threshold The smallest number of elements worth splitting across threads. Smaller heaps are built
+     * sequentially by buildMaxHeap, and no task is split below this many elements of subtree.
+     *
+     * @throws IllegalArgumentException if the pool is null or the threshold is less than 1.
+     * <p>
+     * Time Complexity: O(n / p + log_d(n)^2 * d) on p threads.
+     * - The subtrees below the cut level hold almost all the work and are built in parallel. Each of the
+     * O(log_d(p)) levels above the cut then waits for the level below it.
+     * <p>
+     * Space Complexity: O(p + log_d(n)) for the tasks.
+     * <p>
+     * Algorithm:
+     * - Pick the cut level: the shallowest level with at least 4 * p nodes, so the work stays balanced when
+     * subtrees differ in size.
+     * - Phase 1: build the subtree below every internal node of the cut level bottom-up, as independent tasks.
+     * - Phase 2: for each level above the cut, from the deepest to the root, apply maxHeapify to all of its nodes
+     * in parallel and wait for them before moving up. Their children are roots of finished heaps by then.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.buildMaxHeapParallel(new ForkJoinPool(32), 1 << 16);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The comparison counter is updated by all workers without synchronization, so after a parallel build
+     * it may undercount; use the sequential buildMaxHeap when exact counts matter.
+     * - A pool with a parallelism of 1 gains nothing, so the build falls back to buildMaxHeap.
+     */
+    public void buildMaxHeapParallel(ForkJoinPool pool, int threshold) {
+
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be at least 1");
+        }
+        if (size < threshold || size < 2 || pool.getParallelism() < 2) {
+            buildMaxHeap();
+            return;
+        }
+
+        int lastInternal = parent(size - 1);
+        int minWidth = 4 * pool.getParallelism();
+
+        // Find the cut level: stop at the first wide enough level, or at the level of the last internal node
+        long levelStart = 0;
+        long width = 1;
+        int cut = 0;
+        while (width < minWidth && firstChild((int) levelStart) <= lastInternal) {
+            levelStart = firstChild((int) levelStart);
+            width *= d;
+            cut++;
+        }
+
+        // Phase 1: whole subtrees below the cut level
+        int hi = (int) Math.min(levelStart + width - 1, lastInternal);
+        pool.invoke(new HeapifyTask((int) levelStart, hi, grain(width, threshold), lastInternal, true));
+
+        // Phase 2: the levels above the cut, one at a time
+        for (int level = cut - 1; level >= 0; level--) {
+            width /= d;
+            levelStart = parent((int) levelStart);
+            hi = (int) (levelStart + width - 1);
+            pool.invoke(new HeapifyTask((int) levelStart, hi, grain(width, threshold), lastInternal, false));
+        }
+    }
+
+    /**
+     * Extracts and returns the maximum element from the D-ary heap.
+     * <p>
+     * This method removes the root, places the last element at the root and restores the max heap properties.
+     *
+     * @return The maximum element in the heap.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   int maxElement = heap.extractMax();
+     * }
+     * </pre>
+     */
+    public int extractMax() throws NoSuchElementException {
+
+        // Check if the heap is empty
+        if (size == 0) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot extract maximum element.");
+        }
+
+        // Retrieve the maximum element from the root of the max-heap
+        int max = heap[base];
+
+        // Remove the last element and, if anything is left, sift it down from the vacated root
+        int lastElement = heap[base + --size];
+        if (size > 0) {
+            if (extractMode == ExtractMode.BOTTOM_UP) {
+                siftDownBottomUp(0, lastElement);
+            } else {
+                siftDown(0, lastElement);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Replaces the maximum element with a new key and returns the old maximum (pop, then push).
+     * <p>
+     * This fuses extractMax followed by insert into a single sift-down of the new key from the root.
+     *
+     * @param key The key to be inserted.
+     *
+     * @return The maximum element before the replacement.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   int next = heap.replaceMax(key);
+     * }
+     * </pre>
+     * <p>
+     * Notes:
+     * - The key is sifted down according to the extract mode, like the last element in extractMax.
+     */
+    public int replaceMax(int key) {
+
+        if (size == 0) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot replace maximum element.");
+        }
+
+        int max = heap[base];
+        if (extractMode == ExtractMode.BOTTOM_UP) {
+            siftDownBottomUp(0, key);
+        } else {
+            siftDown(0, key);
+        }
+        return max;
+    }
+
+    /**
+     * Inserts a key and then removes and returns the maximum element (push, then pop).
+     * <p>
+     * A key that is not smaller than the current maximum is returned without touching the heap.
+     *
+     * @param key The key to be inserted.
+     *
+     * @return The larger of the key and the maximum element before the call.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * - O(1) when the key is not smaller than the maximum, or the heap is empty.
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   int larger = heap.pushPop(key);
+     * }
+     * </pre>
+     */
+    public int pushPop(int key) {
+
+        if (size == 0) {
+            return key;
+        }
+
+        comparisons++;
+        if (key >= heap[base]) {
+            return key;
+        }
+        return replaceMax(key);
+    }
+
+    /**
+     * Extracts the k largest elements of the D-ary heap into a caller-supplied array, largest first.
+     * <p>
+     * This is equivalent to calling extractMax k times, but checks its arguments once and has no
+     * per-element exception path. When the heap holds fewer than k elements, all of them are extracted.
+     *
+     * @param k The number of elements to extract.
+     * @param out The array receiving the elements in descending order, starting at index 0.
+     *
+     * @return The number of elements extracted, min(k, size()).
+     *
+     * @throws IllegalArgumentException if k is negative, the array is null, or the array is shorter than min(k, size()).
+     * <p>
+     * Time Complexity: O(k * d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   int[] top = new int[10];
+     *   int count = heap.extractTopK(10, top);
+     * }
+     * </pre>
+     */
+    public int extractTopK(int k, int[] out) {
+
+        int count = checkTopK(k, out);
+        boolean bottomUp = extractMode == ExtractMode.BOTTOM_UP;
+
+        for (int j = 0; j < count; j++) {
+            out[j] = heap[base];
+            int lastElement = heap[base + --size];
+            if (size > 0) {
+                if (bottomUp) {
+                    siftDownBottomUp(0, lastElement);
+                } else {
+                    siftDown(0, lastElement);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Copies the k largest elements of the D-ary heap into a caller-supplied array, largest first,
+     * without modifying the heap.
+     * <p>
+     * Only the top of the tree is explored: a small auxiliary binary heap (the frontier) holds the indices of
+     * candidate nodes ordered by their keys. Each step takes the largest candidate and adds its d children,
+     * since a node can only be among the top k if its parent is.
+     *
+     * @param k The number of elements to copy.
+     * @param out The array receiving the elements in descending order, starting at index 0.
+     *
+     * @return The number of elements copied, min(k, size()).
+     *
+     * @throws IllegalArgumentException if k is negative, the array is null, or the array is shorter than min(k, size()).
+     * <p>
+     * Time Complexity: O(k * d * log(k * d))
+     * - Independent of the heap size, so reading the top 1000 of a 50M-element heap touches only a few
+     * thousand nodes.
+     * <p>
+     * Space Complexity: O(k * d)
+     * - For the frontier.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   int[] top = new int[1000];
+     *   int count = heap.peekTopK(1000, top);
+     * }
+     * </pre>
+     */
+    public int peekTopK(int k, int[] out) {
+
+        int count = checkTopK(k, out);
+        if (count == 0) {
+            return 0;
+        }
+
+        // Every step removes one candidate and adds at most d children
+        int[] frontier = new int[(int) Math.min((long) count * (d - 1) + 1, size)];
+        int frontierSize = 0;
+        frontier[frontierSize++] = 0;
+
+        for (int j = 0; j < count; j++) {
+            int index = frontier[0];
+            out[j] = heap[base + index];
+            frontierSize = popFrontier(frontier, frontierSize);
+
+            // The children of a taken node become candidates, unless no more output is needed
+            if (j + 1 < count) {
+                long firstChild = firstChild(index);
+                long end = Math.min(firstChild + d, size);
+                for (long child = firstChild; child < end; child++) {
+                    frontierSize = pushFrontier(frontier, frontierSize, (int) child);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the maximum element of the D-ary heap without removing it.
+     *
+     * @return The maximum element in the heap.
+     *
+     * @throws NoSuchElementException if the heap is empty.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   int top = heap.peekMax();
+     * }
+     * </pre>
+     */
+    public int peekMax() {
+
+        if (size == 0) {
+            throw new NoSuchElementException("[Heap Underflow] Heap is empty.");
+        }
+        return heap[base];
+    }
+
+    /**
+     * Returns the element stored at the specified index of the D-ary heap.
+     * <p>
+     * This is mainly useful together with heapIncreaseKey and delete, which address elements by index.
+     *
+     * @param index The index of the element.
+     *
+     * @return The element at the specified index.
+     *
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public int get(int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                        " size " + size);
+        }
+        return heap[base + index];
+    }
+
+    /**
+     * Increases the key of a specified element in the D-ary heap and maintains the max heap properties.
+     *
+     * @param index The index of the element whose key needs to be increased.
+     * @param newKey The new key to set for the specified element.
+     *
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * @throws IllegalArgumentException if the new key is smaller than the current key.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Algorithm:
+     * - Check the index and the new key.
+     * - Sift the new key up from the specified index, shifting each smaller parent down one level.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.heapIncreaseKey(2, 15);
+     * }
+     * </pre>
+     */
+    public void heapIncreaseKey(int index, int newKey) {
+
+        // Check if the index is within bounds
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                        " size " + size);
+        }
+
+        // Check if the new key is greater than or equal to the current key
+        if (newKey < heap[base + index]) {
+            throw new IllegalArgumentException("New key is smaller than the current key");
+        }
+
+        // Move the new key up the heap until the max-heap property is restored
+        siftUp(index, newKey);
+    }
+
+    /**
+     * Replaces the key of a specified element in the D-ary heap and maintains the max heap properties.
+     * <p>
+     * Unlike heapIncreaseKey, the new key may be smaller than the current key. The element is moved up
+     * or down in a single pass, depending on how it compares with its parent.
+     *
+     * @param index The index of the element whose key needs to be replaced.
+     * @param newKey The new key to set for the specified element.
+     *
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * - O(log_d(n)) when the key moves up.
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.updateKey(2, 3); // lowers the priority of the element at index 2
+     * }
+     * </pre>
+     */
+    public void updateKey(int index, int newKey) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                        " size " + size);
+        }
+
+        // A key larger than its parent can only move up; any other key can only move down
+        if (index > 0 && heap[base + parent(index)] < newKey) {
+            siftUp(index, newKey);
+        } else {
+            siftDown(index, newKey);
+        }
+    }
+
+    /**
+     * Replaces the keys of several elements at once and restores the max heap properties a single time.
+     * <p>
+     * All indices refer to positions before the update. Every new key is written first, and the heap is then
+     * repaired in one pass: either by a full bottom-up rebuild when the batch is large relative to the heap,
+     * or by re-heapifying only the changed positions and their ancestors, deepest first.
+     *
+     * @param indices The indices of the elements whose keys need to be replaced.
+     * @param keys The new keys, where keys[j] replaces the key at indices[j].
+     *
+     * @throws IllegalArgumentException if either array is null or the arrays differ in length.
+     * @throws IndexOutOfBoundsException if any index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(min(k * d * log_d(n)^2, n))
+     * - k is the batch size; the cheaper of the two repairs is chosen.
+     * <p>
+     * Space Complexity: O(k * log_d(n))
+     * - For the list of positions to re-heapify; nothing is allocated when the heap is rebuilt.
+     * <p>
+     * Notes:
+     * - If an index appears more than once, the last key given for it wins.
+     * - The heap is left unchanged if any index is out of bounds.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.updateKeys(new int[] {0, 5}, new int[] {1, 40});
+     * }
+     * </pre>
+     */
+    public void updateKeys(int[] indices, int[] keys) {
+
+        if (indices == null || keys == null) {
+            throw new IllegalArgumentException("Arrays of indices and keys cannot be null");
+        }
+        if (indices.length != keys.length) {
+            throw new IllegalArgumentException("Arrays of indices and keys must have the same length");
+        }
+        for (int index : indices) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                            " size " + size);
+            }
+        }
+
+        // Write every new key first, so that all indices refer to the positions before the update
+        for (int j = 0; j < indices.length; j++) {
+            heap[base + indices[j]] = keys[j];
+        }
+
+        int batch = indices.length;
+        if (batch == 0) {
+            return;
+        }
+        if (shouldRebuild(size - batch, batch)) {
+            buildMaxHeap();
+            return;
+        }
+
+        // Only changed positions and their ancestors can violate the heap properties. Re-heapifying them
+        // deepest first, like a bottom-up build restricted to those positions, repairs the whole heap.
+        int[] dirty = new int[batch * height(size)];
+        int count = 0;
+        for (int index : indices) {
+            for (int i = index; i >= 0; i = parent(i)) {
+                dirty[count++] = i;
+            }
+        }
+        Arrays.sort(dirty, 0, count);
+
+        int previous = -1;
+        for (int j = count - 1; j >= 0; j--) {
+            if (dirty[j] != previous) {
+                previous = dirty[j];
+                maxHeapify(previous);
+            }
+        }
+    }
+
+    /**
+     * Removes the element at the specified index in the D-ary heap and maintains the heap properties.
+     * <p>
+     * This method moves the last element into the vacated slot, shrinks the heap and then moves the
+     * replacement up or down, depending on whether it is larger than its new parent.
+     *
+     * @param index The index of the element to be removed.
+     *
+     * @return The removed element.
+     *
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   int removed = heap.removeAt(2);
+     * }
+     * </pre>
+     */
+    public int removeAt(int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for heap of" +
+                                                        " size " + size);
+        }
+
+        int removed = heap[base + index];
+
+        // Drop the last element; it refills the vacated slot unless it was the removed element itself
+        int lastElement = heap[base + --size];
+        if (index == size) {
+            return removed;
+        }
+
+        // The moved element may be larger than its new parent, so sift it up; otherwise sift it down
+        if (index > 0 && heap[base + parent(index)] < lastElement) {
+            siftUp(index, lastElement);
+        } else {
+            siftDown(index, lastElement);
+        }
+        return removed;
+    }
+
+    /**
+     * Deletes the element at the specified index in the D-ary heap and maintains the heap properties.
+     * <p>
+     * Equivalent to removeAt, without returning the removed element.
+     *
+     * @param i The index of the element to be deleted.
+     *
+     * @throws IndexOutOfBoundsException if the specified index is out of bounds for the heap size.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.delete(2);
+     * }
+     * </pre>
+     */
+    public void delete(int i) {
+
+        removeAt(i);
+    }
+
+    /**
+     * Returns the number of elements in the D-ary heap.
+     *
+     * @return The number of elements in the heap.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Selects how extractMax restores the heap properties after removing the root.
+     *
+     * @param mode The extraction strategy to use from now on.
+     *
+     * @throws IllegalArgumentException if the mode is null.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   heap.setExtractMode(ExtractMode.BOTTOM_UP);
+     * }
+     * </pre>
+     */
+    public void setExtractMode(ExtractMode mode) {
+
+        if (mode == null) {
+            throw new IllegalArgumentException("Extract mode cannot be null");
+        }
+        this.extractMode = mode;
+    }
+
+    /**
+     * Returns the strategy used by extractMax.
+     *
+     * @return The current extraction strategy.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public ExtractMode getExtractMode() {
+
+        return extractMode;
+    }
+
+    /**
+     * Returns the number of key comparisons performed while sifting.
+     *
+     * @return The number of comparisons since construction or the last reset.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Notes:
+     * - Child scans are accounted for in one addition per scan, so counting adds no work to the inner loop.
+     */
+    public long getComparisonCount() {
+
+        return comparisons;
+    }
+
+    /**
+     * Resets the comparison counter to zero.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public void resetComparisonCount() {
+
+        comparisons = 0;
+    }
+
+    /**
+     * Checks if the D-ary heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /**
+     * Prints the D-ary heap elements organized by depth.
+     * <p>
+     * Time Complexity: O(n)
+     * <p>
+     * Space Complexity: O(n)
+     * - The line is assembled in a StringBuilder before printing.
+     * <p>
+     * Notes:
+     * - The output shows elements organized by depth with levels separated by tabs.
+     */
+    public void printHeapByDepth() {
+
+        StringBuilder out = new StringBuilder("d-ary Heap (d = ").append(d).append("): ");
+        long levelEnd = 1;
+        long levelSize = 1;
+        for (int i = 0; i < size; i++) {
+
+            if (i == levelEnd) {
+                out.append('\t'); // Move to the next level
+                levelSize *= d;
+                levelEnd += levelSize;
+            }
+
+            out.append(heap[base + i]).append(' ');
+        }
+
+        System.out.println(out);
+    }
+
+    /**
+     * Checks if the D-ary heap satisfies the max heap properties.
+     *
+     * @return true if every element is not greater than its parent, false otherwise.
+     * <p>
+     * Time Complexity: O(n)
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public boolean isMaxHeap() {
+
+        for (int i = 1; i < size; i++) {
+            if (heap[base + parent(i)] < heap[base + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of the elements of the D-ary heap, in heap (array) order.
+     *
+     * @return A new array of length size(); element i is the element at index i.
+     * <p>
+     * Time Complexity: O(n)
+     * <p>
+     * Space Complexity: O(n)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Rebuilding the same elements with another degree
+     *   IntDaryHeap wider = new IntDaryHeap(heap.toArray(), 8);
+     * }
+     * </pre>
+     */
+    public int[] toArray() {
+
+        return Arrays.copyOfRange(heap, base, base + size);
+    }
+
+    /**
+     * Checks if the heap uses the cache-aligned layout.
+     *
+     * @return true if the root is stored at a cache-aligning offset, false for the default layout.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public boolean isCacheAligned() {
+
+        return cacheAligned;
+    }
+
+    /**
+     * Returns the index of the parent node for a given index in the D-ary heap.
+     *
+     * @param i The index for which the parent index is to be calculated.
+     *
+     * @return The index of the parent node, or -1 for the root.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Notes:
+     * - Multiplies by parentMultiplier and shifts by parentShift; for power-of-two degrees this is the same as
+     * (i - 1) >>> log2(d).
+     */
+    private int parent(int i) {
+
+        if (i <= 0) {
+            return -1;
+        }
+        return (int) (((i - 1) * parentMultiplier) >>> parentShift);
+    }
+
+    /**
+     * Returns the index of the first child for a given index in the D-ary heap.
+     *
+     * @param i The index for which the first child index is to be calculated.
+     *
+     * @return The index of the first child, as a long so that it cannot overflow for large heaps.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Notes:
+     * - A single long multiplication for every degree.
+     */
+    private long firstChild(int i) {
+
+        return (long) d * i + 1;
+    }
+
+    /**
+     * Maintains the max heap properties by fixing violations starting from the specified index.
+     *
+     * @param index The index of the element to start max heapify from.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    private void maxHeapify(int index) {
+
+        siftDown(index, heap[base + index]);
+    }
+
+    /**
+     * Sifts a key down the D-ary heap, starting from a hole at the specified index.
+     * <p>
+     * Each larger child is moved up into the hole with a single write, and the key itself is written once,
+     * into the final position of the hole.
+     *
+     * @param index The index of the hole to start from.
+     * @param key The key to be placed into the heap.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * - The method is iterative and keeps the moving key in a local variable.
+     */
+    private void siftDown(int index, int key) {
+
+        while (true) {
+            int maxChild = findMaxChild(index);
+            if (maxChild == -1) {
+                break;
+            }
+
+            comparisons++;
+            if (heap[base + maxChild] <= key) {
+                break;
+            }
+
+            // Move the larger child up into the hole and descend
+            heap[base + index] = heap[base + maxChild];
+            index = maxChild;
+        }
+
+        heap[base + index] = key;
+    }
+
+    /**
+     * Sifts a key up the D-ary heap, starting from a hole at the specified index.
+     * <p>
+     * Each parent smaller than the key is moved down into the hole with a single write, and the key itself
+     * is written once, into the final position of the hole.
+     *
+     * @param index The index of the hole to start from.
+     * @param key The key to be placed into the heap.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    private void siftUp(int index, int key) {
+
+        while (index > 0) {
+            int parentIndex = parent(index);
+            int parentValue = heap[base + parentIndex];
+            comparisons++;
+            if (parentValue >= key) {
+                break;
+            }
+
+            // Move the smaller parent down into the hole and climb
+            heap[base + index] = parentValue;
+            index = parentIndex;
+        }
+
+        heap[base + index] = key;
+    }
+
+    /**
+     * Sifts a key into the D-ary heap bottom-up (Floyd / Wegener), starting from a hole at the specified index.
+     * <p>
+     * The hole is first moved down to a leaf, always promoting the maximum child without comparing it against
+     * the key, and the key is then sifted up from that leaf, never past the starting hole.
+     *
+     * @param index The index of the hole to start from.
+     * @param key The key to be placed into the heap.
+     * <p>
+     * Time Complexity: O(d * log_d(n))
+     * - The descent performs d - 1 comparisons per level instead of d; the climb is usually O(1).
+     * <p>
+     * Space Complexity: O(1)
+     */
+    private void siftDownBottomUp(int index, int key) {
+
+        int start = index;
+        while (true) {
+            int maxChild = findMaxChild(index);
+            if (maxChild == -1) {
+                break;
+            }
+
+            // Promote the maximum child unconditionally and descend
+            heap[base + index] = heap[base + maxChild];
+            index = maxChild;
+        }
+
+        // Sift the key back up from the leaf, never past the starting hole
+        while (index > start) {
+            int parentIndex = parent(index);
+            int parentValue = heap[base + parentIndex];
+            comparisons++;
+            if (parentValue >= key) {
+                break;
+            }
+
+            heap[base + index] = parentValue;
+            index = parentIndex;
+        }
+
+        heap[base + index] = key;
+    }
+
+    /**
+     * Finds the index of the maximum child for a given element in the D-ary heap.
+     *
+     * @param index The index of the element for which the maximum child index is to be found.
+     *
+     * @return The index of the maximum child, or -1 if the element is a leaf.
+     * <p>
+     * Time Complexity: O(d)
+     * - O(d / lanes) with the vectorized scan selected for wide heaps (see MaxChildScan).
+     * <p>
+     * Space Complexity: O(1)
+     */
+    private int findMaxChild(int index) {
+
+        long firstChild = firstChild(index);
+        if (firstChild >= size) {
+            return -1;
+        }
+
+        int startChild = (int) firstChild;
+        int endChild = (int) Math.min(firstChild + d - 1, size - 1);
+        comparisons += endChild - startChild;
+        if (childScan != null) {
+            return childScan.maxIndex(heap, base + startChild, base + endChild + 1) - base;
+        }
+
+        int maxChildIndex = startChild;
+        int maxChildValue = heap[base + startChild];
+        for (int i = startChild + 1; i <= endChild; i++) {
+            if (heap[base + i] > maxChildValue) {
+                maxChildValue = heap[base + i];
+                maxChildIndex = i;
+            }
+        }
+
+        return maxChildIndex;
+    }
+
+    /**
+     * Validates the arguments of extractTopK and peekTopK.
+     *
+     * @param k The number of elements requested.
+     * @param out The output array.
+     *
+     * @return The number of elements that will be produced, min(k, size).
+     *
+     * @throws IllegalArgumentException if k is negative, the array is null, or the array is too short.
+     */
+    private int checkTopK(int k, int[] out) {
+
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("Output array cannot be null");
+        }
+
+        int count = Math.min(k, size);
+        if (out.length < count) {
+            throw new IllegalArgumentException("Output array of length " + out.length + " cannot hold "
+                                                       + count + " elements");
+        }
+        return count;
+    }
+
+    /**
+     * Adds a heap index to the frontier used by peekTopK, a binary max heap of indices ordered by their keys.
+     *
+     * @param frontier The frontier array.
+     * @param frontierSize The number of indices in the frontier.
+     * @param index The heap index to add.
+     *
+     * @return The new frontier size.
+     * <p>
+     * Time Complexity: O(log(frontierSize))
+     */
+    private int pushFrontier(int[] frontier, int frontierSize, int index) {
+
+        int key = heap[base + index];
+        int hole = frontierSize;
+        while (hole > 0) {
+            int parentHole = (hole - 1) >>> 1;
+            if (heap[base + frontier[parentHole]] >= key) {
+                break;
+            }
+            frontier[hole] = frontier[parentHole];
+            hole = parentHole;
+        }
+        frontier[hole] = index;
+        return frontierSize + 1;
+    }
+
+    /**
+     * Removes the top index from the frontier used by peekTopK.
+     *
+     * @param frontier The frontier array.
+     * @param frontierSize The number of indices in the frontier, at least 1.
+     *
+     * @return The new frontier size.
+     * <p>
+     * Time Complexity: O(log(frontierSize))
+     */
+    private int popFrontier(int[] frontier, int frontierSize) {
+
+        int newSize = frontierSize - 1;
+        int index = frontier[newSize];
+        int key = heap[base + index];
+        int hole = 0;
+        while (true) {
+            int child = 2 * hole + 1;
+            if (child >= newSize) {
+                break;
+            }
+            if (child + 1 < newSize && heap[base + frontier[child + 1]] > heap[base + frontier[child]]) {
+                child++;
+            }
+            if (heap[base + frontier[child]] <= key) {
+                break;
+            }
+            frontier[hole] = frontier[child];
+            hole = child;
+        }
+        if (newSize > 0) {
+            frontier[hole] = index;
+        }
+        return newSize;
+    }
+
+    /**
+     * Decides whether a batch should be merged into the heap by a full rebuild instead of per-element sift-ups.
+     *
+     * @param current The number of elements currently in the heap.
+     * @param batch The number of elements about to be added or changed.
+     *
+     * @return true if rebuilding the whole heap is expected to be cheaper, false otherwise.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     * <p>
+     * Notes:
+     * - Rebuilds when batch * height, the worst-case cost of the sift-ups, reaches current + batch,
+     * the cost of a bottom-up rebuild.
+     */
+    private boolean shouldRebuild(int current, int batch) {
+
+        long total = (long) current + batch;
+        if (batch <= 0) {
+            return false;
+        }
+
+        return (long) batch * height(total) >= total;
+    }
+
+    /**
+     * Builds the subtree below a node bottom-up, applying maxHeapify to its internal nodes from the deepest
+     * level to the node itself.
+     *
+     * @param root The root of the subtree.
+     * @param lastInternal The index of the last internal node of the heap.
+     * <p>
+     * Time Complexity: O(m) for a subtree of m elements.
+     * <p>
+     * Space Complexity: O(log_d(n)) for the level bounds.
+     */
+    private void heapifySubtree(int root, int lastInternal) {
+
+        // The descendants of the root on each level form one contiguous index range
+        int[] lows = new int[32];
+        int[] highs = new int[32];
+        int levels = 0;
+        long lo = root;
+        long hi = root;
+        while (lo <= lastInternal) {
+            lows[levels] = (int) lo;
+            highs[levels] = (int) Math.min(hi, lastInternal);
+            levels++;
+            lo = firstChild((int) lo);
+            hi = firstChild(highs[levels - 1]) + d - 1;
+        }
+
+        for (int level = levels - 1; level >= 0; level--) {
+            heapifyRange(lows[level], highs[level]);
+        }
+    }
+
+    /**
+     * Applies maxHeapify to a range of indices, from the highest to the lowest.
+     *
+     * @param lo The lowest index.
+     * @param hi The highest index.
+     * <p>
+     * Time Complexity: O((hi - lo + 1) * d * log_d(n))
+     */
+    private void heapifyRange(int lo, int hi) {
+
+        for (int i = hi; i >= lo; i--) {
+            maxHeapify(i);
+        }
+    }
+
+    /**
+     * Returns the number of nodes of one level whose subtrees together hold about 'threshold' elements, the
+     * largest range a HeapifyTask handles without splitting.
+     *
+     * @param width The number of nodes on the level.
+     * @param threshold The task size, in elements.
+     *
+     * @return The grain, at least 1.
+     */
+    private int grain(long width, int threshold) {
+
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (long) ((double) threshold * width / size)));
+    }
+
+    /**
+     * Returns the number of levels of a D-ary heap with the specified number of elements.
+     *
+     * @param n The number of elements.
+     *
+     * @return The number of levels, which is 0 for an empty heap.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    private int height(long n) {
+
+        int height = 0;
+        long capacity = 0;
+        long levelSize = 1;
+        while (capacity < n) {
+            capacity += levelSize;
+            levelSize *= d;
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * Grows the backing array so that it can hold at least the specified number of elements.
+     *
+     * @param minCapacity The required minimum capacity.
+     *
+     * @throws OutOfMemoryError if the required capacity exceeds the maximum array size.
+     * <p>
+     * Time Complexity: O(n) when the array grows, O(1) otherwise.
+     * <p>
+     * Space Complexity: O(n) when the array grows.
+     * <p>
+     * Notes:
+     * - The array grows by 50%, matching ArrayList, so insertions stay amortized O(1) apart from sifting.
+     */
+    private void ensureCapacity(int minCapacity) {
+
+        long required = (long) base + minCapacity;
+        if (minCapacity < 0 || required > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required heap capacity exceeds the maximum array size");
+        }
+        if (required <= heap.length) {
+            return;
+        }
+
+        long grown = (long) heap.length + (heap.length >> 1);
+        int newCapacity = (int) Math.min(Math.max(grown, Math.max(required, base + DEFAULT_CAPACITY)), MAX_CAPACITY);
+        heap = Arrays.copyOf(heap, newCapacity);
+    }
+
+    /**
+     * Computes the physical index of the root that puts every sibling group on a cache line boundary.
+     * <p>
+     * The first child of logical node i is at physical index base + d * i + 1, which lies
+     * header + 4 * (base + d * i + 1) bytes after the start of the array object. For a power-of-two d, d * i is
+     * a multiple of g = min(d, ints per line) for every i, so it suffices that header / 4 + base + 1 is a
+     * multiple of g.
+     *
+     * @param d The degree, a power of two.
+     *
+     * @return The root offset, between 0 and g - 1.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    private static int alignedBase(int d) {
+
+        int lineInts = Math.max(1, Integer.getInteger("daryheap.cacheLineBytes", 64) / Integer.BYTES);
+        int group = Math.min(d, lineInts);
+        return Math.floorMod(-(arrayHeaderInts() + 1), group);
+    }
+
+    /**
+     * Returns the size of the int[] object header, in ints.
+     *
+     * @return sun.misc.Unsafe.ARRAY_INT_BASE_OFFSET / 4, or 4 (a 16-byte header) if it cannot be read.
+     */
+    private static int arrayHeaderInts() {
+
+        try {
+            return Class.forName("sun.misc.Unsafe").getField("ARRAY_INT_BASE_OFFSET").getInt(null) / Integer.BYTES;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return 4;
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package daryheap;
+
+/**
+ * MaxChildScan Interface
+ * <p>
+ * Finds the position of the largest key in a contiguous range of an int array. IntDaryHeap uses it to scan
+ * the d children of a node, which for wide heaps (d = 8, 16, 32) is a natural SIMD reduction.
+ * <p>
+ * Implementations:
+ * - SCALAR: A plain loop, the same as the one inlined in IntDaryHeap.findMaxChild.
+ * - VectorMaxChildScan: A JDK Vector API (jdk.incubator.vector) reduction, kept in the separate src/vector/java
+ * directory because it must be compiled and run with {@code --add-modules jdk.incubator.vector}. It is loaded
+ * reflectively, so the rest of the code compiles and runs without the incubator module.
+ * <p>
+ * Selection (read once, at startup):
+ * - System property "daryheap.scan": "auto" (default), "scalar" or "vector".
+ * - System property "daryheap.vectorMinDegree": In auto mode, the smallest degree for which the vector scan is used.
+ * Default: 16. Run MaxChildScanBenchmark to find the crossover on a given machine.
+ * <p>
+ * Notes:
+ * - Every implementation returns the first position holding the maximum, so the choice never changes
+ * the shape of the heap, only its speed.
+ */
+interface MaxChildScan {
+
+    /**
+     * The scalar scan.
+     */
+    MaxChildScan SCALAR = (heap, from, to) -> {
+
+        int maxIndex = from;
+        int maxValue = heap[from];
+        for (int i = from + 1; i < to; i++) {
+            if (heap[i] > maxValue) {
+                maxValue = heap[i];
+                maxIndex = i;
+            }
+        }
+        return maxIndex;
+    };
+
+    /**
+     * The Vector API scan, or null if jdk.incubator.vector or VectorMaxChildScan is not available.
+     */
+    MaxChildScan VECTOR = loadVector();
+
+    /**
+     * Returns the index of the first occurrence of the largest key in heap[from .. to - 1].
+     *
+     * @param heap The array to scan.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive; must be greater than 'from'.
+     *
+     * @return The index of the largest key.
+     */
+    int maxIndex(int[] heap, int from, int to);
+
+    /**
+     * Selects the scan for a heap of the given degree, according to the system properties.
+     *
+     * @param d The degree of the heap.
+     *
+     * @return The vector scan when it is selected and available, or null when the caller should use its own
+     * inlined scalar loop.
+     */
+    static MaxChildScan forDegree(int d) {
+
+        String mode = System.getProperty("daryheap.scan", "auto");
+        if (VECTOR == null || "scalar".equals(mode)) {
+            return null;
+        }
+        if ("vector".equals(mode)) {
+            return VECTOR;
+        }
+        return d >= Integer.getInteger("daryheap.vectorMinDegree", 16) ? VECTOR : null;
+    }
+
+    /**
+     * Loads VectorMaxChildScan reflectively.
+     *
+     * @return The vector scan, or null if it cannot be loaded.
+     */
+    private static MaxChildScan loadVector() {
+
+        try {
+            return (MaxChildScan) Class.forName(MaxChildScan.class.getPackageName() + ".VectorMaxChildScan").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,592 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * MinMaxDaryHeap Class
+ * <p>
+ * This class implements a D-ary min-max heap: a double-ended priority queue that gives access to both the
+ * minimum and the maximum element on a single array. Levels alternate between min levels and max levels,
+ * starting with a min level at the root. Every element on a min level is not greater than any of its
+ * descendants, and every element on a max level is not smaller than any of its descendants.
+ * <p>
+ * The layout is the same as in DaryHeap (0-based, children of i at d * i + 1 .. d * i + d). The grandchildren
+ * of a node form one contiguous block of d * d elements, so the sift-down scans children and grandchildren with
+ * two simple range loops, like findMaxChild in DaryHeap.
+ *
+ * @param <T> The type of elements stored in the heap. Elements are ordered by the supplied Comparator,
+ *            or by their natural ordering when no Comparator is given.
+ * <p>
+ * Constructors:
+ * - MinMaxDaryHeap(int d): Initializes an empty D-ary min-max heap with the specified degree.
+ * - MinMaxDaryHeap(int d, Comparator<? super T> comparator): Same, ordered by the given comparator.
+ * - MinMaxDaryHeap(List<? extends T> elements, int d): Builds a heap from the given elements in O(n).
+ * - MinMaxDaryHeap(List<? extends T> elements, int d, Comparator<? super T> comparator): Same, ordered by the
+ * given comparator.
+ * <p>
+ * Public Methods:
+ * - void insert(T element): Inserts an element.
+ * - T peekMin() / T peekMax(): Returns the minimum or maximum element without removing it.
+ * - T extractMin() / T extractMax(): Removes and returns the minimum or maximum element.
+ * - int size() / boolean isEmpty(): Size helpers.
+ * - boolean isMinMaxHeap(): Checks if the heap satisfies the min-max heap properties.
+ * <p>
+ * Private Methods:
+ * - int maxIndex(): Returns the index of the maximum element.
+ * - T removeAt(int index): Removes the root or a child of the root and restores the heap.
+ * - boolean isMinLevel(int i): Checks whether index 'i' lies on a min level.
+ * - void siftUp(int index, T key): Places a key at a new leaf, moving it to the right min or max level.
+ * - void siftUpLevels(int index, T key, boolean min): Moves a key up through grandparents on levels of one kind.
+ * - void siftDown(int index, T key, boolean min): Moves a key down from a hole through children and grandchildren.
+ * - int findExtremeDescendant(int index, boolean min): Finds the smallest or largest child or grandchild.
+ * - int parent(int i) / long firstChild(long i) / int compare(T a, T b): Index arithmetic and ordering.
+ * <p>
+ * Notes:
+ * - peekMax and extractMax scan the up to d children of the root, so a larger degree makes them slightly more
+ * expensive while making the tree shallower.
+ */
+class MinMaxDaryHeap<T> {
+
+    /**
+     * Degree of the D-ary heap. It determines the maximum number of children each element can have.
+     */
+    private final int d; // Degree of the heap
+
+    /**
+     * Multiplier that, with parentShift, divides by d in parent without a division (DaryHeap.divisionMultiplier).
+     */
+    private final long parentMultiplier;
+
+    /**
+     * Shift that goes with parentMultiplier (DaryHeap.divisionShift).
+     */
+    private final int parentShift;
+
+    /**
+     * List representing the heap's underlying data structure.
+     */
+    private final List<T> heap;
+
+    /**
+     * Comparator used to order the elements, or null to use the elements' natural ordering.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Initializes an empty D-ary min-max heap with the specified degree.
+     *
+     * @param d The degree of the D-ary heap must be at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public MinMaxDaryHeap(int d) {
+
+        this(d, null);
+    }
+
+    /**
+     * Initializes an empty D-ary min-max heap with the specified degree, ordered by the given comparator.
+     *
+     * @param d The degree of the D-ary heap must be at least 2.
+     * @param comparator The comparator used to order the elements, or null to use their natural ordering.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2.
+     * <p>
+     * Time Complexity: O(1)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // A bounded buffer that serves the highest item and evicts the lowest
+     *   MinMaxDaryHeap<Task> buffer = new MinMaxDaryHeap<>(4, Comparator.comparingInt(Task::priority));
+     *   Task next = buffer.extractMax();
+     *   Task evicted = buffer.extractMin();
+     * }
+     * </pre>
+     */
+    public MinMaxDaryHeap(int d, Comparator<? super T> comparator) {
+
+        if (d < 2) {
+            throw new IllegalArgumentException("Degree (d) must be at least 2");
+        }
+
+        this.d = d;
+        this.parentMultiplier = DaryHeap.divisionMultiplier(d);
+        this.parentShift = DaryHeap.divisionShift(d);
+        this.heap = new ArrayList<>();
+        this.comparator = comparator;
+    }
+
+    /**
+     * Initializes a D-ary min-max heap with the given elements, built bottom-up and ordered by natural ordering.
+     *
+     * @param elements The initial elements of the heap.
+     * @param d The degree of the D-ary heap must be at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2 or the list of elements is null.
+     * <p>
+     * Time Complexity: O(n)
+     * <p>
+     * Space Complexity: O(n)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   MinMaxDaryHeap<Integer> heap = new MinMaxDaryHeap<>(List.of(5, 3, 8, 2, 7), 4);
+     * }
+     * </pre>
+     */
+    public MinMaxDaryHeap(List<? extends T> elements, int d) {
+
+        this(elements, d, null);
+    }
+
+    /**
+     * Initializes a D-ary min-max heap with the given elements, built bottom-up.
+     *
+     * @param elements The initial elements of the heap.
+     * @param d The degree of the D-ary heap must be at least 2.
+     * @param comparator The comparator used to order the elements, or null to use their natural ordering.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2 or the list of elements is null.
+     * <p>
+     * Time Complexity: O(n)
+     * - Each non-leaf node is sifted down once, starting from the last one, as in a Floyd build.
+     * - The level parity is carried down the loop, flipping whenever the index drops below the first index of
+     * its level, so no node walks up to the root to find its level.
+     * <p>
+     * Space Complexity: O(n)
+     */
+    public MinMaxDaryHeap(List<? extends T> elements, int d, Comparator<? super T> comparator) {
+
+        this(d, comparator);
+
+        if (elements == null) {
+            throw new IllegalArgumentException("List of elements cannot be null");
+        }
+
+        heap.addAll(elements);
+        int last = parent(heap.size() - 1);
+        if (last < 0) {
+            return;
+        }
+
+        // Find the level of the last non-leaf node once: its first index and whether it is a min level
+        int levelStart = 0;
+        boolean min = true;
+        while (firstChild(levelStart) <= last) {
+            levelStart = (int) firstChild(levelStart);
+            min = !min;
+        }
+
+        for (int i = last; i >= 0; i--) {
+            if (i < levelStart) {
+                // Crossed into the level above
+                levelStart = parent(levelStart);
+                min = !min;
+            }
+            siftDown(i, heap.get(i), min);
+        }
+    }
+
+    /**
+     * Inserts an element into the min-max heap.
+     *
+     * @param element The element to be inserted.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     * - The element climbs through grandparents only, so at most half of the levels are compared.
+     * <p>
+     * Space Complexity: O(1)
+     * - Amortized; the underlying list occasionally grows.
+     */
+    public void insert(T element) {
+
+        heap.add(element);
+        siftUp(heap.size() - 1, element);
+    }
+
+    /**
+     * Returns the minimum element without removing it.
+     *
+     * @return The minimum element, stored at the root.
+     *
+     * @throws NoSuchElementException if the heap is empty.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public T peekMin() {
+
+        if (heap.isEmpty()) {
+            throw new NoSuchElementException("[Heap Underflow] Heap is empty.");
+        }
+        return heap.get(0);
+    }
+
+    /**
+     * Returns the maximum element without removing it.
+     *
+     * @return The maximum element, the largest child of the root (or the root itself if it has no children).
+     *
+     * @throws NoSuchElementException if the heap is empty.
+     * <p>
+     * Time Complexity: O(d)
+     */
+    public T peekMax() {
+
+        if (heap.isEmpty()) {
+            throw new NoSuchElementException("[Heap Underflow] Heap is empty.");
+        }
+        return heap.get(maxIndex());
+    }
+
+    /**
+     * Removes and returns the minimum element.
+     *
+     * @return The minimum element.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d^2 * log_d(n))
+     * - Each step scans up to d children and d^2 grandchildren, and skips two levels.
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public T extractMin() {
+
+        if (heap.isEmpty()) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot extract minimum element.");
+        }
+        return removeAt(0);
+    }
+
+    /**
+     * Removes and returns the maximum element.
+     *
+     * @return The maximum element.
+     *
+     * @throws NoSuchElementException if the heap is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d^2 * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public T extractMax() {
+
+        if (heap.isEmpty()) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot extract maximum element.");
+        }
+        return removeAt(maxIndex());
+    }
+
+    /**
+     * Returns the number of elements in the heap.
+     *
+     * @return The number of elements in the heap.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int size() {
+
+        return heap.size();
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+
+        return heap.isEmpty();
+    }
+
+    /**
+     * Checks if the heap satisfies the min-max heap properties.
+     * <p>
+     * Every element is compared with all of its ancestors: those on min levels must not be greater,
+     * those on max levels must not be smaller.
+     *
+     * @return true if the heap is a valid min-max heap, false otherwise.
+     * <p>
+     * Time Complexity: O(n * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    public boolean isMinMaxHeap() {
+
+        for (int i = 1; i < heap.size(); i++) {
+            T element = heap.get(i);
+            for (int ancestor = parent(i); ancestor >= 0; ancestor = parent(ancestor)) {
+                int comparison = compare(heap.get(ancestor), element);
+                if (isMinLevel(ancestor) ? comparison > 0 : comparison < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the maximum element: the root if it has no children, else its largest child.
+     *
+     * @return The index of the maximum element. The heap must not be empty.
+     */
+    private int maxIndex() {
+
+        int end = Math.min(d, heap.size() - 1);
+        int maxIndex = 0;
+        for (int i = 1; i <= end; i++) {
+            if (maxIndex == 0 || compare(heap.get(i), heap.get(maxIndex)) > 0) {
+                maxIndex = i;
+            }
+        }
+        return maxIndex;
+    }
+
+    /**
+     * Removes the element at the specified index, which must be the root or one of its children.
+     * <p>
+     * The last element is moved into the hole and sifted down through the levels of the hole's kind.
+     * Only the root and the maximum child of the root are ever removed, and the root is the global minimum,
+     * so the moved element cannot violate any ancestor of the hole.
+     *
+     * @param index The index of the element to be removed.
+     *
+     * @return The removed element.
+     */
+    private T removeAt(int index) {
+
+        T removed = heap.get(index);
+        T lastElement = heap.remove(heap.size() - 1);
+        if (index < heap.size()) {
+            siftDown(index, lastElement, isMinLevel(index));
+        }
+        return removed;
+    }
+
+    /**
+     * Places a key at a new leaf and moves it up to the right min or max level.
+     * <p>
+     * If the key is on a min level but larger than its parent (a max level), it swaps with the parent and
+     * continues on max levels; the symmetric case applies on max levels. It then climbs through grandparents.
+     *
+     * @param index The index of the new leaf.
+     * @param key The key to be placed.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    private void siftUp(int index, T key) {
+
+        if (index == 0) {
+            heap.set(0, key);
+            return;
+        }
+
+        int parentIndex = parent(index);
+        T parentValue = heap.get(parentIndex);
+        boolean min = isMinLevel(index);
+        int comparison = compare(key, parentValue);
+
+        if (min ? comparison > 0 : comparison < 0) {
+            // The key belongs on the parent's kind of level: move the parent down and continue from there
+            heap.set(index, parentValue);
+            siftUpLevels(parentIndex, key, !min);
+        } else {
+            siftUpLevels(index, key, min);
+        }
+    }
+
+    /**
+     * Moves a key up through grandparents, staying on levels of one kind.
+     *
+     * @param index The index of the hole to start from.
+     * @param key The key to be placed.
+     * @param min true if the hole is on a min level, false if on a max level.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    private void siftUpLevels(int index, T key, boolean min) {
+
+        while (true) {
+            int grandparent = parent(parent(index));
+            if (grandparent < 0) {
+                break;
+            }
+
+            T grandparentValue = heap.get(grandparent);
+            int comparison = compare(key, grandparentValue);
+            if (min ? comparison >= 0 : comparison <= 0) {
+                break;
+            }
+
+            heap.set(index, grandparentValue);
+            index = grandparent;
+        }
+
+        heap.set(index, key);
+    }
+
+    /**
+     * Moves a key down from a hole, through children and grandchildren, until the min-max properties hold.
+     * <p>
+     * On a min level, the smallest child or grandchild is moved into the hole if it is smaller than the key.
+     * When it was a grandchild, the key may now be larger than the grandchild's parent (a max level); in that
+     * case the two are exchanged before descending further. Max levels are handled symmetrically.
+     *
+     * @param index The index of the hole to start from.
+     * @param key The key to be placed.
+     * @param min true if the hole is on a min level, false if on a max level.
+     * <p>
+     * Time Complexity: O(d^2 * log_d(n))
+     * <p>
+     * Space Complexity: O(1)
+     */
+    private void siftDown(int index, T key, boolean min) {
+
+        while (true) {
+            int extreme = findExtremeDescendant(index, min);
+            if (extreme == -1) {
+                break;
+            }
+
+            T extremeValue = heap.get(extreme);
+            int comparison = compare(extremeValue, key);
+            if (min ? comparison >= 0 : comparison <= 0) {
+                break;
+            }
+
+            heap.set(index, extremeValue);
+            int parentIndex = parent(extreme);
+            if (parentIndex == index) {
+                // A child was moved up: it has no descendants on the hole's kind of level, so stop there
+                index = extreme;
+                break;
+            }
+            index = extreme;
+
+            // A grandchild was moved up; the key may now be on the wrong side of the grandchild's parent
+            T parentValue = heap.get(parentIndex);
+            int parentComparison = compare(key, parentValue);
+            if (min ? parentComparison > 0 : parentComparison < 0) {
+                heap.set(parentIndex, key);
+                key = parentValue;
+            }
+        }
+
+        heap.set(index, key);
+    }
+
+    /**
+     * Finds the index of the smallest (or largest) element among the children and grandchildren of an index.
+     *
+     * @param index The index whose descendants are scanned.
+     * @param min true to find the smallest, false to find the largest.
+     *
+     * @return The index of the extreme descendant, or -1 if the index is a leaf.
+     * <p>
+     * Time Complexity: O(d^2)
+     */
+    private int findExtremeDescendant(int index, boolean min) {
+
+        long firstChild = firstChild(index);
+        if (firstChild >= heap.size()) {
+            return -1;
+        }
+
+        // Children and grandchildren are two contiguous ranges
+        long firstGrandchild = firstChild(firstChild);
+        long endChild = Math.min(firstChild + d, heap.size());
+        long endGrandchild = Math.min(firstGrandchild + (long) d * d, heap.size());
+
+        int extreme = (int) firstChild;
+        T extremeValue = heap.get(extreme);
+        for (int i = extreme + 1; i < endChild; i++) {
+            T candidate = heap.get(i);
+            int comparison = compare(candidate, extremeValue);
+            if (min ? comparison < 0 : comparison > 0) {
+                extremeValue = candidate;
+                extreme = i;
+            }
+        }
+        for (long i = firstGrandchild; i < endGrandchild; i++) {
+            T candidate = heap.get((int) i);
+            int comparison = compare(candidate, extremeValue);
+            if (min ? comparison < 0 : comparison > 0) {
+                extremeValue = candidate;
+                extreme = (int) i;
+            }
+        }
+
+        return extreme;
+    }
+
+    /**
+     * Checks whether an index lies on a min level (even depth).
+     *
+     * @param i The index.
+     *
+     * @return true for a min level, false for a max level.
+     * <p>
+     * Time Complexity: O(log_d(n))
+     */
+    private boolean isMinLevel(int i) {
+
+        int depth = 0;
+        while (i > 0) {
+            i = parent(i);
+            depth++;
+        }
+        return (depth & 1) == 0;
+    }
+
+    /**
+     * Returns the index of the parent node for a given index, or -1 for the root (and for -1 itself).
+     *
+     * @param i The index.
+     *
+     * @return The parent index.
+     */
+    private int parent(int i) {
+
+        if (i <= 0) {
+            return -1;
+        }
+        return (int) (((i - 1) * parentMultiplier) >>> parentShift);
+    }
+
+    /**
+     * Returns the index of the first child for a given index.
+     *
+     * @param i The index.
+     *
+     * @return The first child index, as a long so that it cannot overflow.
+     */
+    private long firstChild(long i) {
+
+        return d * i + 1;
+    }
+
+    /**
+     * Compares two elements using the comparator, or their natural ordering when none was supplied.
+     *
+     * @param a The first element.
+     * @param b The second element.
+     *
+     * @return A negative integer, zero, or a positive integer as 'a' is less than, equal to, or greater than 'b'.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(T a, T b) {
+
+        return (comparator == null) ? ((Comparable<? super T>) a).compareTo(b) : comparator.compare(a, b);
+    }
+
+}
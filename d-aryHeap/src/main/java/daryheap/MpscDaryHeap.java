@@ -0,0 +1,323 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * MpscDaryHeap Class
+ * <p>
+ * This class serves the many-producers, one-consumer pattern: any number of threads insert, and a single consumer
+ * thread (a dispatcher) extracts the maximum. Producers append to a bounded lock-free ring buffer (Vyukov's
+ * bounded queue) and never touch the heap. Before every read, the consumer drains the buffer into a plain
+ * DaryHeap with one bulk addAll, so the heap itself stays single-threaded and needs no lock.
+ *
+ * @param <T> The type of elements stored. Elements are ordered by the supplied Comparator, or by their natural
+ *            ordering (they must implement Comparable) when no Comparator is given.
+ * <p>
+ * Constructors:
+ * - MpscDaryHeap(int d, int bufferCapacity): Natural ordering.
+ * - MpscDaryHeap(int d, Comparator<? super T> comparator, int bufferCapacity): Ordered by the given comparator.
+ * <p>
+ * Public Methods (any thread):
+ * - boolean offer(T element) / void insert(T element): Append an element to the buffer.
+ * <p>
+ * Public Methods (consumer thread only):
+ * - int drain(): Moves the buffered elements into the heap.
+ * - T extractMax() / Optional<T> tryExtractMax() / T peekMax(): Drain, then read or remove the maximum.
+ * - int size() / boolean isEmpty(): Drain, then report the heap size.
+ * - int bufferCapacity(): Returns the capacity of the buffer.
+ * <p>
+ * Notes:
+ * - A producer claims a buffer cell with one compare-and-set on the shared tail and publishes the element with a
+ * release write of the cell's sequence number; it never waits for another thread. When the buffer is full, offer
+ * returns false and insert throws, leaving the back-pressure policy to the caller. Size the buffer for the
+ * largest burst expected between two consumer reads.
+ * - The consumer methods are not thread-safe: they must all be called from one thread at a time.
+ * - An element is visible to the consumer once offer has returned; elements offered concurrently with a drain
+ * may be picked up by that drain or the next one.
+ * - Null elements are not allowed, since an empty Optional marks an extraction from an empty heap.
+ */
+class MpscDaryHeap<T> {
+
+    /**
+     * Buffer cells. Cell i is written by the producer that claimed it and read by the consumer;
+     * the sequence number of the cell orders the two accesses.
+     */
+    private final Object[] buffer;
+
+    /**
+     * Sequence number per cell: equal to the claiming position when the cell is free for that position,
+     * and to position + 1 once the element has been published.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * buffer.length - 1; the capacity is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * Next position to be claimed by a producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Next position to be drained by the consumer. Consumer-only.
+     */
+    private long head;
+
+    /**
+     * The heap. Consumer-only.
+     */
+    private final DaryHeap<T> heap;
+
+    /**
+     * Scratch list for the drained elements, reused across drains. Consumer-only.
+     */
+    private final List<T> drained = new ArrayList<>();
+
+    /**
+     * Initializes an empty heap ordered by natural ordering.
+     *
+     * @param d The degree of the D-ary heap, at least 2.
+     * @param bufferCapacity The minimum number of elements the buffer can hold between two drains, between 1 and
+     * 2^30. It is rounded up to a power of two, and to at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2 or the capacity is out of range.
+     * <p>
+     * Time Complexity: O(bufferCapacity)
+     */
+    public MpscDaryHeap(int d, int bufferCapacity) {
+
+        this(d, null, bufferCapacity);
+    }
+
+    /**
+     * Initializes an empty heap ordered by the given comparator.
+     *
+     * @param d The degree of the D-ary heap, at least 2.
+     * @param comparator The comparator to order the elements, or null to use their natural ordering.
+     * @param bufferCapacity The minimum number of elements the buffer can hold between two drains, between 1 and
+     * 2^30. It is rounded up to a power of two, and to at least 2.
+     *
+     * @throws IllegalArgumentException if the degree is less than 2 or the capacity is out of range.
+     * <p>
+     * Time Complexity: O(bufferCapacity)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Producers submit orders; one dispatcher serves the most urgent first
+     *   MpscDaryHeap<Order> orders = new MpscDaryHeap<>(4, Comparator.comparingInt(Order::urgency), 1 << 16);
+     * }
+     * </pre>
+     */
+    public MpscDaryHeap(int d, Comparator<? super T> comparator, int bufferCapacity) {
+
+        if (bufferCapacity < 1 || bufferCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Buffer capacity must be between 1 and 2^30");
+        }
+
+        // At least two cells: with one, a published cell and a free cell of the next lap have the same sequence
+        int capacity = (bufferCapacity <= 2) ? 2 : Integer.highestOneBit(bufferCapacity - 1) << 1;
+        this.heap = new DaryHeap<>(d, comparator);
+        this.buffer = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends an element to the buffer without blocking. May be called from any thread.
+     *
+     * @param element The element to be inserted.
+     *
+     * @return true if the element was buffered, false if the buffer is full.
+     *
+     * @throws IllegalArgumentException if the element is null.
+     * <p>
+     * Time Complexity: O(1), plus retries when another producer claims the same cell first.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   while (!orders.offer(order)) {
+     *       Thread.onSpinWait(); // The dispatcher is behind: wait, shed load, or fail the request
+     *   }
+     * }
+     * </pre>
+     */
+    public boolean offer(T element) {
+
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // The cell still holds an element from one lap ago: the buffer is full
+                return false;
+            }
+            // Otherwise another producer claimed this position; retry with the new tail
+        }
+    }
+
+    /**
+     * Appends an element to the buffer. May be called from any thread.
+     *
+     * @param element The element to be inserted.
+     *
+     * @throws IllegalArgumentException if the element is null.
+     * @throws IllegalStateException if the buffer is full (buffer overflow).
+     * <p>
+     * Time Complexity: O(1), plus retries when another producer claims the same cell first.
+     */
+    public void insert(T element) {
+
+        if (!offer(element)) {
+            throw new IllegalStateException("[Buffer Overflow] Insert buffer is full.");
+        }
+    }
+
+    /**
+     * Moves every published element from the buffer into the heap with a single bulk insert.
+     * Consumer thread only.
+     *
+     * @return The number of elements moved.
+     * <p>
+     * Time Complexity: O(min(k * log_d(n + k), n + k)) for k buffered elements.
+     */
+    @SuppressWarnings("unchecked")
+    public int drain() {
+
+        while (true) {
+            int index = (int) head & mask;
+            if (sequences.getAcquire(index) != head + 1) {
+                break;
+            }
+            drained.add((T) buffer[index]);
+            buffer[index] = null;
+            sequences.setRelease(index, head + buffer.length);
+            head++;
+        }
+
+        int count = drained.size();
+        if (count > 0) {
+            heap.addAll(drained);
+            drained.clear();
+        }
+        return count;
+    }
+
+    /**
+     * Drains the buffer, then removes and returns the maximum element. Consumer thread only.
+     *
+     * @return The maximum element.
+     *
+     * @throws NoSuchElementException if the heap is empty after draining (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n)), plus the drain.
+     */
+    public T extractMax() {
+
+        drain();
+        return heap.extractMax();
+    }
+
+    /**
+     * Drains the buffer, then removes and returns the maximum element, if any. Consumer thread only.
+     *
+     * @return The maximum element, or an empty Optional if the heap is empty after draining.
+     * <p>
+     * Time Complexity: O(d * log_d(n)), plus the drain.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // Dispatcher loop
+     *   while (running) {
+     *       orders.tryExtractMax().ifPresentOrElse(this::dispatch, Thread::onSpinWait);
+     *   }
+     * }
+     * </pre>
+     */
+    public Optional<T> tryExtractMax() {
+
+        drain();
+        return heap.isEmpty() ? Optional.empty() : Optional.of(heap.extractMax());
+    }
+
+    /**
+     * Drains the buffer, then returns the maximum element without removing it. Consumer thread only.
+     *
+     * @return The maximum element.
+     *
+     * @throws NoSuchElementException if the heap is empty after draining.
+     * <p>
+     * Time Complexity: O(1), plus the drain.
+     */
+    public T peekMax() {
+
+        drain();
+        if (heap.isEmpty()) {
+            throw new NoSuchElementException("[Heap Underflow] Heap is empty.");
+        }
+        return heap.get(0);
+    }
+
+    /**
+     * Drains the buffer, then returns the number of elements in the heap. Consumer thread only.
+     *
+     * @return The number of elements.
+     * <p>
+     * Time Complexity: O(1), plus the drain.
+     */
+    public int size() {
+
+        drain();
+        return heap.size();
+    }
+
+    /**
+     * Drains the buffer, then checks if the heap is empty. Consumer thread only.
+     *
+     * @return true if the heap is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(1), plus the drain.
+     */
+    public boolean isEmpty() {
+
+        drain();
+        return heap.isEmpty();
+    }
+
+    /**
+     * Returns the capacity of the buffer, after rounding.
+     *
+     * @return The buffer capacity.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int bufferCapacity() {
+
+        return buffer.length;
+    }
+
+}
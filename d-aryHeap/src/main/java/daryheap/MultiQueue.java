@@ -0,0 +1,351 @@
+package daryheap;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * MultiQueue Class
+ * <p>
+ * This class implements a relaxed concurrent max priority queue (Rihani, Sanders and Dementiev, "MultiQueues:
+ * Simple Relaxed Concurrent Priority Queues", 2015) built from c * P independent DaryHeap shards, where P is the
+ * number of threads expected to use it. Each shard is guarded by its own lock, which is only ever tried, never
+ * waited for: a thread that finds a shard busy simply picks another one.
+ * <p>
+ * An insert goes to a random shard. An extraction samples two random shards, compares their cached maxima
+ * without locking, and extracts from the better one. The result is not always the global maximum, but it is
+ * close to it: the expected rank error (how many larger elements remain) grows linearly with the number of
+ * shards, while contention falls as shards are added. c trades one for the other.
+ *
+ * @param <T> The type of elements stored. Elements are ordered by the supplied Comparator, or by their natural
+ *            ordering (they must implement Comparable) when no Comparator is given.
+ * <p>
+ * Constructors:
+ * - MultiQueue(int c, int d): c shards per available processor, natural ordering.
+ * - MultiQueue(int c, int threads, int d, Comparator<? super T> comparator): c * threads shards.
+ * <p>
+ * Public Methods:
+ * - void insert(T element): Inserts an element into a random shard.
+ * - T extractMax() / Optional<T> tryExtractMax(): Remove the better maximum of two random shards.
+ * - int size() / boolean isEmpty(): Size helpers; exact only while no other thread is operating on the queue.
+ * - int shardCount(): Returns the number of shards.
+ * <p>
+ * Private Methods:
+ * - T extract(): Removes an element by two-choice sampling, or returns null when every shard is empty.
+ * - boolean allEmpty(): Checks the cached maximum of every shard.
+ * - int compare(T a, T b): Compares two elements using the comparator or their natural ordering.
+ * <p>
+ * Notes:
+ * - Each shard publishes its maximum in a volatile field after every change, so choosing between two shards
+ * costs two reads and one comparison, and no lock is taken on a shard that is not used.
+ * - extractMax reports an empty queue only after every shard has been seen empty, so elements left in a single
+ * shard are never stranded.
+ * - Null elements are not allowed, since a null cached maximum marks an empty shard.
+ */
+class MultiQueue<T> {
+
+    /**
+     * Shard Class
+     * <p>
+     * One DaryHeap with its lock and the published copy of its maximum.
+     */
+    private static final class Shard<T> {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final DaryHeap<T> heap;
+
+        /**
+         * The maximum element of the heap, or null if it is empty. Written under the lock.
+         */
+        volatile T top;
+
+        /**
+         * The number of elements in the heap. Written under the lock.
+         */
+        volatile int size;
+
+        Shard(int d, Comparator<? super T> comparator) {
+
+            this.heap = new DaryHeap<>(d, comparator);
+        }
+
+        /**
+         * Publishes the maximum and the size after a change. The lock must be held.
+         */
+        void publish() {
+
+            size = heap.size();
+            top = heap.isEmpty() ? null : heap.get(0);
+        }
+    }
+
+    /**
+     * The shards.
+     */
+    private final Shard<T>[] shards;
+
+    /**
+     * Comparator used to order the elements, or null to use their natural ordering.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Initializes an empty MultiQueue with c shards per available processor, ordered by natural ordering.
+     *
+     * @param c The number of shards per thread, at least 1.
+     * @param d The degree of each shard's D-ary heap, at least 2.
+     *
+     * @throws IllegalArgumentException if c is less than 1 or the degree is less than 2.
+     * <p>
+     * Time Complexity: O(c * P)
+     */
+    public MultiQueue(int c, int d) {
+
+        this(c, Runtime.getRuntime().availableProcessors(), d, null);
+    }
+
+    /**
+     * Initializes an empty MultiQueue with c * threads shards.
+     *
+     * @param c The number of shards per thread, at least 1. Larger values lower contention and raise the rank error.
+     * @param threads The number of threads expected to use the queue, at least 1.
+     * @param d The degree of each shard's D-ary heap, at least 2.
+     * @param comparator The comparator to order the elements, or null to use their natural ordering.
+     *
+     * @throws IllegalArgumentException if c or threads is less than 1, c * threads overflows, or the degree is
+     * less than 2.
+     * <p>
+     * Time Complexity: O(c * threads)
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   // A scheduler queue for 32 worker threads, ordered by task priority
+     *   MultiQueue<Task> ready = new MultiQueue<>(2, 32, 8, Comparator.comparingInt(Task::priority));
+     * }
+     * </pre>
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MultiQueue(int c, int threads, int d, Comparator<? super T> comparator) {
+
+        if (c < 1 || threads < 1) {
+            throw new IllegalArgumentException("Shards per thread (c) and threads must be at least 1");
+        }
+        if ((long) c * threads > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many shards: " + ((long) c * threads));
+        }
+
+        this.comparator = comparator;
+        this.shards = (Shard<T>[]) new Shard[c * threads];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard<>(d, comparator);
+        }
+    }
+
+    /**
+     * Inserts an element into a random shard that is not locked by another thread.
+     *
+     * @param element The element to be inserted.
+     *
+     * @throws IllegalArgumentException if the element is null.
+     * <p>
+     * Time Complexity: O(log_d(n / shards)), plus retries while the sampled shards are busy.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   queue.insert(task);
+     * }
+     * </pre>
+     */
+    public void insert(T element) {
+
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Shard<T> shard = shards[random.nextInt(shards.length)];
+            if (!shard.lock.tryLock()) {
+                continue;
+            }
+            try {
+                shard.heap.insert(element);
+                shard.publish();
+                return;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns a large element: the better maximum of two random shards.
+     *
+     * @return The extracted element.
+     *
+     * @throws NoSuchElementException if every shard is empty (heap underflow).
+     * <p>
+     * Time Complexity: O(d * log_d(n / shards)), plus retries while the sampled shards are busy or empty.
+     */
+    public T extractMax() {
+
+        T max = extract();
+        if (max == null) {
+            throw new NoSuchElementException("[Heap Underflow] Cannot extract maximum element.");
+        }
+        return max;
+    }
+
+    /**
+     * Removes and returns a large element, if any.
+     * <p>
+     * Unlike checking isEmpty before extractMax, this cannot fail because another thread emptied the queue
+     * in between.
+     *
+     * @return The extracted element, or an empty Optional if every shard is empty.
+     * <p>
+     * Time Complexity: O(d * log_d(n / shards)), plus retries while the sampled shards are busy or empty.
+     * <p>
+     * Example Usage:
+     * <pre>
+     * {@code
+     *   queue.tryExtractMax().ifPresent(Task::run);
+     * }
+     * </pre>
+     */
+    public Optional<T> tryExtractMax() {
+
+        return Optional.ofNullable(extract());
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * <p>
+     * The shard sizes are read one after another, so the result is only exact while no other thread is
+     * operating on the queue.
+     *
+     * @return The number of elements.
+     * <p>
+     * Time Complexity: O(shards)
+     */
+    public int size() {
+
+        int size = 0;
+        for (Shard<T> shard : shards) {
+            size += shard.size;
+        }
+        return size;
+    }
+
+    /**
+     * Checks if the queue is empty. Like size, the result is only exact while no other thread is operating on it.
+     *
+     * @return true if every shard is empty, false otherwise.
+     * <p>
+     * Time Complexity: O(shards)
+     */
+    public boolean isEmpty() {
+
+        return allEmpty();
+    }
+
+    /**
+     * Returns the number of shards, c * threads.
+     *
+     * @return The number of shards.
+     * <p>
+     * Time Complexity: O(1)
+     */
+    public int shardCount() {
+
+        return shards.length;
+    }
+
+    /**
+     * Removes an element from the better of two random shards.
+     * <p>
+     * Algorithm:
+     * - Sample two shards and compare their published maxima without locking.
+     * - Try to lock the better one; if it is busy, or was emptied since its maximum was read, sample again.
+     * - If both samples were empty as many times in a row as there are shards, check every shard, and give up
+     * only if all of them are empty.
+     *
+     * @return The extracted element, or null if every shard is empty.
+     * <p>
+     * Time Complexity: O(d * log_d(n / shards)), plus retries.
+     */
+    private T extract() {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int emptySamples = 0;
+        while (true) {
+            Shard<T> first = shards[random.nextInt(shards.length)];
+            Shard<T> second = shards[random.nextInt(shards.length)];
+            T firstTop = first.top;
+            T secondTop = second.top;
+
+            if (firstTop == null && secondTop == null) {
+                if (++emptySamples >= shards.length) {
+                    if (allEmpty()) {
+                        return null;
+                    }
+                    emptySamples = 0;
+                }
+                continue;
+            }
+
+            Shard<T> shard = (secondTop == null || (firstTop != null && compare(firstTop, secondTop) >= 0))
+                    ? first : second;
+            if (!shard.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (shard.heap.isEmpty()) {
+                    continue;
+                }
+                T max = shard.heap.extractMax();
+                shard.publish();
+                return max;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Checks whether every shard has published an empty maximum.
+     *
+     * @return true if every shard appears empty, false otherwise.
+     */
+    private boolean allEmpty() {
+
+        for (Shard<T> shard : shards) {
+            if (shard.top != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two elements using the comparator if present, otherwise their natural ordering.
+     *
+     * @param a The first element.
+     * @param b The second element.
+     *
+     * @return A negative integer, zero, or a positive integer as 'a' is less than, equal to, or greater than 'b'.
+     *
+     * @throws ClassCastException if no comparator was supplied and the elements are not mutually Comparable.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(T a, T b) {
+
+        return (comparator == null) ? ((Comparable<? super T>) a).compareTo(b) : comparator.compare(a, b);
+    }
+
+}
@@ -0,0 +1,104 @@
+package daryheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+
+/**
+ * AdaptiveIntDaryHeapDifferentialTest Class
+ * <p>
+ * Checks AdaptiveIntDaryHeap against a SortedMultiset through workloads that make it rebuild with another
+ * degree, and checks that the degree it picks follows the cost model: wide for sift-up heavy workloads, narrow
+ * for sift-down heavy ones.
+ */
+class AdaptiveIntDaryHeapDifferentialTest {
+
+    private static final int KEY_RANGE = 100;
+
+    @ParameterizedTest(name = "initial d={0}")
+    @ValueSource(ints = {2, 3, 4, 16})
+    void phasedWorkloadsMatchTheReferenceAcrossRebuilds(int initialDegree) {
+
+        SplittableRandom random = new SplittableRandom(initialDegree);
+        AdaptiveIntDaryHeap heap = new AdaptiveIntDaryHeap(initialDegree, new int[] {2, 4, 8, 16}, 0.05, 1.0, 64);
+        SortedMultiset expected = new SortedMultiset();
+
+        // Alternate insert-heavy and extract-heavy phases so that the degree changes several times
+        for (int phase = 0; phase < 8; phase++) {
+            boolean growing = phase % 2 == 0;
+            for (int step = 0; step < 3_000; step++) {
+                int key = random.nextInt(KEY_RANGE);
+                int operation = random.nextInt(10);
+                if (heap.isEmpty() || (growing && operation < 7)) {
+                    heap.insert(key);
+                    expected.add(key);
+                } else if (operation < 8) {
+                    assertEquals(expected.pollMax(), heap.extractMax(), "extractMax in phase " + phase);
+                } else if (operation == 8) {
+                    int index = random.nextInt(heap.size());
+                    expected.remove(heap.get(index));
+                    heap.updateKey(index, key);
+                    expected.add(key);
+                } else {
+                    int index = random.nextInt(heap.size());
+                    int element = heap.get(index);
+                    assertEquals(element, heap.removeAt(index), "removeAt in phase " + phase);
+                    expected.remove(element);
+                }
+
+                assertEquals(expected.size(), heap.size());
+                if (!heap.isEmpty()) {
+                    assertEquals(expected.max(), heap.peekMax());
+                }
+            }
+            assertTrue(heap.isMaxHeap(), "heap properties after phase " + phase);
+        }
+
+        assertTrue(heap.getRebuildCount() > 0, "the workload never triggered a rebuild");
+        while (!heap.isEmpty()) {
+            assertEquals(expected.pollMax(), heap.extractMax());
+        }
+    }
+
+    @Test
+    void degreeFollowsTheWorkload() {
+
+        // With no level cost, a sift-up costs log_d(n) and a sift-down d * log_d(n) comparisons:
+        // inserts favour d = 16, extractions favour d = 2 (2 / ln 2 < 16 / ln 16)
+        AdaptiveIntDaryHeap heap = new AdaptiveIntDaryHeap(4, new int[] {2, 16}, 0.1, 0.0, 64);
+        SortedMultiset expected = new SortedMultiset();
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 5_000; i++) {
+            int key = random.nextInt();
+            heap.insert(key);
+            expected.add(key);
+        }
+        assertEquals(16, heap.getDegree());
+
+        for (int i = 0; i < 3_000; i++) {
+            assertEquals(expected.pollMax(), heap.extractMax());
+        }
+        assertEquals(2, heap.getDegree());
+        assertTrue(heap.isMaxHeap());
+        assertEquals(2, heap.getRebuildCount());
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveIntDaryHeap(4, new int[0], 0.1, 1.0, 64));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveIntDaryHeap(4, new int[] {1}, 0.1, 1.0, 64));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveIntDaryHeap(4, new int[] {2}, 1.0, 1.0, 64));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveIntDaryHeap(4, new int[] {2}, 0.1, -1.0, 64));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveIntDaryHeap(4, new int[] {2}, 0.1, 1.0, 0));
+    }
+
+}
@@ -0,0 +1,95 @@
+package daryheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+
+/**
+ * BoundedDaryHeapDifferentialTest Class
+ * <p>
+ * Offers random streams to a BoundedDaryHeap and checks every offer, the threshold and the kept elements
+ * against a SortedMultiset of the N largest elements seen so far, then against a full sort of the stream.
+ */
+class BoundedDaryHeapDifferentialTest {
+
+    private static final int STREAM_LENGTH = 20_000;
+
+    static Stream<Arguments> capacitiesAndDegrees() {
+
+        return Stream.of(1, 2, 10, 100, 1_000)
+                .flatMap(capacity -> Stream.of(2, 3, 4, 8, 16).map(d -> Arguments.of(capacity, d)));
+    }
+
+    @ParameterizedTest(name = "capacity={0} d={1}")
+    @MethodSource("capacitiesAndDegrees")
+    void keepsTheLargestElementsOfTheStream(int capacity, int d) {
+
+        SplittableRandom random = new SplittableRandom(31L * capacity + d);
+        BoundedDaryHeap<Integer> heap = new BoundedDaryHeap<>(capacity, d);
+        SortedMultiset expected = new SortedMultiset();
+        List<Integer> stream = new ArrayList<>();
+
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            // A key range comparable to the capacity makes ties with the threshold common
+            int element = random.nextInt(4 * capacity + 10);
+            stream.add(element);
+
+            boolean keep = expected.size() < capacity || element > expected.min();
+            assertEquals(keep, heap.offer(element), "offer of " + element + " at " + i);
+            if (keep) {
+                if (expected.size() == capacity) {
+                    expected.pollMin();
+                }
+                expected.add(element);
+            }
+
+            assertEquals(expected.size(), heap.size());
+            assertEquals(expected.size() == capacity, heap.isFull());
+            assertEquals(expected.min(), heap.threshold(), "threshold at " + i);
+        }
+
+        stream.sort(Comparator.reverseOrder());
+        assertEquals(stream.subList(0, capacity), heap.toSortedList());
+        assertEquals(expected.descending(), heap.toSortedList());
+    }
+
+    @Test
+    void comparatorDecidesWhichElementsAreLargest() {
+
+        BoundedDaryHeap<String> heap = new BoundedDaryHeap<>(2, 3, Comparator.comparing(String::length));
+        assertTrue(heap.offer("ccc"));
+        assertTrue(heap.offer("a"));
+        assertTrue(heap.offer("dddd"));
+        assertFalse(heap.offer("b"));
+        // Ties with the threshold are rejected
+        assertFalse(heap.offer("eee"));
+        assertEquals(List.of("dddd", "ccc"), heap.toSortedList());
+        assertEquals("ccc", heap.threshold());
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new BoundedDaryHeap<Integer>(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedDaryHeap<Integer>(4, 1));
+        BoundedDaryHeap<Integer> heap = new BoundedDaryHeap<>(4, 4);
+        assertTrue(heap.isEmpty());
+        assertEquals(4, heap.capacity());
+        assertThrows(NoSuchElementException.class, heap::threshold);
+    }
+
+}
@@ -0,0 +1,272 @@
+package daryheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+
+/**
+ * DaryHeapDifferentialTest Class
+ * <p>
+ * Applies random sequences of DaryHeap operations, in both extract modes and across power-of-two and other
+ * degrees, and checks every result against a SortedMultiset holding the same keys. Keys come from a small range,
+ * so duplicates are common.
+ */
+class DaryHeapDifferentialTest {
+
+    private static final int OPERATIONS = 6_000;
+    private static final int KEY_RANGE = 100;
+    private static final int TARGET_SIZE = 300;
+
+    static Stream<Arguments> degreesAndModes() {
+
+        return Stream.of(2, 3, 4, 5, 7, 8, 16, 32)
+                .flatMap(d -> Stream.of(ExtractMode.values()).map(mode -> Arguments.of(d, mode)));
+    }
+
+    @ParameterizedTest(name = "d={0} {1}")
+    @MethodSource("degreesAndModes")
+    void randomOperationsMatchTheReference(int d, ExtractMode mode) {
+
+        SplittableRandom random = new SplittableRandom(31L * d + mode.ordinal());
+        DaryHeap<Integer> heap = new DaryHeap<>(d);
+        heap.setExtractMode(mode);
+        SortedMultiset expected = new SortedMultiset();
+
+        for (int step = 0; step < OPERATIONS; step++) {
+            int key = random.nextInt(KEY_RANGE);
+            // Once the heap is large, pick only operations that do not grow it; on an empty heap, insert
+            int operation = (heap.size() > TARGET_SIZE) ? 2 + random.nextInt(9) : random.nextInt(11);
+            if (operation == 8 && heap.size() > TARGET_SIZE) {
+                operation = 2;
+            }
+            if (heap.isEmpty() && operation >= 2) {
+                operation = 0;
+            }
+
+            switch (operation) {
+                case 0:
+                    heap.insert(key);
+                    expected.add(key);
+                    break;
+                case 1:
+                    heap.maxHeapInsert(key);
+                    expected.add(key);
+                    break;
+                case 2:
+                    assertEquals(expected.pollMax(), heap.extractMax(), "extractMax at step " + step);
+                    break;
+                case 3:
+                    assertEquals(expected.pollMax(), heap.replaceMax(key), "replaceMax at step " + step);
+                    expected.add(key);
+                    break;
+                case 4: {
+                    int max = expected.max();
+                    assertEquals(Math.max(key, max), heap.pushPop(key), "pushPop at step " + step);
+                    if (key < max) {
+                        expected.remove(max);
+                        expected.add(key);
+                    }
+                    break;
+                }
+                case 5: {
+                    int index = random.nextInt(heap.size());
+                    expected.remove(heap.get(index));
+                    heap.updateKey(index, key);
+                    expected.add(key);
+                    break;
+                }
+                case 6: {
+                    int index = random.nextInt(heap.size());
+                    int raised = heap.get(index) + random.nextInt(50);
+                    expected.remove(heap.get(index));
+                    heap.heapIncreaseKey(index, raised);
+                    expected.add(raised);
+                    break;
+                }
+                case 7: {
+                    int index = random.nextInt(heap.size());
+                    int element = heap.get(index);
+                    assertEquals(element, heap.removeAt(index), "removeAt at step " + step);
+                    expected.remove(element);
+                    break;
+                }
+                case 8: {
+                    // Small batches are sifted up one by one, large ones trigger a rebuild
+                    int count = random.nextBoolean() ? random.nextInt(4) : random.nextInt(TARGET_SIZE + 1);
+                    List<Integer> batch = new ArrayList<>();
+                    for (int i = 0; i < count; i++) {
+                        batch.add(random.nextInt(KEY_RANGE));
+                        expected.add(batch.get(i));
+                    }
+                    heap.addAll(batch);
+                    break;
+                }
+                case 9: {
+                    // Indices may repeat; the last key given for an index wins
+                    int count = random.nextBoolean() ? 1 + random.nextInt(3) : 1 + random.nextInt(heap.size());
+                    int[] indices = new int[count];
+                    List<Integer> keys = new ArrayList<>();
+                    Map<Integer, Integer> finalKeys = new LinkedHashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        indices[i] = random.nextInt(heap.size());
+                        keys.add(random.nextInt(KEY_RANGE));
+                        finalKeys.put(indices[i], keys.get(i));
+                    }
+                    for (Map.Entry<Integer, Integer> entry : finalKeys.entrySet()) {
+                        expected.remove(heap.get(entry.getKey()));
+                        expected.add(entry.getValue());
+                    }
+                    heap.updateKeys(indices, keys);
+                    break;
+                }
+                default:
+                    assertEquals(expected.max(), heap.get(0), "get(0) at step " + step);
+                    break;
+            }
+
+            assertEquals(expected.size(), heap.size(), "size at step " + step);
+            assertTrue(heap.isMaxHeap(), "heap properties at step " + step);
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            drained.add(heap.extractMax());
+        }
+        assertEquals(expected.descending(), drained);
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(ints = {2, 3, 4, 6, 8, 16})
+    void listConstructorBuildsAHeapOfTheSameElements(int d) {
+
+        SplittableRandom random = new SplittableRandom(d);
+        List<Integer> elements = new ArrayList<>();
+        SortedMultiset expected = new SortedMultiset();
+        for (int i = 0; i < 5_000; i++) {
+            elements.add(random.nextInt(KEY_RANGE));
+            expected.add(elements.get(i));
+        }
+
+        DaryHeap<Integer> heap = new DaryHeap<>(elements, d);
+        assertTrue(heap.isMaxHeap());
+
+        List<Integer> drained = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            drained.add(heap.extractMax());
+        }
+        assertEquals(expected.descending(), drained);
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(ints = {2, 3, 4, 8})
+    void reversedComparatorMakesAMinHeap(int d) {
+
+        SplittableRandom random = new SplittableRandom(d);
+        DaryHeap<Integer> heap = new DaryHeap<>(d, Comparator.reverseOrder());
+        SortedMultiset expected = new SortedMultiset();
+        for (int i = 0; i < 2_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int key = random.nextInt(KEY_RANGE);
+                heap.insert(key);
+                expected.add(key);
+            } else {
+                assertEquals(expected.pollMin(), heap.extractMax());
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(ints = {2, 4, 8})
+    void bottomUpExtractionUsesFewerComparisons(int d) {
+
+        SplittableRandom random = new SplittableRandom(d);
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            elements.add(random.nextInt());
+        }
+
+        long[] comparisons = new long[ExtractMode.values().length];
+        List<List<Integer>> drained = new ArrayList<>();
+        for (ExtractMode mode : ExtractMode.values()) {
+            DaryHeap<Integer> heap = new DaryHeap<>(elements, d);
+            heap.setExtractMode(mode);
+            heap.resetComparisonCount();
+            List<Integer> order = new ArrayList<>();
+            while (!heap.isEmpty()) {
+                order.add(heap.extractMax());
+            }
+            comparisons[mode.ordinal()] = heap.getComparisonCount();
+            drained.add(order);
+        }
+
+        assertEquals(drained.get(0), drained.get(1));
+        assertTrue(comparisons[ExtractMode.BOTTOM_UP.ordinal()] < comparisons[ExtractMode.STANDARD.ordinal()],
+                "BOTTOM_UP used " + comparisons[ExtractMode.BOTTOM_UP.ordinal()] + " comparisons, STANDARD "
+                        + comparisons[ExtractMode.STANDARD.ordinal()]);
+    }
+
+    @Test
+    void removeAtNotifiesTheListener() {
+
+        DaryHeap<Integer> heap = new DaryHeap<>(List.of(9, 7, 8, 1, 2, 3, 4), 3);
+        List<String> events = new ArrayList<>();
+        heap.setListener((index, element) -> events.add(index + ":" + element));
+
+        int element = heap.get(2);
+        heap.delete(2);
+        heap.setListener(null);
+        heap.removeAt(0);
+
+        assertEquals(List.of("2:" + element), events);
+        assertTrue(heap.isMaxHeap());
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new DaryHeap<Integer>(1));
+        DaryHeap<Integer> heap = new DaryHeap<>(4);
+        assertThrows(NoSuchElementException.class, heap::extractMax);
+        assertThrows(NoSuchElementException.class, () -> heap.replaceMax(1));
+        heap.insert(5);
+        assertThrows(IllegalArgumentException.class, () -> heap.heapIncreaseKey(0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.removeAt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.updateKeys(new int[] {0, 3}, List.of(1, 2)));
+        assertEquals(5, heap.get(0));
+    }
+
+    @Test
+    void parentDivisionMatchesIntegerDivision() {
+
+        SplittableRandom random = new SplittableRandom(7);
+        int[] degrees = new int[2_000];
+        for (int i = 0; i < degrees.length; i++) {
+            degrees[i] = (i < 1_000) ? i + 2 : 2 + random.nextInt(Integer.MAX_VALUE - 1);
+        }
+        for (int d : degrees) {
+            long multiplier = DaryHeap.divisionMultiplier(d);
+            int shift = DaryHeap.divisionShift(d);
+            for (int k = 0; k < 2_000; k++) {
+                int n = (k < 1_000) ? ((k < 500) ? k : Integer.MAX_VALUE - k) : random.nextInt(Integer.MAX_VALUE);
+                assertEquals(n / d, (int) ((n * multiplier) >>> shift), "n=" + n + " d=" + d);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+package daryheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+
+/**
+ * IndexedDaryHeapDifferentialTest Class
+ * <p>
+ * Checks IndexedDaryHeap against a map from handle to key plus a SortedMultiset of the keys. Handles are
+ * released and recycled throughout, so a stale position entry would show up as a wrong key or a wrong
+ * contains.
+ */
+class IndexedDaryHeapDifferentialTest {
+
+    private static final int OPERATIONS = 6_000;
+    private static final int KEY_RANGE = 100;
+    private static final int TARGET_SIZE = 300;
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(ints = {2, 3, 4, 5, 8, 16, 32})
+    void randomOperationsMatchTheReference(int d) {
+
+        SplittableRandom random = new SplittableRandom(d);
+        IndexedDaryHeap<Integer> heap = new IndexedDaryHeap<>(d);
+        Map<Integer, Integer> queued = new HashMap<>();
+        List<Integer> handles = new ArrayList<>();
+        List<Integer> released = new ArrayList<>();
+        SortedMultiset expected = new SortedMultiset();
+
+        for (int step = 0; step < OPERATIONS; step++) {
+            int key = random.nextInt(KEY_RANGE);
+            // Once the heap is large, never insert; on an empty heap, always insert
+            int operation = (heap.size() > TARGET_SIZE) ? 1 + random.nextInt(7) : random.nextInt(8);
+            if (heap.isEmpty()) {
+                operation = 0;
+            }
+
+            switch (operation) {
+                case 0: {
+                    int handle = heap.insert(key);
+                    assertFalse(queued.containsKey(handle), "insert returned a queued handle at step " + step);
+                    queued.put(handle, key);
+                    handles.add(handle);
+                    expected.add(key);
+                    break;
+                }
+                case 1: {
+                    int max = expected.pollMax();
+                    int handle = heap.extractMaxHandle();
+                    assertEquals(max, queued.get(handle), "extractMaxHandle at step " + step);
+                    release(handle, queued, handles, released);
+                    break;
+                }
+                case 2: {
+                    int max = expected.pollMax();
+                    int handle = heap.peekMaxHandle();
+                    assertEquals(max, heap.extractMax(), "extractMax at step " + step);
+                    release(handle, queued, handles, released);
+                    break;
+                }
+                case 3: {
+                    int handle = handles.get(random.nextInt(handles.size()));
+                    int raised = queued.get(handle) + random.nextInt(50);
+                    heap.increaseKey(handle, raised);
+                    replace(handle, raised, queued, expected);
+                    break;
+                }
+                case 4: {
+                    int handle = handles.get(random.nextInt(handles.size()));
+                    int lowered = queued.get(handle) - random.nextInt(50);
+                    heap.decreaseKey(handle, lowered);
+                    replace(handle, lowered, queued, expected);
+                    break;
+                }
+                case 5: {
+                    int handle = handles.get(random.nextInt(handles.size()));
+                    heap.updateKey(handle, key);
+                    replace(handle, key, queued, expected);
+                    break;
+                }
+                case 6: {
+                    int handle = handles.get(random.nextInt(handles.size()));
+                    assertEquals(queued.get(handle), heap.remove(handle), "remove at step " + step);
+                    expected.remove(queued.get(handle));
+                    release(handle, queued, handles, released);
+                    break;
+                }
+                default: {
+                    int handle = handles.get(random.nextInt(handles.size()));
+                    assertEquals(queued.get(handle), heap.get(handle), "get at step " + step);
+                    assertEquals(expected.max(), heap.peekMax(), "peekMax at step " + step);
+                    break;
+                }
+            }
+
+            assertEquals(expected.size(), heap.size(), "size at step " + step);
+            assertTrue(heap.isMaxHeap(), "heap properties at step " + step);
+            if (!released.isEmpty()) {
+                int handle = released.get(random.nextInt(released.size()));
+                assertEquals(queued.containsKey(handle), heap.contains(handle), "contains at step " + step);
+            }
+        }
+
+        while (!heap.isEmpty()) {
+            assertEquals(expected.pollMax(), heap.extractMax());
+        }
+        assertTrue(expected.isEmpty());
+    }
+
+    @Test
+    void handlesAreRecycledAfterRemoval() {
+
+        IndexedDaryHeap<Integer> heap = new IndexedDaryHeap<>(4);
+        int first = heap.insert(1);
+        int second = heap.insert(2);
+        assertEquals(2, heap.remove(second));
+        assertFalse(heap.contains(second));
+        assertThrows(NoSuchElementException.class, () -> heap.get(second));
+
+        int third = heap.insert(3);
+        assertEquals(second, third);
+        assertEquals(3, heap.get(third));
+        assertEquals(1, heap.get(first));
+        assertEquals(third, heap.peekMaxHandle());
+    }
+
+    @Test
+    void reversedComparatorMakesAMinHeap() {
+
+        SplittableRandom random = new SplittableRandom(3);
+        IndexedDaryHeap<Integer> heap = new IndexedDaryHeap<>(3, Comparator.reverseOrder());
+        SortedMultiset expected = new SortedMultiset();
+        for (int i = 0; i < 2_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int key = random.nextInt(KEY_RANGE);
+                heap.insert(key);
+                expected.add(key);
+            } else {
+                assertEquals(expected.pollMin(), heap.extractMax());
+            }
+        }
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap<Integer>(1));
+        IndexedDaryHeap<Integer> heap = new IndexedDaryHeap<>(4);
+        assertThrows(NoSuchElementException.class, heap::extractMax);
+        assertThrows(NoSuchElementException.class, heap::peekMaxHandle);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(null));
+
+        int handle = heap.insert(5);
+        assertThrows(IllegalArgumentException.class, () -> heap.increaseKey(handle, 4));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(handle, 6));
+        assertThrows(IllegalArgumentException.class, () -> heap.updateKey(handle, null));
+        assertThrows(NoSuchElementException.class, () -> heap.remove(handle + 1));
+        assertThrows(NoSuchElementException.class, () -> heap.get(-1));
+        assertEquals(5, heap.get(handle));
+    }
+
+    private static void replace(int handle, int key, Map<Integer, Integer> queued, SortedMultiset expected) {
+
+        expected.remove(queued.put(handle, key));
+        expected.add(key);
+    }
+
+    private static void release(int handle, Map<Integer, Integer> queued, List<Integer> handles,
+                                List<Integer> released) {
+
+        queued.remove(handle);
+        handles.remove(Integer.valueOf(handle));
+        released.add(handle);
+    }
+
+}
@@ -0,0 +1,284 @@
+package daryheap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+
+/**
+ * IntDaryHeapDifferentialTest Class
+ * <p>
+ * Checks IntDaryHeap against a SortedMultiset: random operation sequences in both extract modes and in both
+ * layouts, the top-k queries, and the sequential and parallel builds. Degrees 16 and 32 run the child scan
+ * selected by MaxChildScan.forDegree, which is the vector scan when the incubator module is present.
+ */
+class IntDaryHeapDifferentialTest {
+
+    private static final int OPERATIONS = 6_000;
+    private static final int KEY_RANGE = 100;
+    private static final int TARGET_SIZE = 300;
+
+    static Stream<Arguments> layouts() {
+
+        Stream<Arguments> packed = Stream.of(2, 3, 4, 5, 8, 16, 32)
+                .flatMap(d -> Stream.of(ExtractMode.values()).map(mode -> Arguments.of(d, mode, false)));
+        Stream<Arguments> aligned = Stream.of(2, 4, 8, 16, 32)
+                .flatMap(d -> Stream.of(ExtractMode.values()).map(mode -> Arguments.of(d, mode, true)));
+        return Stream.concat(packed, aligned);
+    }
+
+    @ParameterizedTest(name = "d={0} {1} aligned={2}")
+    @MethodSource("layouts")
+    void randomOperationsMatchTheReference(int d, ExtractMode mode, boolean cacheAligned) {
+
+        SplittableRandom random = new SplittableRandom(31L * d + mode.ordinal() + (cacheAligned ? 1_000 : 0));
+        IntDaryHeap heap = new IntDaryHeap(d, 4, cacheAligned);
+        heap.setExtractMode(mode);
+        assertEquals(cacheAligned, heap.isCacheAligned());
+        SortedMultiset expected = new SortedMultiset();
+
+        for (int step = 0; step < OPERATIONS; step++) {
+            int key = random.nextInt(KEY_RANGE);
+            // Once the heap is large, pick only operations that do not grow it; on an empty heap, insert
+            int operation = (heap.size() > TARGET_SIZE) ? 2 + random.nextInt(10) : random.nextInt(12);
+            if (operation == 8 && heap.size() > TARGET_SIZE) {
+                operation = 2;
+            }
+            if (heap.isEmpty() && operation >= 2) {
+                operation = 0;
+            }
+
+            switch (operation) {
+                case 0:
+                    heap.insert(key);
+                    expected.add(key);
+                    break;
+                case 1:
+                    heap.maxHeapInsert(key);
+                    expected.add(key);
+                    break;
+                case 2:
+                    assertEquals(expected.pollMax(), heap.extractMax(), "extractMax at step " + step);
+                    break;
+                case 3:
+                    assertEquals(expected.pollMax(), heap.replaceMax(key), "replaceMax at step " + step);
+                    expected.add(key);
+                    break;
+                case 4: {
+                    int max = expected.max();
+                    assertEquals(Math.max(key, max), heap.pushPop(key), "pushPop at step " + step);
+                    if (key < max) {
+                        expected.remove(max);
+                        expected.add(key);
+                    }
+                    break;
+                }
+                case 5: {
+                    int index = random.nextInt(heap.size());
+                    expected.remove(heap.get(index));
+                    heap.updateKey(index, key);
+                    expected.add(key);
+                    break;
+                }
+                case 6: {
+                    int index = random.nextInt(heap.size());
+                    int raised = heap.get(index) + random.nextInt(50);
+                    expected.remove(heap.get(index));
+                    heap.heapIncreaseKey(index, raised);
+                    expected.add(raised);
+                    break;
+                }
+                case 7: {
+                    int index = random.nextInt(heap.size());
+                    int element = heap.get(index);
+                    assertEquals(element, heap.removeAt(index), "removeAt at step " + step);
+                    expected.remove(element);
+                    break;
+                }
+                case 8: {
+                    // Small batches are sifted up one by one, large ones trigger a rebuild
+                    int[] batch = new int[random.nextBoolean() ? random.nextInt(4) : random.nextInt(TARGET_SIZE + 1)];
+                    for (int i = 0; i < batch.length; i++) {
+                        batch[i] = random.nextInt(KEY_RANGE);
+                        expected.add(batch[i]);
+                    }
+                    heap.addAll(batch);
+                    break;
+                }
+                case 9: {
+                    // Indices may repeat; the last key given for an index wins
+                    int count = random.nextBoolean() ? 1 + random.nextInt(3) : 1 + random.nextInt(heap.size());
+                    int[] indices = new int[count];
+                    int[] keys = new int[count];
+                    Map<Integer, Integer> finalKeys = new LinkedHashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        indices[i] = random.nextInt(heap.size());
+                        keys[i] = random.nextInt(KEY_RANGE);
+                        finalKeys.put(indices[i], keys[i]);
+                    }
+                    for (Map.Entry<Integer, Integer> entry : finalKeys.entrySet()) {
+                        expected.remove(heap.get(entry.getKey()));
+                        expected.add(entry.getValue());
+                    }
+                    heap.updateKeys(indices, keys);
+                    break;
+                }
+                case 10: {
+                    int k = random.nextInt(heap.size() + 2);
+                    int[] out = new int[k];
+                    int count = heap.extractTopK(k, out);
+                    assertEquals(Math.min(k, expected.size()), count, "extractTopK count at step " + step);
+                    for (int j = 0; j < count; j++) {
+                        assertEquals(expected.pollMax(), out[j], "extractTopK at step " + step);
+                    }
+                    break;
+                }
+                default:
+                    assertEquals(expected.max(), heap.peekMax(), "peekMax at step " + step);
+                    break;
+            }
+
+            assertEquals(expected.size(), heap.size(), "size at step " + step);
+            assertTrue(heap.isMaxHeap(), "heap properties at step " + step);
+        }
+
+        assertArrayEquals(toIntArray(expected.descending()), drain(heap));
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(ints = {2, 3, 4, 8, 16, 32})
+    void peekTopKMatchesTheLargestKeysAndLeavesTheHeapAlone(int d) {
+
+        SplittableRandom random = new SplittableRandom(d);
+        int[] elements = random.ints(3_000, 0, KEY_RANGE).toArray();
+        IntDaryHeap heap = new IntDaryHeap(elements, d);
+        SortedMultiset expected = new SortedMultiset();
+        for (int element : elements) {
+            expected.add(element);
+        }
+        int[] before = heap.toArray();
+        int[] descending = toIntArray(expected.descending());
+
+        for (int k : new int[] {0, 1, d - 1, d, d + 1, 100, elements.length, elements.length + 5}) {
+            int[] out = new int[Math.max(k, 1)];
+            int count = heap.peekTopK(k, out);
+            assertEquals(Math.min(k, elements.length), count, "k=" + k);
+            assertArrayEquals(Arrays.copyOf(descending, count), Arrays.copyOf(out, count), "k=" + k);
+        }
+        assertArrayEquals(before, heap.toArray());
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(ints = {2, 4, 8, 16})
+    void parallelBuildMakesAHeapOfTheSameElements(int d) {
+
+        int[] elements = new SplittableRandom(d).ints(20_000).toArray();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            IntDaryHeap heap = new IntDaryHeap(elements, d, pool, 64);
+            assertTrue(heap.isMaxHeap());
+
+            int[] sorted = elements.clone();
+            Arrays.sort(sorted);
+            int[] built = heap.toArray();
+            Arrays.sort(built);
+            assertArrayEquals(sorted, built);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(ints = {2, 4, 8})
+    void bottomUpExtractionUsesFewerComparisons(int d) {
+
+        int[] elements = new SplittableRandom(d).ints(20_000).toArray();
+
+        long[] comparisons = new long[ExtractMode.values().length];
+        int[][] drained = new int[ExtractMode.values().length][];
+        for (ExtractMode mode : ExtractMode.values()) {
+            IntDaryHeap heap = new IntDaryHeap(elements, d);
+            heap.setExtractMode(mode);
+            heap.resetComparisonCount();
+            drained[mode.ordinal()] = drain(heap);
+            comparisons[mode.ordinal()] = heap.getComparisonCount();
+        }
+
+        assertArrayEquals(drained[0], drained[1]);
+        assertTrue(comparisons[ExtractMode.BOTTOM_UP.ordinal()] < comparisons[ExtractMode.STANDARD.ordinal()],
+                "BOTTOM_UP used " + comparisons[ExtractMode.BOTTOM_UP.ordinal()] + " comparisons, STANDARD "
+                        + comparisons[ExtractMode.STANDARD.ordinal()]);
+    }
+
+    @Test
+    void scansReturnTheFirstMaximum() {
+
+        SplittableRandom random = new SplittableRandom(5);
+        for (int length = 1; length <= 40; length++) {
+            for (int trial = 0; trial < 200; trial++) {
+                // A narrow key range makes ties between children common
+                int[] keys = random.ints(length + 2, -3, 3).toArray();
+                int expected = 1;
+                for (int i = 2; i <= length; i++) {
+                    if (keys[i] > keys[expected]) {
+                        expected = i;
+                    }
+                }
+                assertEquals(expected, MaxChildScan.SCALAR.maxIndex(keys, 1, length + 1));
+                if (MaxChildScan.VECTOR != null) {
+                    assertEquals(expected, MaxChildScan.VECTOR.maxIndex(keys, 1, length + 1),
+                            "vector scan, length " + length + ": " + Arrays.toString(keys));
+                }
+            }
+        }
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new IntDaryHeap(1));
+        assertThrows(IllegalArgumentException.class, () -> new IntDaryHeap(3, 16, true));
+        IntDaryHeap heap = new IntDaryHeap(4);
+        assertThrows(NoSuchElementException.class, heap::extractMax);
+        heap.insert(5);
+        assertThrows(IllegalArgumentException.class, () -> heap.heapIncreaseKey(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> heap.peekTopK(-1, new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> heap.extractTopK(1, null));
+        assertThrows(IllegalArgumentException.class, () -> heap.peekTopK(1, new int[0]));
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.updateKeys(new int[] {0, 3}, new int[] {1, 2}));
+        assertFalse(heap.isEmpty());
+        assertEquals(5, heap.peekMax());
+    }
+
+    private static int[] drain(IntDaryHeap heap) {
+
+        int[] drained = new int[heap.size()];
+        for (int i = 0; i < drained.length; i++) {
+            drained[i] = heap.extractMax();
+        }
+        return drained;
+    }
+
+    private static int[] toIntArray(List<Integer> keys) {
+
+        return keys.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+}
@@ -0,0 +1,121 @@
+package daryheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+
+/**
+ * MinMaxDaryHeapDifferentialTest Class
+ * <p>
+ * Applies random sequences of inserts and extractions at both ends of a MinMaxDaryHeap and checks every result
+ * against a SortedMultiset, along with the min-max heap properties after every step.
+ */
+class MinMaxDaryHeapDifferentialTest {
+
+    private static final int OPERATIONS = 6_000;
+    private static final int KEY_RANGE = 100;
+    private static final int TARGET_SIZE = 300;
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(ints = {2, 3, 4, 5, 8, 16})
+    void randomOperationsMatchTheReference(int d) {
+
+        SplittableRandom random = new SplittableRandom(d);
+        MinMaxDaryHeap<Integer> heap = new MinMaxDaryHeap<>(d);
+        SortedMultiset expected = new SortedMultiset();
+
+        for (int step = 0; step < OPERATIONS; step++) {
+            // Once the heap is large, never insert; on an empty heap, always insert
+            int operation = (heap.size() > TARGET_SIZE) ? 1 + random.nextInt(4) : random.nextInt(5);
+            if (heap.isEmpty()) {
+                operation = 0;
+            }
+
+            switch (operation) {
+                case 0: {
+                    int key = random.nextInt(KEY_RANGE);
+                    heap.insert(key);
+                    expected.add(key);
+                    break;
+                }
+                case 1:
+                    assertEquals(expected.pollMin(), heap.extractMin(), "extractMin at step " + step);
+                    break;
+                case 2:
+                    assertEquals(expected.pollMax(), heap.extractMax(), "extractMax at step " + step);
+                    break;
+                default:
+                    assertEquals(expected.min(), heap.peekMin(), "peekMin at step " + step);
+                    assertEquals(expected.max(), heap.peekMax(), "peekMax at step " + step);
+                    break;
+            }
+
+            assertEquals(expected.size(), heap.size(), "size at step " + step);
+            assertTrue(heap.isMinMaxHeap(), "heap properties at step " + step);
+        }
+
+        while (!heap.isEmpty()) {
+            assertEquals(expected.pollMax(), heap.extractMax());
+        }
+    }
+
+    @ParameterizedTest(name = "d={0}")
+    @ValueSource(ints = {2, 3, 4, 8, 16})
+    void listConstructorBuildsAHeapOfTheSameElements(int d) {
+
+        SplittableRandom random = new SplittableRandom(d);
+        List<Integer> elements = new ArrayList<>();
+        SortedMultiset expected = new SortedMultiset();
+        for (int i = 0; i < 5_000; i++) {
+            elements.add(random.nextInt(KEY_RANGE));
+            expected.add(elements.get(i));
+        }
+
+        MinMaxDaryHeap<Integer> heap = new MinMaxDaryHeap<>(elements, d);
+        assertTrue(heap.isMinMaxHeap());
+
+        // Drain from alternating ends
+        for (int i = 0; !heap.isEmpty(); i++) {
+            if (i % 2 == 0) {
+                assertEquals(expected.pollMin(), heap.extractMin());
+            } else {
+                assertEquals(expected.pollMax(), heap.extractMax());
+            }
+        }
+    }
+
+    @Test
+    void reversedComparatorSwapsTheEnds() {
+
+        MinMaxDaryHeap<Integer> heap = new MinMaxDaryHeap<>(List.of(5, 1, 9, 3, 7), 3, Comparator.reverseOrder());
+        assertEquals(9, heap.peekMin());
+        assertEquals(1, heap.peekMax());
+        assertEquals(1, heap.extractMax());
+        assertEquals(9, heap.extractMin());
+        assertTrue(heap.isMinMaxHeap());
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxDaryHeap<Integer>(1));
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxDaryHeap<Integer>(null, 4));
+        MinMaxDaryHeap<Integer> heap = new MinMaxDaryHeap<>(4);
+        assertThrows(NoSuchElementException.class, heap::peekMin);
+        assertThrows(NoSuchElementException.class, heap::peekMax);
+        assertThrows(NoSuchElementException.class, heap::extractMin);
+        assertThrows(NoSuchElementException.class, heap::extractMax);
+    }
+
+}
@@ -0,0 +1,109 @@
+package daryheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+
+/**
+ * SortedMultiset Class
+ * <p>
+ * The reference model of the differential tests: a multiset of ints on a TreeMap of counts. Unlike
+ * java.util.PriorityQueue it can remove an arbitrary key and report both ends in O(log n), which is what the
+ * index-, handle- and min/max-based operations of the heaps need to be checked against.
+ * <p>
+ * Public Methods:
+ * - void add(int key) / void remove(int key): Adds or removes one occurrence of a key.
+ * - int max() / int min(): Returns the largest or smallest key.
+ * - int pollMax() / int pollMin(): Removes and returns the largest or smallest key.
+ * - int size() / boolean isEmpty(): Size helpers.
+ * - List<Integer> descending(): Returns every occurrence, largest first.
+ */
+final class SortedMultiset {
+
+    /**
+     * Number of occurrences of each key.
+     */
+    private final TreeMap<Integer, Integer> counts = new TreeMap<>();
+
+    /**
+     * Total number of occurrences.
+     */
+    private int size;
+
+    void add(int key) {
+
+        counts.merge(key, 1, Integer::sum);
+        size++;
+    }
+
+    /**
+     * Removes one occurrence of a key.
+     *
+     * @param key The key to remove.
+     *
+     * @throws NoSuchElementException if the key is not in the multiset, which means the heap under test
+     * returned an element it never held.
+     */
+    void remove(int key) {
+
+        Integer count = counts.get(key);
+        if (count == null) {
+            throw new NoSuchElementException("Key " + key + " is not in the reference multiset");
+        }
+        if (count == 1) {
+            counts.remove(key);
+        } else {
+            counts.put(key, count - 1);
+        }
+        size--;
+    }
+
+    int max() {
+
+        return counts.lastKey();
+    }
+
+    int min() {
+
+        return counts.firstKey();
+    }
+
+    int pollMax() {
+
+        int max = max();
+        remove(max);
+        return max;
+    }
+
+    int pollMin() {
+
+        int min = min();
+        remove(min);
+        return min;
+    }
+
+    int size() {
+
+        return size;
+    }
+
+    boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    List<Integer> descending() {
+
+        List<Integer> keys = new ArrayList<>(size);
+        for (Map.Entry<Integer, Integer> entry : counts.descendingMap().entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
+    }
+
+}
@@ -0,0 +1,85 @@
+package daryheap;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * VectorMaxChildScan Class
+ * <p>
+ * A MaxChildScan built on the JDK Vector API. The range is reduced in two passes: a lane-wise maximum over
+ * full vectors followed by a scalar tail, then a search for the first position equal to that maximum.
+ * The second pass usually ends within the first vector, so its cost is small next to the reduction.
+ * <p>
+ * Building and running:
+ * <pre>
+ * {@code
+ *   mvn -B package
+ *   java -jar bench/target/benchmarks.jar MaxChildScanBenchmark
+ * }
+ * </pre>
+ * <p>
+ * Notes:
+ * - Uses the preferred species of the platform (for example 8 ints with AVX2, 16 with AVX-512). Ranges shorter
+ * than one vector are handled entirely by the scalar tail, so small degrees gain nothing.
+ * - Child groups start at d * i + 1 and are therefore not aligned to vector boundaries; unaligned loads are
+ * cheap on current x86 and AArch64 cores.
+ */
+final class VectorMaxChildScan implements MaxChildScan {
+
+    /**
+     * The vector shape used for all loads.
+     */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Returns the index of the first occurrence of the largest key in heap[from .. to - 1].
+     *
+     * @param heap The array to scan.
+     * @param from The first index of the range, inclusive.
+     * @param to The last index of the range, exclusive; must be greater than 'from'.
+     *
+     * @return The index of the largest key.
+     * <p>
+     * Time Complexity: O((to - from) / lanes + lanes)
+     */
+    @Override
+    public int maxIndex(int[] heap, int from, int to) {
+
+        int lanes = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        int max = Integer.MIN_VALUE;
+        int i = from;
+
+        // Lane-wise maximum over full vectors, then the scalar tail
+        if (upper > from) {
+            IntVector accumulator = IntVector.fromArray(SPECIES, heap, i);
+            for (i += lanes; i < upper; i += lanes) {
+                accumulator = accumulator.max(IntVector.fromArray(SPECIES, heap, i));
+            }
+            max = accumulator.reduceLanes(VectorOperators.MAX);
+        }
+        for (; i < to; i++) {
+            if (heap[i] > max) {
+                max = heap[i];
+            }
+        }
+
+        // Locate the first position holding the maximum
+        for (i = from; i < upper; i += lanes) {
+            VectorMask<Integer> equal = IntVector.fromArray(SPECIES, heap, i).eq(max);
+            if (equal.anyTrue()) {
+                return i + equal.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (heap[i] == max) {
+                return i;
+            }
+        }
+        return from;
+    }
+
+}